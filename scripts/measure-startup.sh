@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+# Measures startup time and time-to-first-transfer of the default jar and the
+# fast-start build (AOT + CDS + Flyway) against an in-memory H2 database.
+# Run by `mvn -Pfast-start verify`; the report is written to target/fast-start.
+#
+# Usage: measure-startup.sh <default-jar> <fast-start-jar>
+set -euo pipefail
+
+DEFAULT_JAR="$1"
+FAST_JAR="$2"
+JAVA_BIN="${JAVA_BIN:-java}"
+PORT="${MEASURE_PORT:-18080}"
+FAST_DIR="$(cd "$(dirname "$FAST_JAR")" && pwd)"
+REPORT="$FAST_DIR/startup-report.txt"
+BASE_URL="http://localhost:$PORT"
+
+H2_ARGS=(
+    "--server.port=$PORT"
+    "--spring.datasource.url=jdbc:h2:mem:measure;DB_CLOSE_DELAY=-1;MODE=MySQL"
+    "--spring.datasource.username=sa"
+    "--spring.datasource.password="
+    "--spring.datasource.driver-class-name=org.h2.Driver"
+    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+    "--spring.jpa.show-sql=false"
+)
+
+now_millis() {
+    date +%s%3N
+}
+
+post() {
+    curl -s -o /dev/null -w '%{http_code}' -X POST "$BASE_URL$1" -H 'Content-Type: application/json' -d "$2"
+}
+
+post_body() {
+    curl -s -X POST "$BASE_URL$1" -H 'Content-Type: application/json' -d "$2"
+}
+
+# measure <label> <log file> <java args...>
+measure() {
+    local label="$1" log="$2"
+    shift 2
+    local start first_transfer started_in pid
+    start=$(now_millis)
+    "$JAVA_BIN" "$@" "${H2_ARGS[@]}" > "$log" 2>&1 &
+    pid=$!
+
+    # The first user is created as soon as the web server answers
+    until [ "$(post /api/users '{"name":"Measure","email":"measure@example.com"}' 2>/dev/null)" = "201" ]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$label: application exited during startup, see $log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    local from to
+    from=$(post_body /api/accounts '{"userId":1}' | sed 's/.*"accountNumber":"\([0-9]*\)".*/\1/')
+    to=$(post_body /api/accounts '{"userId":1}' | sed 's/.*"accountNumber":"\([0-9]*\)".*/\1/')
+    post /api/accounts/deposit "{\"accountNumber\":\"$from\",\"amount\":100.00}" > /dev/null
+    local status
+    status=$(post /api/accounts/transfer "{\"fromAccountNumber\":\"$from\",\"toAccountNumber\":\"$to\",\"amount\":10.00}")
+    first_transfer=$(( $(now_millis) - start ))
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    started_in=$(grep -o 'Started BankingSystemApplication in [0-9.]* seconds' "$log" | grep -o '[0-9.]*' | head -1)
+    printf '%-12s startup %6ss   time-to-first-transfer %6d ms   (transfer HTTP %s)\n' \
+        "$label" "${started_in:-?}" "$first_transfer" "$status" | tee -a "$REPORT"
+}
+
+: > "$REPORT"
+measure "default" "$FAST_DIR/measure-default.log" -jar "$DEFAULT_JAR"
+(
+    cd "$FAST_DIR"
+    measure "fast-start" "$FAST_DIR/measure-fast-start.log" \
+        -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+        -jar "$FAST_JAR" --spring.profiles.active=fast-start
+)
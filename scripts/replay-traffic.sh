@@ -0,0 +1,13 @@
+#!/usr/bin/env bash
+# Replays a traffic recording (banking.traffic-recording.*) against a running
+# instance and prints throughput, latency percentiles and outcome divergences.
+#
+# Usage: replay-traffic.sh --file=<recording> [--target=http://localhost:8080]
+#                          [--speed=1|<factor>|max] [--concurrency=64] [--report=<file>]
+set -euo pipefail
+
+JAR="${REPLAY_JAR:-$(dirname "$0")/../target/banking-system-1.0.0.jar}"
+JAVA_BIN="${JAVA_BIN:-java}"
+
+exec "$JAVA_BIN" -cp "$JAR" -Dloader.main=com.banking.system.tools.TrafficReplayer \
+    org.springframework.boot.loader.launch.PropertiesLauncher "$@"
@@ -0,0 +1,23 @@
+package com.banking.system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the off-heap account number and balance index.
+ * Bound from the {@code banking.account-index.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "banking.account-index")
+@Getter
+@Setter
+public class AccountIndexProperties {
+
+    /** Whether account lookups and balance reads go through the index */
+    private boolean enabled = true;
+
+    /** Accounts the index can hold; its direct memory is allocated up front for this many */
+    private int maxAccounts = 1_000_000;
+}
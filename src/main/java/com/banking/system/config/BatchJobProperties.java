@@ -0,0 +1,40 @@
+package com.banking.system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Settings for the interest accrual and maintenance fee batch jobs.
+ * Bound from the {@code banking.batch.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "banking.batch")
+@Getter
+@Setter
+public class BatchJobProperties {
+
+    /** Account ID range processed per chunk, in one database transaction */
+    private long chunkSize = 5_000;
+
+    /** Chunks processed concurrently */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** Attempts per chunk before it is left for a resumed run, e.g. after lock timeouts */
+    private int maxChunkAttempts = 3;
+
+    /** Annual interest rate, accrued daily on positive balances (0.02 = 2%) */
+    private BigDecimal interestAnnualRate = new BigDecimal("0.02");
+
+    /** Days the annual rate is divided by */
+    private int interestDaysPerYear = 365;
+
+    /** Monthly maintenance fee in the default currency, never taking a balance below zero */
+    private BigDecimal maintenanceFee = new BigDecimal("5.00");
+
+    /** Balance in the default currency at or above which the fee is waived; 0 charges every funded account */
+    private BigDecimal feeWaiverBalance = new BigDecimal("1000.00");
+}
@@ -0,0 +1,50 @@
+package com.banking.system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adaptive concurrency limits for the account and transaction endpoints, with
+ * separate budgets for writes (money movement) and reads.
+ * Bound from the {@code banking.concurrency.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "banking.concurrency")
+@Getter
+@Setter
+public class ConcurrencyLimitProperties {
+
+    /** Master switch for adaptive load shedding */
+    private boolean enabled = true;
+
+    /** Budget for POST endpoints (deposit, withdraw, transfer, ...) */
+    private Budget write = new Budget();
+
+    /** Budget for GET endpoints (transaction history, search, ...) */
+    private Budget read = new Budget();
+
+    /**
+     * Bounds and tuning of one adaptive limiter.
+     */
+    @Getter
+    @Setter
+    public static class Budget {
+
+        /** Limit used until enough latency samples have been observed */
+        private int initialLimit = 20;
+
+        /** Lower bound of the limit */
+        private int minLimit = 4;
+
+        /** Upper bound of the limit; keep at or below the DB connection pool size for writes */
+        private int maxLimit = 200;
+
+        /** Ratio of long-term to recent latency tolerated before the limit shrinks */
+        private double rttTolerance = 1.5;
+
+        /** Weight of each new limit estimate (0..1) */
+        private double smoothing = 0.2;
+    }
+}
@@ -0,0 +1,41 @@
+package com.banking.system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the transactional outbox and the Server-Sent Events stream.
+ * Bound from the {@code banking.events.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "banking.events")
+@Getter
+@Setter
+public class EventStreamProperties {
+
+    /** Events read from the outbox per relay query */
+    private int relayBatchSize = 500;
+
+    /** Fallback interval at which the relay checks the outbox without a commit signal */
+    private long relayIntervalMillis = 1000;
+
+    /**
+     * How long the relay holds later events back waiting for a missing (uncommitted) event ID;
+     * after that it moves on, and still publishes the event if it commits later
+     */
+    private long gapGraceMillis = 5000;
+
+    /** Events buffered per subscriber; a subscriber that falls further behind is disconnected */
+    private int subscriberBufferSize = 1024;
+
+    /** Maximum events replayed from the outbox when a subscriber resumes */
+    private int maxReplayEvents = 10_000;
+
+    /** SSE connection timeout in milliseconds (0 = no timeout) */
+    private long streamTimeoutMillis = 1_800_000;
+
+    /** Outbox rows older than this are purged */
+    private long retentionHours = 72;
+}
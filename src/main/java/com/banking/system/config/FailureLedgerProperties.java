@@ -0,0 +1,29 @@
+package com.banking.system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the asynchronous writer that persists declined (FAILED) transactions.
+ * Bound from the {@code banking.failure-ledger.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "banking.failure-ledger")
+@Getter
+@Setter
+public class FailureLedgerProperties {
+
+    /** Declines written per database transaction */
+    private int batchSize = 100;
+
+    /** Longest a decline waits for its batch to fill */
+    private long maxDelayMillis = 50;
+
+    /** Declines buffered in memory; when full, further declines are written in the declining request's transaction */
+    private int queueCapacity = 10_000;
+
+    /** Attempts at writing a batch before its entries are written one at a time, skipping those that fail */
+    private int maxAttempts = 5;
+}
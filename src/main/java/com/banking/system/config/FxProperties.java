@@ -0,0 +1,23 @@
+package com.banking.system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for multi-currency accounts and the in-memory FX rate snapshot.
+ * Bound from the {@code banking.fx.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "banking.fx")
+@Getter
+@Setter
+public class FxProperties {
+
+    /** Currency of accounts opened without one; always supported, even with no rates loaded */
+    private String defaultCurrency = "USD";
+
+    /** Properties file of rates ({@code version=N} and {@code EUR=1.08} lines); empty loads the fx_rates table */
+    private String ratesFile = "";
+}
@@ -0,0 +1,29 @@
+package com.banking.system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for authorization holds.
+ * Bound from the {@code banking.holds.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "banking.holds")
+@Getter
+@Setter
+public class HoldProperties {
+
+    /** Lifetime of a hold when the request does not specify one */
+    private long defaultExpirySeconds = 7 * 24 * 3600;
+
+    /** Longest lifetime a request may ask for */
+    private long maxExpirySeconds = 30 * 24 * 3600;
+
+    /** Resolution of the expiry timer */
+    private long tickMillis = 1000;
+
+    /** Holds expired per database transaction by the sweep */
+    private int expiryBatchSize = 100;
+}
@@ -0,0 +1,26 @@
+package com.banking.system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for deferred multilateral netting of transfers between enrolled accounts.
+ * Bound from the {@code banking.netting.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "banking.netting")
+@Getter
+@Setter
+public class NettingProperties {
+
+    /** When false, every transfer settles immediately regardless of enrollment */
+    private boolean enabled = true;
+
+    /** Interval at which the open cycle is closed and settled */
+    private long cycleMillis = 5000;
+
+    /** Longest a manual close waits for in-flight accepts into the closing cycle to commit */
+    private long drainTimeoutMillis = 2000;
+}
@@ -0,0 +1,61 @@
+package com.banking.system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Token-bucket rate limits applied in front of the account and transaction endpoints.
+ * Bound from the {@code banking.rate-limit.*} properties; per-endpoint overrides are
+ * keyed by controller method name (e.g. {@code transfer}, {@code getTransactions}).
+ */
+@Component
+@ConfigurationProperties(prefix = "banking.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    /** Master switch for request rate limiting */
+    private boolean enabled = true;
+
+    /** Request header identifying the calling integration; falls back to the remote address */
+    private String clientIdHeader = "X-Client-Id";
+
+    /** Buckets untouched for this many seconds (and therefore full) are evicted */
+    private long idleEvictionSeconds = 300;
+
+    /** Limits used for endpoints without an override */
+    private Limit defaults = new Limit();
+
+    /** Per-endpoint overrides keyed by controller method name */
+    private Map<String, Limit> endpoints = new HashMap<>();
+
+    /** Returns the limits configured for the given endpoint */
+    public Limit limitFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaults);
+    }
+
+    /**
+     * Sustained rate and burst size for the client and account buckets of one endpoint.
+     */
+    @Getter
+    @Setter
+    public static class Limit {
+
+        /** Sustained requests per second allowed for one client */
+        private double clientPerSecond = 50;
+
+        /** Requests one client may burst above the sustained rate */
+        private int clientBurst = 100;
+
+        /** Sustained requests per second allowed against one account */
+        private double accountPerSecond = 10;
+
+        /** Requests one account may burst above the sustained rate */
+        private int accountBurst = 20;
+    }
+}
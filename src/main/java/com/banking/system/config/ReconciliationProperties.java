@@ -0,0 +1,32 @@
+package com.banking.system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the parallel ledger reconciliation job.
+ * Bound from the {@code banking.reconciliation.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "banking.reconciliation")
+@Getter
+@Setter
+public class ReconciliationProperties {
+
+    /** Transaction ID range scanned by one fork/join leaf task */
+    private long chunkSize = 50_000;
+
+    /** Fork/join pool parallelism */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** Transactions younger than this are left for the next run, as they may not have committed yet */
+    private long safetyLagSeconds = 60;
+
+    /** Maximum mismatches listed in a report (all are counted) */
+    private int maxReportedMismatches = 1000;
+
+    /** JDBC fetch size for the account comparison scan */
+    private int fetchSize = 5000;
+}
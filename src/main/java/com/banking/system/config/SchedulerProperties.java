@@ -0,0 +1,59 @@
+package com.banking.system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the scheduled payments engine.
+ * Bound from the {@code banking.scheduler.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "banking.scheduler")
+@Getter
+@Setter
+public class SchedulerProperties {
+
+    /** Master switch for executing scheduled payments on this node */
+    private boolean enabled = true;
+
+    /** Resolution of the timing wheel in milliseconds */
+    private long tickMillis = 1000;
+
+    /** Mandates loaded and executed together in one batch */
+    private int batchSize = 200;
+
+    /** Threads executing batches of due payments */
+    private int workerThreads = 4;
+
+    /** Batches that may wait for a worker; due mandates beyond them wait on the wheel for the next tick */
+    private int queueCapacity = 64;
+
+    /** Retries of a failed occurrence before it is given up */
+    private int maxRetries = 3;
+
+    /** Delay before the first retry; doubled for every further attempt */
+    private long retryDelaySeconds = 60;
+
+    /** An occurrence this late (e.g. after downtime) is treated as a misfire */
+    private long misfireThresholdSeconds = 60;
+
+    /** What to do with occurrences missed while the scheduler was not running */
+    private MisfirePolicy misfirePolicy = MisfirePolicy.FIRE_ONCE;
+
+    /** Page size used when rebuilding the timing wheel on startup */
+    private int rebuildPageSize = 10_000;
+
+    /**
+     * Handling of missed occurrences.
+     */
+    public enum MisfirePolicy {
+        /** Execute the latest missed occurrence once and skip the rest */
+        FIRE_ONCE,
+        /** Catch up by executing every missed occurrence in order */
+        FIRE_ALL,
+        /** Skip missed occurrences and wait for the next future one */
+        SKIP
+    }
+}
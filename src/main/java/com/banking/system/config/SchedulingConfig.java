@@ -0,0 +1,12 @@
+package com.banking.system.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's @Scheduled support for background housekeeping tasks.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
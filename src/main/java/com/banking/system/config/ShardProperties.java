@@ -0,0 +1,45 @@
+package com.banking.system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Account sharding settings. Each node owns the accounts whose account number
+ * hashes onto it in a consistent-hash ring built from {@link #nodes}.
+ * Bound from the {@code banking.shard.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "banking.shard")
+@Getter
+@Setter
+public class ShardProperties {
+
+    /** Placeholder internal token; a sharded node refuses to start while it is in use */
+    public static final String DEFAULT_INTERNAL_TOKEN = "change-me";
+
+    /** Master switch; when disabled this node owns every account */
+    private boolean enabled = false;
+
+    /** ID of this node; must be a key of {@link #nodes} */
+    private String nodeId = "node-1";
+
+    /** Base URL of every node in the cluster, keyed by node ID */
+    private Map<String, String> nodes = new LinkedHashMap<>();
+
+    /** Points per node on the hash ring */
+    private int virtualNodes = 128;
+
+    /** Shared secret sent on node-to-node calls; must be changed when sharding is enabled */
+    private String internalToken = DEFAULT_INTERNAL_TOKEN;
+
+    /** Timeout for forwarded and node-to-node HTTP calls */
+    private long requestTimeoutMillis = 5000;
+
+    /** Reserved cross-shard transfers older than this are retried by the recovery job */
+    private long recoveryAfterSeconds = 30;
+}
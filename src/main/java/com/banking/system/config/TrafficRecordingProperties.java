@@ -0,0 +1,32 @@
+package com.banking.system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for recording account and transaction API traffic for later replay.
+ * Bound from the {@code banking.traffic-recording.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "banking.traffic-recording")
+@Getter
+@Setter
+public class TrafficRecordingProperties {
+
+    /** Whether requests are recorded; off unless explicitly enabled */
+    private boolean enabled = false;
+
+    /**
+     * Gzip-compressed JSON-lines file the recording is written to. If it already exists,
+     * the recording goes to the first free numbered name instead (peak-2.jsonl.gz, …).
+     */
+    private String file = "traffic-recording.jsonl.gz";
+
+    /** Entries buffered for the writer thread; entries beyond it are dropped, never waited for */
+    private int queueCapacity = 10000;
+
+    /** How often buffered output is flushed to the file */
+    private long flushIntervalMillis = 1000;
+}
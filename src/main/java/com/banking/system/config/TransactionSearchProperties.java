@@ -0,0 +1,26 @@
+package com.banking.system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the transaction search endpoint.
+ * Bound from the {@code banking.transaction-search.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "banking.transaction-search")
+@Getter
+@Setter
+public class TransactionSearchProperties {
+
+    /** Page size when the request gives none */
+    private int defaultLimit = 50;
+
+    /** Largest page size a request may ask for */
+    private int maxLimit = 500;
+
+    /** Statement timeout per index scan; a search that exceeds it fails with 503 */
+    private int queryTimeoutSeconds = 5;
+}
@@ -0,0 +1,43 @@
+package com.banking.system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-account velocity limits applied before withdrawals and transfers commit.
+ * Bound from the {@code banking.velocity.*} properties.
+ */
+@Component
+@ConfigurationProperties(prefix = "banking.velocity")
+@Getter
+@Setter
+public class VelocityProperties {
+
+    /** Master switch for the velocity rule engine */
+    private boolean enabled = true;
+
+    /** Maximum number of debits per account in any rolling minute */
+    private int maxCountPerMinute = 30;
+
+    /** Maximum debited amount per account in any rolling minute, in the default currency */
+    private BigDecimal maxAmountPerMinute = new BigDecimal("50000.00");
+
+    /** Maximum number of debits per account in any rolling day */
+    private int maxCountPerDay = 500;
+
+    /** Maximum debited amount per account in any rolling day, in the default currency */
+    private BigDecimal maxAmountPerDay = new BigDecimal("500000.00");
+
+    /** Maximum number of first-time counterparties per account in any rolling hour */
+    private int maxNewCounterpartiesPerHour = 10;
+
+    /** Number of known counterparties remembered per account; the least recently paid is forgotten first */
+    private int counterpartyMemory = 256;
+
+    /** Accounts with no activity for this many minutes are evicted from memory */
+    private long idleEvictionMinutes = 1440;
+}
@@ -0,0 +1,34 @@
+package com.banking.system.config;
+
+import com.banking.system.web.ConcurrencyLimitInterceptor;
+import com.banking.system.web.RateLimitInterceptor;
+import com.banking.system.web.TrafficRecordingInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the request interceptors that sit in front of the REST controllers.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    private final TrafficRecordingInterceptor trafficRecordingInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor)
+                .addPathPatterns("/api/accounts/**", "/api/transactions/**", "/api/holds/**");
+        // After rate limiting (per-client and per-account), so requests rejected with 429 never take a concurrency slot
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/api/accounts/**", "/api/transactions/**", "/api/scheduled-payments/**",
+                        "/api/holds/**");
+        // Last, so only admitted requests are aliased and recorded
+        registry.addInterceptor(trafficRecordingInterceptor)
+                .addPathPatterns("/api/accounts/**", "/api/transactions/**");
+    }
+}
@@ -1,6 +1,7 @@
 package com.banking.system.controller;
 
 import com.banking.system.dto.*;
+import com.banking.system.exception.ErrorResponse;
 import com.banking.system.service.AccountService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +9,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+
 /**
  * REST controller for account management and banking operations.
  * Handles account creation, deposits, withdrawals, and transfers.
@@ -47,23 +50,51 @@ public class AccountController {
      * POST /api/accounts/withdraw — Withdraw money from an account.
      *
      * @param request validated withdrawal payload
-     * @return 200 OK with the transaction details
+     * @return 200 OK with the transaction details, 400 on insufficient balance, 422 on a velocity limit
      */
     @PostMapping("/withdraw")
-    public ResponseEntity<TransactionResponse> withdraw(@Valid @RequestBody WithdrawRequest request) {
-        TransactionResponse response = accountService.withdraw(request);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<?> withdraw(@Valid @RequestBody WithdrawRequest request) {
+        return toResponseEntity(accountService.withdraw(request));
     }
 
     /**
      * POST /api/accounts/transfer — Transfer money between two accounts.
      *
      * @param request validated transfer payload
-     * @return 200 OK with the transaction details
+     * @return 200 OK with the transaction details, 400 on insufficient balance, 422 on a velocity limit
      */
     @PostMapping("/transfer")
-    public ResponseEntity<TransactionResponse> transfer(@Valid @RequestBody TransferRequest request) {
-        TransactionResponse response = accountService.transfer(request);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<?> transfer(@Valid @RequestBody TransferRequest request) {
+        return toResponseEntity(accountService.transfer(request));
+    }
+
+    /**
+     * GET /api/accounts/{accountNumber}/balance — Read an account's balance, served from
+     * the off-heap account index when cached.
+     *
+     * @param accountNumber the account number
+     * @return 200 OK with the balance and its cache version
+     */
+    @GetMapping("/{accountNumber}/balance")
+    public ResponseEntity<AccountBalanceResponse> getBalance(@PathVariable String accountNumber) {
+        return ResponseEntity.ok(accountService.getBalance(accountNumber));
+    }
+
+    /**
+     * Maps a debit result to 200 OK, or to the same error body the exception handlers
+     * produce for a declined operation.
+     */
+    private ResponseEntity<?> toResponseEntity(TransactionResult result) {
+        if (!result.isDeclined()) {
+            return ResponseEntity.ok(result.getTransaction());
+        }
+        HttpStatus status = result.getDeclineReason() == TransactionResult.DeclineReason.VELOCITY_LIMIT
+                ? HttpStatus.UNPROCESSABLE_ENTITY : HttpStatus.BAD_REQUEST;
+        ErrorResponse error = ErrorResponse.builder()
+                .status(status.value())
+                .message(result.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(error, status);
     }
 }
@@ -0,0 +1,46 @@
+package com.banking.system.controller;
+
+import com.banking.system.dto.BatchJobReport;
+import com.banking.system.entity.BatchJobType;
+import com.banking.system.service.batch.AccountBatchJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * REST controller for the interest accrual and maintenance fee batch jobs.
+ */
+@RestController
+@RequestMapping("/api/admin/batch")
+@RequiredArgsConstructor
+public class BatchJobController {
+
+    private final AccountBatchJobService batchJobService;
+
+    /**
+     * POST /api/admin/batch/interest — Accrue a day's interest on every positive balance.
+     *
+     * @param runKey the accrual date (defaults to today); rerunning a date resumes it
+     * @return 200 OK with the run report
+     */
+    @PostMapping("/interest")
+    public ResponseEntity<BatchJobReport> accrueInterest(@RequestParam(required = false) String runKey) {
+        String key = runKey != null ? runKey : LocalDate.now().toString();
+        return ResponseEntity.ok(batchJobService.run(BatchJobType.INTEREST_ACCRUAL, key));
+    }
+
+    /**
+     * POST /api/admin/batch/fees — Charge the monthly maintenance fee.
+     *
+     * @param runKey the fee month (defaults to the current month); rerunning a month resumes it
+     * @return 200 OK with the run report
+     */
+    @PostMapping("/fees")
+    public ResponseEntity<BatchJobReport> chargeFees(@RequestParam(required = false) String runKey) {
+        String key = runKey != null ? runKey : YearMonth.now().toString();
+        return ResponseEntity.ok(batchJobService.run(BatchJobType.MAINTENANCE_FEE, key));
+    }
+}
@@ -0,0 +1,34 @@
+package com.banking.system.controller;
+
+import com.banking.system.service.events.TransactionEventBus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * REST controller streaming committed transaction and balance events over Server-Sent Events.
+ */
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class EventStreamController {
+
+    private final TransactionEventBus eventBus;
+
+    /**
+     * GET /api/events/stream — Subscribe to transaction events.
+     *
+     * @param accountIds  account IDs to filter on (all accounts if omitted)
+     * @param lastEventId ID of the last event received; events after it are replayed first
+     * @return an SSE stream of TRANSACTION_RECORDED events
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(name = "accountId", required = false) List<Long> accountIds,
+                             @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return eventBus.subscribe(accountIds != null ? new HashSet<>(accountIds) : new HashSet<>(), lastEventId);
+    }
+}
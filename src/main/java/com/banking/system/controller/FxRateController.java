@@ -0,0 +1,50 @@
+package com.banking.system.controller;
+
+import com.banking.system.dto.FxRatesResponse;
+import com.banking.system.service.fx.FxRateSnapshot;
+import com.banking.system.service.fx.FxRateStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the FX rates applied to cross-currency transfers.
+ */
+@RestController
+@RequestMapping("/api/fx/rates")
+@RequiredArgsConstructor
+public class FxRateController {
+
+    private final FxRateStore fxRateStore;
+
+    /**
+     * GET /api/fx/rates — Show the rate snapshot currently applied to transfers.
+     *
+     * @return 200 OK with the snapshot version and rates
+     */
+    @GetMapping
+    public ResponseEntity<FxRatesResponse> getRates() {
+        return ResponseEntity.ok(toResponse(fxRateStore.current()));
+    }
+
+    /**
+     * POST /api/fx/rates/reload — Load the rates from the file or table now instead of
+     * waiting for the next periodic reload.
+     *
+     * @return 200 OK with the snapshot in use afterwards
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<FxRatesResponse> reload() {
+        return ResponseEntity.ok(toResponse(fxRateStore.reload()));
+    }
+
+    private FxRatesResponse toResponse(FxRateSnapshot snapshot) {
+        return FxRatesResponse.builder()
+                .version(snapshot.version())
+                .source(snapshot.source())
+                .loadedAt(snapshot.loadedAt())
+                .defaultCurrency(fxRateStore.defaultCurrency())
+                .rates(snapshot.rates())
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.banking.system.controller;
+
+import com.banking.system.dto.CaptureRequest;
+import com.banking.system.dto.HoldRequest;
+import com.banking.system.dto.HoldResponse;
+import com.banking.system.dto.HoldResult;
+import com.banking.system.dto.TransactionResult.DeclineReason;
+import com.banking.system.exception.ErrorResponse;
+import com.banking.system.service.hold.HoldService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST controller for card-style two-phase payments: authorize, then capture or void.
+ */
+@RestController
+@RequestMapping("/api/holds")
+@RequiredArgsConstructor
+public class HoldController {
+
+    private final HoldService holdService;
+
+    /**
+     * POST /api/holds — Authorize an amount by placing a hold on an account.
+     *
+     * @param request validated authorization payload
+     * @return 201 Created with the hold, 400 on insufficient available balance, 422 on a velocity limit
+     */
+    @PostMapping
+    public ResponseEntity<?> authorize(@Valid @RequestBody HoldRequest request) {
+        HoldResult result = holdService.authorize(request);
+        if (!result.isDeclined()) {
+            return new ResponseEntity<>(result.getHold(), HttpStatus.CREATED);
+        }
+        HttpStatus status = result.getDeclineReason() == DeclineReason.VELOCITY_LIMIT
+                ? HttpStatus.UNPROCESSABLE_ENTITY : HttpStatus.BAD_REQUEST;
+        ErrorResponse error = ErrorResponse.builder()
+                .status(status.value())
+                .message(result.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(error, status);
+    }
+
+    /**
+     * POST /api/holds/{id}/capture — Capture a hold in full or in part.
+     *
+     * @param id      the hold ID
+     * @param request optional payload; omit the amount to capture the full hold
+     * @return 200 OK with the captured hold
+     */
+    @PostMapping("/{id}/capture")
+    public ResponseEntity<HoldResponse> capture(@PathVariable Long id,
+                                                @Valid @RequestBody(required = false) CaptureRequest request) {
+        return ResponseEntity.ok(holdService.capture(id, request));
+    }
+
+    /**
+     * POST /api/holds/{id}/void — Release a hold without debiting the account.
+     *
+     * @param id the hold ID
+     * @return 200 OK with the voided hold
+     */
+    @PostMapping("/{id}/void")
+    public ResponseEntity<HoldResponse> voidHold(@PathVariable Long id) {
+        return ResponseEntity.ok(holdService.voidHold(id));
+    }
+
+    /**
+     * GET /api/holds/{id} — Retrieve a hold.
+     *
+     * @param id the hold ID
+     * @return 200 OK with the hold details
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<HoldResponse> getHold(@PathVariable Long id) {
+        return ResponseEntity.ok(holdService.getHold(id));
+    }
+}
@@ -0,0 +1,63 @@
+package com.banking.system.controller;
+
+import com.banking.system.dto.SettlementCycleResponse;
+import com.banking.system.service.netting.NettingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for netting enrollment and settlement cycles.
+ */
+@RestController
+@RequestMapping("/api/netting")
+@RequiredArgsConstructor
+public class NettingController {
+
+    private final NettingService nettingService;
+
+    /**
+     * PUT /api/netting/participants/{accountNumber} — Enroll an account in netting.
+     * Transfers between two enrolled accounts are then settled at cycle close.
+     *
+     * @param accountNumber the account to enroll
+     * @return 204 No Content
+     */
+    @PutMapping("/participants/{accountNumber}")
+    public ResponseEntity<Void> enroll(@PathVariable String accountNumber) {
+        nettingService.setEnrolled(accountNumber, true);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * DELETE /api/netting/participants/{accountNumber} — Withdraw an account from netting.
+     *
+     * @param accountNumber the account to withdraw
+     * @return 204 No Content
+     */
+    @DeleteMapping("/participants/{accountNumber}")
+    public ResponseEntity<Void> unenroll(@PathVariable String accountNumber) {
+        nettingService.setEnrolled(accountNumber, false);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * GET /api/netting/cycles/current — Live figures of the open settlement cycle.
+     *
+     * @return 200 OK with the open cycle
+     */
+    @GetMapping("/cycles/current")
+    public ResponseEntity<SettlementCycleResponse> currentCycle() {
+        return ResponseEntity.ok(nettingService.currentCycle());
+    }
+
+    /**
+     * POST /api/netting/cycles/close — Close the open cycle and settle it now.
+     *
+     * @return 200 OK with the closed cycle
+     */
+    @PostMapping("/cycles/close")
+    public ResponseEntity<SettlementCycleResponse> closeCycle() {
+        return ResponseEntity.ok(nettingService.closeNow());
+    }
+}
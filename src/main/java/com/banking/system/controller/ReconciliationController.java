@@ -0,0 +1,29 @@
+package com.banking.system.controller;
+
+import com.banking.system.dto.ReconciliationReport;
+import com.banking.system.service.reconciliation.ReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for operational ledger reconciliation.
+ */
+@RestController
+@RequestMapping("/api/admin/reconciliation")
+@RequiredArgsConstructor
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    /**
+     * POST /api/admin/reconciliation/run — Reconcile account balances against the transaction ledger.
+     *
+     * @param full if true, rescan every transaction instead of only those since the last checkpoint
+     * @return 200 OK with the reconciliation report
+     */
+    @PostMapping("/run")
+    public ResponseEntity<ReconciliationReport> run(@RequestParam(defaultValue = "false") boolean full) {
+        return ResponseEntity.ok(reconciliationService.reconcile(full));
+    }
+}
@@ -0,0 +1,55 @@
+package com.banking.system.controller;
+
+import com.banking.system.dto.ScheduledPaymentRequest;
+import com.banking.system.dto.ScheduledPaymentResponse;
+import com.banking.system.service.scheduler.ScheduledPaymentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for future-dated and recurring transfers.
+ */
+@RestController
+@RequestMapping("/api/scheduled-payments")
+@RequiredArgsConstructor
+public class ScheduledPaymentController {
+
+    private final ScheduledPaymentService scheduledPaymentService;
+
+    /**
+     * POST /api/scheduled-payments — Schedule a one-off or recurring transfer.
+     *
+     * @param request validated scheduled payment payload
+     * @return 201 Created with the mandate details
+     */
+    @PostMapping
+    public ResponseEntity<ScheduledPaymentResponse> createMandate(@Valid @RequestBody ScheduledPaymentRequest request) {
+        ScheduledPaymentResponse response = scheduledPaymentService.createMandate(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    /**
+     * GET /api/scheduled-payments/{id} — Retrieve a scheduled payment.
+     *
+     * @param id the mandate ID
+     * @return 200 OK with the mandate details
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ScheduledPaymentResponse> getMandate(@PathVariable Long id) {
+        return ResponseEntity.ok(scheduledPaymentService.getMandate(id));
+    }
+
+    /**
+     * DELETE /api/scheduled-payments/{id} — Cancel a scheduled payment.
+     *
+     * @param id the mandate ID
+     * @return 200 OK with the cancelled mandate details
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ScheduledPaymentResponse> cancelMandate(@PathVariable Long id) {
+        return ResponseEntity.ok(scheduledPaymentService.cancelMandate(id));
+    }
+}
@@ -0,0 +1,47 @@
+package com.banking.system.controller;
+
+import com.banking.system.config.ShardProperties;
+import com.banking.system.dto.ShardCreditRequest;
+import com.banking.system.exception.ShardAccessDeniedException;
+import com.banking.system.service.shard.CrossShardTransferService;
+import com.banking.system.service.shard.ShardClient;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Node-to-node endpoints of the cross-shard transfer protocol.
+ * Not part of the public API; calls must carry the shared internal token.
+ */
+@RestController
+@RequestMapping("/internal/shard")
+@RequiredArgsConstructor
+public class ShardInternalController {
+
+    private final CrossShardTransferService crossShardTransferService;
+    private final ShardProperties shardProperties;
+
+    /**
+     * POST /internal/shard/credit — Apply the credit side of a cross-shard transfer (idempotent).
+     *
+     * @param token   the shared internal token
+     * @param request validated credit payload
+     * @return 200 OK once the credit is applied (or had already been applied)
+     */
+    @PostMapping("/credit")
+    public ResponseEntity<Void> credit(@RequestHeader(name = ShardClient.TOKEN_HEADER, required = false) String token,
+                                       @Valid @RequestBody ShardCreditRequest request) {
+        // Constant-time comparison, so response timing does not reveal the token
+        if (token == null || !MessageDigest.isEqual(
+                shardProperties.getInternalToken().getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8))) {
+            throw new ShardAccessDeniedException();
+        }
+        crossShardTransferService.applyInboundCredit(request);
+        return ResponseEntity.ok().build();
+    }
+}
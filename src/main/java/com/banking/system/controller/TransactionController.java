@@ -1,7 +1,11 @@
 package com.banking.system.controller;
 
 import com.banking.system.dto.TransactionResponse;
+import com.banking.system.dto.TransactionSearchRequest;
+import com.banking.system.dto.TransactionSearchResponse;
 import com.banking.system.service.TransactionService;
+import com.banking.system.service.search.TransactionSearchService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +21,7 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionSearchService transactionSearchService;
 
     /**
      * GET /api/transactions/{accountId} — Retrieve transaction history for an account.
@@ -29,4 +34,16 @@ public class TransactionController {
         List<TransactionResponse> transactions = transactionService.getTransactionsByAccountId(accountId);
         return ResponseEntity.ok(transactions);
     }
+
+    /**
+     * GET /api/transactions/search — Search transactions by account, type, status, amount
+     * and date range, one keyset page at a time.
+     *
+     * @param request the filters; pass the previous page's nextCursor as cursor for the next page
+     * @return 200 OK with the page (most recent first) and the query timing
+     */
+    @GetMapping("/search")
+    public ResponseEntity<TransactionSearchResponse> search(@Valid TransactionSearchRequest request) {
+        return ResponseEntity.ok(transactionSearchService.search(request));
+    }
 }
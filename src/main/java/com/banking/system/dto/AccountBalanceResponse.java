@@ -0,0 +1,25 @@
+package com.banking.system.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Response DTO for a balance read served by the account index.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountBalanceResponse {
+    private String accountNumber;
+    private String currency;
+    private BigDecimal balance;
+    /** Balance minus active authorization holds plus pending netting debits */
+    private BigDecimal availableBalance;
+    /** Version of the cached balance; null if the account is not indexed */
+    private Long version;
+    /** Whether the balance came from the index rather than the database */
+    private boolean cached;
+}
@@ -1,6 +1,7 @@
 package com.banking.system.dto;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.*;
 
 /**
@@ -15,4 +16,8 @@ public class AccountRequest {
 
     @NotNull(message = "User ID is required")
     private Long userId;
+
+    /** ISO 4217 code of the account currency; defaults to banking.fx.default-currency */
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    private String currency;
 }
@@ -15,7 +15,10 @@ import java.math.BigDecimal;
 public class AccountResponse {
     private Long id;
     private String accountNumber;
+    private String currency;
     private BigDecimal balance;
+    /** Balance minus active authorization holds */
+    private BigDecimal availableBalance;
     private Long userId;
     private String userName;
 }
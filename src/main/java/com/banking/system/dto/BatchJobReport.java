@@ -0,0 +1,41 @@
+package com.banking.system.dto;
+
+import com.banking.system.entity.BatchJobStatus;
+import com.banking.system.entity.BatchJobType;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Response DTO summarizing one attempt of a batch job run. The run totals cover every
+ * attempt; the per-attempt figures and throughput cover this one.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchJobReport {
+    private Long runId;
+    private BatchJobType jobType;
+    private String runKey;
+    private BatchJobStatus status;
+    private long chunksTotal;
+    /** Chunks applied by this attempt */
+    private long chunksProcessed;
+    /** Chunks already applied by an earlier attempt */
+    private long chunksSkipped;
+    /** Chunks that failed every attempt; a rerun with the same key resumes them */
+    private long chunksFailed;
+    /** Accounts examined by this attempt */
+    private long accountsProcessed;
+    private long transactionsCreated;
+    /** Total credited or charged, converted into the default currency */
+    private BigDecimal amount;
+    private long durationMillis;
+    private double accountsPerSecond;
+    /** Run totals over all attempts */
+    private long runAccountsProcessed;
+    private long runTransactionsCreated;
+    private BigDecimal runTotalAmount;
+}
@@ -0,0 +1,20 @@
+package com.banking.system.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Request DTO for capturing a hold. Omitting the amount captures the full hold.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CaptureRequest {
+
+    @DecimalMin(value = "0.01", message = "Capture amount must be greater than zero")
+    private BigDecimal amount;
+}
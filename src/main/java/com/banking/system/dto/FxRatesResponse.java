@@ -0,0 +1,25 @@
+package com.banking.system.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Response DTO describing the FX rate snapshot in use.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FxRatesResponse {
+    private long version;
+    private String source;
+    private LocalDateTime loadedAt;
+    private String defaultCurrency;
+
+    /** Value of one unit of each currency in the common reference unit */
+    private Map<String, BigDecimal> rates;
+}
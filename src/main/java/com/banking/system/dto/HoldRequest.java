@@ -0,0 +1,33 @@
+package com.banking.system.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Request DTO for authorizing (placing a hold on) an amount.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HoldRequest {
+
+    @NotBlank(message = "Account number is required")
+    private String accountNumber;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Hold amount must be greater than zero")
+    private BigDecimal amount;
+
+    private String reference;
+
+    /** Hold lifetime; defaults to banking.holds.default-expiry-seconds */
+    @Min(value = 1, message = "Expiry must be at least one second")
+    private Long expiresInSeconds;
+}
@@ -0,0 +1,27 @@
+package com.banking.system.dto;
+
+import com.banking.system.entity.HoldStatus;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO exposing authorization hold details.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HoldResponse {
+    private Long id;
+    private String accountNumber;
+    private BigDecimal amount;
+    private BigDecimal capturedAmount;
+    private HoldStatus status;
+    private String reference;
+    private Long transactionId;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+}
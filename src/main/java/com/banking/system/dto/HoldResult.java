@@ -0,0 +1,37 @@
+package com.banking.system.dto;
+
+import com.banking.system.dto.TransactionResult.DeclineReason;
+import lombok.*;
+
+/**
+ * Outcome of an authorization. Like {@link TransactionResult}, a decline is an
+ * ordinary result rather than an exception.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HoldResult {
+
+    /** The placed hold; null if declined */
+    private HoldResponse hold;
+
+    /** Why the authorization was declined; null if it succeeded */
+    private DeclineReason declineReason;
+
+    /** Human-readable decline message; null if it succeeded */
+    private String message;
+
+    public static HoldResult accepted(HoldResponse hold) {
+        return HoldResult.builder().hold(hold).build();
+    }
+
+    public static HoldResult declined(DeclineReason reason, String message) {
+        return HoldResult.builder().declineReason(reason).message(message).build();
+    }
+
+    public boolean isDeclined() {
+        return declineReason != null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.banking.system.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response DTO summarizing a ledger reconciliation run.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconciliationReport {
+    private boolean fullRun;
+    private Long fromTransactionId;
+    private Long toTransactionId;
+    private long transactionsProcessed;
+    private long accountsChecked;
+    private long accountsSkippedInFlight;
+    private long mismatchCount;
+    private long durationMillis;
+    private List<Mismatch> mismatches;
+
+    /**
+     * One account whose stored balance differs from its ledger net.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Mismatch {
+        private Long accountId;
+        private String accountNumber;
+        private BigDecimal expectedBalance;
+        private BigDecimal actualBalance;
+        private BigDecimal difference;
+    }
+}
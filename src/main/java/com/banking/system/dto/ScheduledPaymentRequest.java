@@ -0,0 +1,41 @@
+package com.banking.system.dto;
+
+import com.banking.system.entity.MandateFrequency;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Request DTO for creating a future-dated or recurring transfer.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduledPaymentRequest {
+
+    @NotBlank(message = "Source account number is required")
+    private String fromAccountNumber;
+
+    @NotBlank(message = "Destination account number is required")
+    private String toAccountNumber;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Transfer amount must be greater than zero")
+    private BigDecimal amount;
+
+    @NotNull(message = "Frequency is required")
+    private MandateFrequency frequency;
+
+    @NotNull(message = "Start time is required")
+    @FutureOrPresent(message = "Start time must not be in the past")
+    private LocalDateTime startAt;
+
+    private LocalDateTime endAt;
+}
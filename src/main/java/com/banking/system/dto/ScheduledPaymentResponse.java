@@ -0,0 +1,29 @@
+package com.banking.system.dto;
+
+import com.banking.system.entity.MandateFrequency;
+import com.banking.system.entity.MandateStatus;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO exposing scheduled payment mandate details to the client.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduledPaymentResponse {
+    private Long id;
+    private String fromAccountNumber;
+    private String toAccountNumber;
+    private BigDecimal amount;
+    private MandateFrequency frequency;
+    private LocalDateTime startAt;
+    private LocalDateTime endAt;
+    private LocalDateTime nextExecutionAt;
+    private MandateStatus status;
+    private String lastError;
+}
@@ -0,0 +1,27 @@
+package com.banking.system.dto;
+
+import com.banking.system.entity.SettlementCycleStatus;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO exposing a netting settlement cycle.
+ * For an open cycle the counts and amounts are the live in-memory figures.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SettlementCycleResponse {
+    private Long id;
+    private SettlementCycleStatus status;
+    private int transferCount;
+    private int participantCount;
+    private BigDecimal grossAmount;
+    private BigDecimal netAmount;
+    private LocalDateTime openedAt;
+    private LocalDateTime settledAt;
+}
@@ -0,0 +1,35 @@
+package com.banking.system.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Node-to-node request crediting the destination side of a cross-shard transfer.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShardCreditRequest {
+
+    @NotBlank(message = "Transfer ID is required")
+    private String transferId;
+
+    @NotBlank(message = "Source account number is required")
+    private String fromAccountNumber;
+
+    @NotBlank(message = "Destination account number is required")
+    private String toAccountNumber;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Transfer amount must be greater than zero")
+    private BigDecimal amount;
+
+    /** Currency of the amount; converted to the destination account's currency if it differs */
+    private String currency;
+}
@@ -0,0 +1,36 @@
+package com.banking.system.dto;
+
+import com.banking.system.entity.TransactionStatus;
+import com.banking.system.entity.TransactionType;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Event body pushed to stream subscribers for every recorded transaction,
+ * including the resulting balances of the accounts involved.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionEvent {
+    private Long transactionId;
+    private TransactionType type;
+    private TransactionStatus status;
+    private BigDecimal amount;
+    private BigDecimal creditedAmount;
+    private Long fxRateVersion;
+    /** Netting cycle of a PENDING netted transfer; it succeeds with that cycle's settled event */
+    private Long settlementCycleId;
+    private Long fromAccountId;
+    private String fromAccountNumber;
+    private BigDecimal fromAccountBalance;
+    private Long toAccountId;
+    private String toAccountNumber;
+    private BigDecimal toAccountBalance;
+    private String failureReason;
+    private LocalDateTime timestamp;
+}
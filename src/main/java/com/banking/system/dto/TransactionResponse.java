@@ -20,7 +20,12 @@ public class TransactionResponse {
     private String fromAccountNumber;
     private String toAccountNumber;
     private BigDecimal amount;
+    /** Amount credited in the destination currency; null unless the transfer was converted */
+    private BigDecimal creditedAmount;
+    private BigDecimal fxRate;
+    private Long fxRateVersion;
     private TransactionType type;
     private TransactionStatus status;
+    private String failureReason;
     private LocalDateTime timestamp;
 }
@@ -0,0 +1,49 @@
+package com.banking.system.dto;
+
+import lombok.*;
+
+/**
+ * Outcome of a debit operation (withdrawal or transfer).
+ * Declines are ordinary results rather than exceptions, so the service transaction
+ * is not rolled back and no stack trace is built on one of the most frequent outcomes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionResult {
+
+    /** The recorded transaction, or the FAILED transaction for a decline */
+    private TransactionResponse transaction;
+
+    /** Why the operation was declined; null if it succeeded */
+    private DeclineReason declineReason;
+
+    /** Human-readable decline message; null if it succeeded */
+    private String message;
+
+    public static TransactionResult accepted(TransactionResponse transaction) {
+        return TransactionResult.builder().transaction(transaction).build();
+    }
+
+    public static TransactionResult declined(TransactionResponse transaction, DeclineReason reason, String message) {
+        return TransactionResult.builder()
+                .transaction(transaction)
+                .declineReason(reason)
+                .message(message)
+                .build();
+    }
+
+    public boolean isDeclined() {
+        return declineReason != null;
+    }
+
+    /**
+     * Enum representing why a debit was declined.
+     */
+    public enum DeclineReason {
+        INSUFFICIENT_BALANCE,
+        VELOCITY_LIMIT
+    }
+}
@@ -0,0 +1,50 @@
+package com.banking.system.dto;
+
+import com.banking.system.entity.TransactionStatus;
+import com.banking.system.entity.TransactionType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Query parameters for searching transactions. Every filter is optional and they are
+ * combined with AND. Results are ordered by timestamp, most recent first.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionSearchRequest {
+
+    /** Account on either side of the transaction, including the remote side of cross-shard transfers */
+    private String accountNumber;
+
+    private TransactionType type;
+
+    private TransactionStatus status;
+
+    @DecimalMin(value = "0.00", message = "Minimum amount must not be negative")
+    private BigDecimal minAmount;
+
+    @DecimalMin(value = "0.00", message = "Maximum amount must not be negative")
+    private BigDecimal maxAmount;
+
+    /** Inclusive lower bound of the transaction timestamp */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    /** Exclusive upper bound of the transaction timestamp */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    /** The nextCursor of the previous page; omit for the first page */
+    private String cursor;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    private Integer limit;
+}
@@ -0,0 +1,31 @@
+package com.banking.system.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of transaction search results, with how the search was executed.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionSearchResponse {
+    private List<TransactionResponse> transactions;
+
+    /** Cursor for the next page, or null on the last page */
+    private String nextCursor;
+
+    /** Index used: ACCOUNT, TYPE_STATUS or TIMESTAMP */
+    private String plan;
+
+    /** Index range scans run for this page */
+    private int indexScans;
+
+    /** Rows read across all scans, before merging */
+    private int rowsRead;
+
+    private double queryMillis;
+}
@@ -1,5 +1,6 @@
 package com.banking.system.entity;
 
+import com.banking.system.service.index.AccountIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,10 +9,11 @@ import java.math.BigDecimal;
 /**
  * Account entity representing a bank account.
  * Linked to a User via ManyToOne relationship.
- * Balance stored as BigDecimal for monetary precision.
+ * Balance stored as BigDecimal for monetary precision, in the account's currency.
  */
 @Entity
 @Table(name = "accounts")
+@EntityListeners(AccountIndexListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,8 +32,22 @@ public class Account {
     @Builder.Default
     private BigDecimal balance = BigDecimal.ZERO;
 
+    /** ISO 4217 code of the balance currency, fixed when the account is opened */
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    /** Transfers between enrolled accounts are settled in netting cycles */
+    @Column(name = "netting_enrolled", nullable = false)
+    @Builder.Default
+    private boolean nettingEnrolled = false;
+
     /** Many accounts belong to one user */
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
+
+    /** Version of the cached balance in the account index when this entity was loaded */
+    @Transient
+    @Builder.Default
+    private long indexVersion = -1L;
 }
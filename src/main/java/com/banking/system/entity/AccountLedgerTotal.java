@@ -0,0 +1,26 @@
+package com.banking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Running net of successful credits minus debits per account, in minor units,
+ * as of the last reconciliation checkpoint. Lets incremental reconciliation runs
+ * add only the transactions written since.
+ */
+@Entity
+@Table(name = "account_ledger_totals")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountLedgerTotal {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "net_minor_units", nullable = false)
+    private long netMinorUnits;
+}
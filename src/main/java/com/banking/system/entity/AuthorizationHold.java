@@ -0,0 +1,64 @@
+package com.banking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Funds reserved on an account by an authorization, to be captured or released later.
+ * Active holds reduce the available balance but not the ledger balance; the table is
+ * the durable record used to rebuild the in-memory hold index on startup.
+ */
+@Entity
+@Table(name = "authorization_holds",
+        indexes = @Index(name = "idx_hold_status", columnList = "status"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuthorizationHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    /** Amount reserved by the authorization */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    /** Amount actually debited on capture; null until captured */
+    @Column(name = "captured_amount", precision = 19, scale = 2)
+    private BigDecimal capturedAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private HoldStatus status = HoldStatus.ACTIVE;
+
+    /** Caller-supplied reference, e.g. a merchant order ID */
+    private String reference;
+
+    /** CAPTURE transaction created when the hold was captured */
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
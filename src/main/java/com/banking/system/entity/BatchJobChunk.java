@@ -0,0 +1,49 @@
+package com.banking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of one processed chunk of a batch job run, written in the same database
+ * transaction as the chunk's balance updates, so a chunk is applied exactly once.
+ */
+@Entity
+@Table(name = "batch_job_chunks", uniqueConstraints =
+        @UniqueConstraint(name = "uk_batch_job_chunk", columnNames = {"run_id", "chunk_start_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchJobChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    /** Exclusive lower bound of the chunk's account ID range */
+    @Column(name = "chunk_start_id", nullable = false)
+    private long chunkStartId;
+
+    /** Inclusive upper bound of the chunk's account ID range */
+    @Column(name = "chunk_end_id", nullable = false)
+    private long chunkEndId;
+
+    @Column(name = "accounts_processed", nullable = false)
+    private long accountsProcessed;
+
+    @Column(name = "transactions_created", nullable = false)
+    private long transactionsCreated;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+}
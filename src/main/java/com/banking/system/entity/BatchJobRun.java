@@ -0,0 +1,68 @@
+package com.banking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One run of an account batch job, identified by job type and run key (the accrual
+ * date or fee month). The account ID range and chunk size are fixed when the run is
+ * first started, so a resumed run partitions the accounts the same way.
+ */
+@Entity
+@Table(name = "batch_job_runs", uniqueConstraints =
+        @UniqueConstraint(name = "uk_batch_job_run", columnNames = {"job_type", "run_key"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchJobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false, length = 32)
+    private BatchJobType jobType;
+
+    @Column(name = "run_key", nullable = false, length = 32)
+    private String runKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private BatchJobStatus status;
+
+    /** Highest account ID covered; accounts opened after the first start are left out */
+    @Column(name = "max_account_id", nullable = false)
+    private long maxAccountId;
+
+    /** Account ID range per chunk */
+    @Column(name = "chunk_size", nullable = false)
+    private long chunkSize;
+
+    @Column(name = "chunks_total", nullable = false)
+    private long chunksTotal;
+
+    @Column(name = "chunks_failed", nullable = false)
+    private long chunksFailed;
+
+    /** Totals over every completed chunk, including earlier attempts */
+    @Column(name = "accounts_processed", nullable = false)
+    private long accountsProcessed;
+
+    @Column(name = "transactions_created", nullable = false)
+    private long transactionsCreated;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,11 @@
+package com.banking.system.entity;
+
+/**
+ * State of a batch job run. A FAILED run, or a RUNNING one left behind by a crash,
+ * resumes from its chunk checkpoints when started again with the same run key.
+ */
+public enum BatchJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,11 @@
+package com.banking.system.entity;
+
+/**
+ * Account batch jobs.
+ */
+public enum BatchJobType {
+    /** Daily interest credited on positive balances */
+    INTEREST_ACCRUAL,
+    /** Monthly maintenance fee debited from accounts below the waiver balance */
+    MAINTENANCE_FEE
+}
@@ -0,0 +1,68 @@
+package com.banking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Outbound cross-shard transfer held by the node owning the source account.
+ * Drives the debit-reserve / credit / confirm protocol and its recovery.
+ */
+@Entity
+@Table(name = "cross_shard_transfers",
+        indexes = @Index(name = "idx_cross_shard_state_updated", columnList = "state, updated_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CrossShardTransfer {
+
+    /** Globally unique transfer ID; the remote node uses it for idempotency */
+    @Id
+    @Column(name = "transfer_id", length = 36)
+    private String transferId;
+
+    /** Local TRANSFER transaction recording the debit */
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Column(name = "from_account_number", nullable = false)
+    private String fromAccountNumber;
+
+    @Column(name = "to_account_number", nullable = false)
+    private String toAccountNumber;
+
+    @Column(name = "target_node", nullable = false)
+    private String targetNode;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    /** Currency of the amount (the source account's); the destination shard converts it */
+    @Column(length = 3)
+    private String currency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CrossShardTransferState state;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,13 @@
+package com.banking.system.entity;
+
+/**
+ * Enum representing the protocol state of an outbound cross-shard transfer.
+ */
+public enum CrossShardTransferState {
+    /** Source debited locally; remote credit not yet acknowledged */
+    RESERVED,
+    /** Remote credit acknowledged */
+    CONFIRMED,
+    /** Remote credit rejected; source debit reversed */
+    COMPENSATED
+}
@@ -0,0 +1,33 @@
+package com.banking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Exchange rate of one currency, as the value of one unit in a common reference unit
+ * (the reference currency itself has rate 1). All rows together form the rate set
+ * loaded into the FX rate snapshot; its version is the highest row version.
+ */
+@Entity
+@Table(name = "fx_rates")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FxRate {
+
+    /** ISO 4217 currency code */
+    @Id
+    @Column(length = 3)
+    private String currency;
+
+    @Column(name = "rate", nullable = false, precision = 24, scale = 10)
+    private BigDecimal rate;
+
+    /** Version of the rate set that last changed this rate; set it above every other row's when publishing */
+    @Column(nullable = false)
+    private long version;
+}
@@ -0,0 +1,11 @@
+package com.banking.system.entity;
+
+/**
+ * Enum representing the lifecycle of an authorization hold.
+ */
+public enum HoldStatus {
+    ACTIVE,
+    CAPTURED,
+    VOIDED,
+    EXPIRED
+}
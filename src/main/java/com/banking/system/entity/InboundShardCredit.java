@@ -0,0 +1,32 @@
+package com.banking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency record for a cross-shard credit applied on the node owning the
+ * destination account. The primary key rejects a second application of the same transfer.
+ */
+@Entity
+@Table(name = "inbound_shard_credits")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InboundShardCredit {
+
+    @Id
+    @Column(name = "transfer_id", length = 36)
+    private String transferId;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,26 @@
+package com.banking.system.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Enum representing how often a scheduled payment mandate recurs.
+ */
+public enum MandateFrequency {
+    ONCE,
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    /**
+     * Computes the n-th occurrence (0-based) counted from the start time.
+     * Monthly occurrences are anchored on the start date so the day of month does not drift.
+     */
+    public LocalDateTime occurrence(LocalDateTime startAt, int index) {
+        return switch (this) {
+            case ONCE -> startAt;
+            case DAILY -> startAt.plusDays(index);
+            case WEEKLY -> startAt.plusWeeks(index);
+            case MONTHLY -> startAt.plusMonths(index);
+        };
+    }
+}
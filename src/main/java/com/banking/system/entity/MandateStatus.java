@@ -0,0 +1,11 @@
+package com.banking.system.entity;
+
+/**
+ * Enum representing the lifecycle status of a scheduled payment mandate.
+ */
+public enum MandateStatus {
+    ACTIVE,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
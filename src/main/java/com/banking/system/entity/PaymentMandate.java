@@ -0,0 +1,80 @@
+package com.banking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * PaymentMandate entity representing a future-dated or recurring transfer.
+ * The scheduler keeps only (id, nextExecutionAt) in memory; this row is the source of truth.
+ */
+@Entity
+@Table(name = "payment_mandates",
+        indexes = @Index(name = "idx_mandates_status_id", columnList = "status, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentMandate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "from_account_number", nullable = false)
+    private String fromAccountNumber;
+
+    @Column(name = "to_account_number", nullable = false)
+    private String toAccountNumber;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MandateFrequency frequency;
+
+    /** Time of the first occurrence; later occurrences are computed from it */
+    @Column(name = "start_at", nullable = false)
+    private LocalDateTime startAt;
+
+    /** Optional time after which no further occurrences are executed */
+    @Column(name = "end_at")
+    private LocalDateTime endAt;
+
+    /** 0-based index of the next occurrence to execute */
+    @Column(name = "occurrence_index", nullable = false)
+    @Builder.Default
+    private int occurrenceIndex = 0;
+
+    @Column(name = "next_execution_at")
+    private LocalDateTime nextExecutionAt;
+
+    /** Failed attempts for the current occurrence */
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private MandateStatus status = MandateStatus.ACTIVE;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    /** Optimistic lock, so a stale copy can never overwrite a cancel or an executed occurrence */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
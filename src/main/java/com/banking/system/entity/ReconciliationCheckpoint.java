@@ -0,0 +1,45 @@
+package com.banking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of one completed reconciliation run. The highest
+ * {@code lastTransactionId} is where the next incremental run starts.
+ */
+@Entity
+@Table(name = "reconciliation_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconciliationCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "last_transaction_id", nullable = false)
+    private Long lastTransactionId;
+
+    @Column(name = "transactions_processed", nullable = false)
+    private long transactionsProcessed;
+
+    @Column(name = "accounts_checked", nullable = false)
+    private long accountsChecked;
+
+    @Column(name = "mismatch_count", nullable = false)
+    private long mismatchCount;
+
+    @Column(name = "full_run", nullable = false)
+    private boolean fullRun;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,58 @@
+package com.banking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A netting settlement cycle. Transfers between enrolled accounts are accepted into
+ * the open cycle as PENDING transactions and settled together when it closes.
+ */
+@Entity
+@Table(name = "settlement_cycles")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SettlementCycle {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private SettlementCycleStatus status = SettlementCycleStatus.OPEN;
+
+    /** Transfers settled by the cycle */
+    @Column(name = "transfer_count", nullable = false)
+    @Builder.Default
+    private int transferCount = 0;
+
+    /** Accounts whose balance changed at settlement */
+    @Column(name = "participant_count", nullable = false)
+    @Builder.Default
+    private int participantCount = 0;
+
+    /** Sum of all transfer amounts in the cycle */
+    @Column(name = "gross_amount", nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal grossAmount = BigDecimal.ZERO;
+
+    /** Sum of the positive net positions, i.e. the money that actually moved */
+    @Column(name = "net_amount", nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal netAmount = BigDecimal.ZERO;
+
+    @CreationTimestamp
+    @Column(name = "opened_at", updatable = false)
+    private LocalDateTime openedAt;
+
+    @Column(name = "settled_at")
+    private LocalDateTime settledAt;
+}
@@ -0,0 +1,12 @@
+package com.banking.system.entity;
+
+/**
+ * Enum representing the lifecycle of a netting settlement cycle.
+ * A cycle accepts transfers while OPEN, stops accepting when CLOSED, and becomes
+ * SETTLED once its net positions have been applied to the account balances.
+ */
+public enum SettlementCycleStatus {
+    OPEN,
+    CLOSED,
+    SETTLED
+}
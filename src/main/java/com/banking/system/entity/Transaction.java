@@ -3,6 +3,7 @@ package com.banking.system.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Formula;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -12,7 +13,14 @@ import java.time.LocalDateTime;
  * Captures source/destination accounts, amount, type, and status.
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_tx_settlement_cycle", columnList = "settlement_cycle_id, status"),
+        // Transaction search: an equality prefix, then the (timestamp, id) keyset order
+        @Index(name = "idx_tx_from_account_time", columnList = "from_account_id, timestamp, id"),
+        @Index(name = "idx_tx_to_account_time", columnList = "to_account_id, timestamp, id"),
+        @Index(name = "idx_tx_counterparty_time", columnList = "counterparty_account_number, timestamp, id"),
+        @Index(name = "idx_tx_type_status_time", columnList = "type, status, timestamp, id"),
+        @Index(name = "idx_tx_time", columnList = "timestamp, id")})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -34,9 +42,26 @@ public class Transaction {
     @JoinColumn(name = "to_account_id")
     private Account toAccount;
 
+    /** Account number on another shard for cross-shard transfers (the side not held locally) */
+    @Column(name = "counterparty_account_number")
+    private String counterpartyAccountNumber;
+
+    /** Amount in the currency of the source account (of the destination when there is none) */
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal amount;
 
+    /** Amount credited in the destination account's currency (null unless the transfer was converted) */
+    @Column(name = "credited_amount", precision = 19, scale = 2)
+    private BigDecimal creditedAmount;
+
+    /** Source-to-destination exchange rate applied to a converted transfer */
+    @Column(name = "fx_rate", precision = 24, scale = 10)
+    private BigDecimal fxRate;
+
+    /** Version of the FX rate snapshot the rate was taken from, for audit */
+    @Column(name = "fx_rate_version")
+    private Long fxRateVersion;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private TransactionType type;
@@ -45,7 +70,28 @@ public class Transaction {
     @Column(nullable = false)
     private TransactionStatus status;
 
+    /** Reason a FAILED transaction was declined (null for successful ones) */
+    @Column(name = "failure_reason")
+    private String failureReason;
+
+    /** Settlement cycle of a netted transfer (null for transfers settled immediately) */
+    @Column(name = "settlement_cycle_id")
+    private Long settlementCycleId;
+
+    /** Status of the netted transfer's settlement cycle, read with the row (null for other transactions) */
+    @Formula("(SELECT c.status FROM settlement_cycles c WHERE c.id = settlement_cycle_id)")
+    private String settlementCycleStatus;
+
     @CreationTimestamp
     @Column(name = "timestamp", updatable = false)
     private LocalDateTime timestamp;
+
+    /**
+     * Status as reported to clients. A netted transfer keeps its stored PENDING status
+     * and counts as SUCCESS once its settlement cycle has settled.
+     */
+    public TransactionStatus getEffectiveStatus() {
+        return status == TransactionStatus.PENDING && SettlementCycleStatus.SETTLED.name().equals(settlementCycleStatus)
+                ? TransactionStatus.SUCCESS : status;
+    }
 }
@@ -2,8 +2,16 @@ package com.banking.system.entity;
 
 /**
  * Enum representing the outcome status of a transaction.
+ * RESERVED and REVERSED apply only to cross-shard transfers: the debit has been
+ * applied and is awaiting the remote credit, or was undone by a separate reversal entry.
+ * PENDING applies only to netted transfers accepted into a settlement cycle: neither
+ * balance has moved yet. The stored status stays PENDING; the transfer is reported as
+ * SUCCESS once its cycle is SETTLED (see {@link Transaction#getEffectiveStatus()}).
  */
 public enum TransactionStatus {
     SUCCESS,
-    FAILED
+    FAILED,
+    RESERVED,
+    REVERSED,
+    PENDING
 }
@@ -6,5 +6,10 @@ package com.banking.system.entity;
 public enum TransactionType {
     DEPOSIT,
     WITHDRAW,
-    TRANSFER
+    TRANSFER,
+    CAPTURE,
+    /** Interest credited by the accrual batch job */
+    INTEREST,
+    /** Maintenance fee debited by the fee batch job */
+    FEE
 }
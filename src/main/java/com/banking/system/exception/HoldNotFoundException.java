@@ -0,0 +1,11 @@
+package com.banking.system.exception;
+
+/**
+ * Thrown when the requested authorization hold does not exist.
+ */
+public class HoldNotFoundException extends RuntimeException {
+
+    public HoldNotFoundException(Long holdId) {
+        super(String.format("Authorization hold not found with id: %d", holdId));
+    }
+}
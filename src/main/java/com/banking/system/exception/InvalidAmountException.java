@@ -0,0 +1,14 @@
+package com.banking.system.exception;
+
+import java.math.BigDecimal;
+
+/**
+ * Thrown when an amount has more decimal places than the minor unit of the account's
+ * currency allows, such as 100.50 on a JPY account.
+ */
+public class InvalidAmountException extends RuntimeException {
+
+    public InvalidAmountException(BigDecimal amount, String currency) {
+        super("Amount " + amount.toPlainString() + " has more decimal places than " + currency + " allows");
+    }
+}
@@ -0,0 +1,11 @@
+package com.banking.system.exception;
+
+/**
+ * Thrown when transaction search parameters are inconsistent or the cursor cannot be read.
+ */
+public class InvalidSearchCriteriaException extends RuntimeException {
+
+    public InvalidSearchCriteriaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.banking.system.exception;
+
+/**
+ * Thrown when the requested scheduled payment mandate does not exist.
+ */
+public class MandateNotFoundException extends RuntimeException {
+
+    public MandateNotFoundException(Long mandateId) {
+        super(String.format("Scheduled payment not found with id: %d", mandateId));
+    }
+}
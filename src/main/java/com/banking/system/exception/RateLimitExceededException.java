@@ -0,0 +1,19 @@
+package com.banking.system.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a client or account exceeds its request rate limit.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    /** Seconds the caller should wait before retrying */
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        // No stack trace: rejections are frequent under flood and the trace carries no information
+        super(String.format("Rate limit exceeded. Retry after %d second(s)", retryAfterSeconds), null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
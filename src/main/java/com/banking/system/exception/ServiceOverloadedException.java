@@ -0,0 +1,13 @@
+package com.banking.system.exception;
+
+/**
+ * Thrown when a request is shed because the adaptive concurrency limit is reached.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String budget) {
+        // No stack trace: shedding must stay cheap under overload
+        super(String.format("Service overloaded (%s concurrency limit reached). Please retry", budget),
+                null, false, false);
+    }
+}
@@ -0,0 +1,11 @@
+package com.banking.system.exception;
+
+/**
+ * Thrown when a node-to-node call does not carry the configured internal token.
+ */
+public class ShardAccessDeniedException extends RuntimeException {
+
+    public ShardAccessDeniedException() {
+        super("Invalid or missing internal shard token");
+    }
+}
@@ -0,0 +1,11 @@
+package com.banking.system.exception;
+
+/**
+ * Thrown when a currency has no rate in the current FX rate snapshot.
+ */
+public class UnsupportedCurrencyException extends RuntimeException {
+
+    public UnsupportedCurrencyException(String currency) {
+        super("Unsupported currency: " + currency);
+    }
+}
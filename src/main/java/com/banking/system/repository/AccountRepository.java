@@ -1,9 +1,15 @@
 package com.banking.system.repository;
 
 import com.banking.system.entity.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 /**
@@ -15,6 +21,24 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     /** Find an account by its unique account number */
     Optional<Account> findByAccountNumber(String accountNumber);
 
+    /** ID of the account with the given number, without loading (and caching) the entity */
+    @Query("SELECT a.id FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Loads an account with a row lock held until the transaction ends. Every
+     * read-check-write of a balance goes through this, so concurrent debits, holds and
+     * credits of one account are serialized and none is lost.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findForUpdate(@Param("id") Long id);
+
     /** Check if an account number already exists */
     boolean existsByAccountNumber(String accountNumber);
+
+    /** Adds a (possibly negative) delta to a balance in a single UPDATE, without reading the row first */
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :delta WHERE a.id = :id")
+    int adjustBalance(@Param("id") Long id, @Param("delta") BigDecimal delta);
 }
@@ -0,0 +1,34 @@
+package com.banking.system.repository;
+
+import com.banking.system.entity.AuthorizationHold;
+import com.banking.system.entity.HoldStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for AuthorizationHold entity CRUD operations.
+ */
+@Repository
+public interface AuthorizationHoldRepository extends JpaRepository<AuthorizationHold, Long> {
+
+    /** Loads a hold with a row lock so capture, void and expiry cannot race */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM AuthorizationHold h WHERE h.id = :id")
+    AuthorizationHold findForUpdate(@Param("id") Long id);
+
+    /** Loads several holds with row locks, for the expiry sweep */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM AuthorizationHold h WHERE h.id IN :ids")
+    List<AuthorizationHold> findAllForUpdate(@Param("ids") Collection<Long> ids);
+
+    /** (id, account id, amount, expires at) of every hold in the given status, without loading accounts */
+    @Query("SELECT h.id, h.account.id, h.amount, h.expiresAt FROM AuthorizationHold h WHERE h.status = :status")
+    List<Object[]> findSummariesByStatus(@Param("status") HoldStatus status);
+}
@@ -0,0 +1,25 @@
+package com.banking.system.repository;
+
+import com.banking.system.entity.BatchJobChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for BatchJobChunk checkpoints.
+ */
+@Repository
+public interface BatchJobChunkRepository extends JpaRepository<BatchJobChunk, Long> {
+
+    /** Lower bounds of the chunks already applied by a run */
+    @Query("SELECT c.chunkStartId FROM BatchJobChunk c WHERE c.runId = :runId")
+    List<Long> findChunkStartIds(@Param("runId") Long runId);
+
+    /** Accounts, transactions and amount over all applied chunks of a run */
+    @Query("SELECT COALESCE(SUM(c.accountsProcessed), 0), COALESCE(SUM(c.transactionsCreated), 0), " +
+            "COALESCE(SUM(c.amount), 0) FROM BatchJobChunk c WHERE c.runId = :runId")
+    List<Object[]> sumTotals(@Param("runId") Long runId);
+}
@@ -0,0 +1,17 @@
+package com.banking.system.repository;
+
+import com.banking.system.entity.BatchJobRun;
+import com.banking.system.entity.BatchJobType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for BatchJobRun entity CRUD operations.
+ */
+@Repository
+public interface BatchJobRunRepository extends JpaRepository<BatchJobRun, Long> {
+
+    Optional<BatchJobRun> findByJobTypeAndRunKey(BatchJobType jobType, String runKey);
+}
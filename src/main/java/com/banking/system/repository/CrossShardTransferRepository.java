@@ -0,0 +1,30 @@
+package com.banking.system.repository;
+
+import com.banking.system.entity.CrossShardTransfer;
+import com.banking.system.entity.CrossShardTransferState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for CrossShardTransfer entity CRUD operations.
+ */
+@Repository
+public interface CrossShardTransferRepository extends JpaRepository<CrossShardTransfer, String> {
+
+    /** Loads a transfer with a row lock so confirm and compensate cannot race */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM CrossShardTransfer t WHERE t.transferId = :transferId")
+    CrossShardTransfer findForUpdate(@Param("transferId") String transferId);
+
+    /** Transfers stuck in the given state since before the cut-off, oldest first */
+    List<CrossShardTransfer> findByStateAndUpdatedAtBeforeOrderByUpdatedAtAsc(
+            CrossShardTransferState state, LocalDateTime cutoff, Pageable pageable);
+}
@@ -0,0 +1,12 @@
+package com.banking.system.repository;
+
+import com.banking.system.entity.FxRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for FxRate entity CRUD operations.
+ */
+@Repository
+public interface FxRateRepository extends JpaRepository<FxRate, String> {
+}
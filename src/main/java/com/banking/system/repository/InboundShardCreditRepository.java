@@ -0,0 +1,12 @@
+package com.banking.system.repository;
+
+import com.banking.system.entity.InboundShardCredit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for InboundShardCredit entity CRUD operations.
+ */
+@Repository
+public interface InboundShardCreditRepository extends JpaRepository<InboundShardCredit, String> {
+}
@@ -0,0 +1,49 @@
+package com.banking.system.repository;
+
+import com.banking.system.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for OutboxEvent entity CRUD operations.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /** Next page of events after the given event ID, in ID order */
+    List<OutboxEvent> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /** Events for any of the given accounts, or for none (settled cycles), in the half-open ID range (afterId, upToId] */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > :afterId AND e.id <= :upToId " +
+            "AND (e.fromAccountId IN :accountIds OR e.toAccountId IN :accountIds " +
+            "OR (e.fromAccountId IS NULL AND e.toAccountId IS NULL)) ORDER BY e.id")
+    List<OutboxEvent> findForAccountsBetween(@Param("accountIds") Collection<Long> accountIds,
+                                             @Param("afterId") Long afterId,
+                                             @Param("upToId") Long upToId,
+                                             Pageable pageable);
+
+    /** All events in the half-open ID range (afterId, upToId] */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > :afterId AND e.id <= :upToId ORDER BY e.id")
+    List<OutboxEvent> findBetween(@Param("afterId") Long afterId,
+                                  @Param("upToId") Long upToId,
+                                  Pageable pageable);
+
+    /** Highest event ID written so far, or null if the outbox is empty */
+    @Query("SELECT MAX(e.id) FROM OutboxEvent e")
+    Long findMaxId();
+
+    /** Deletes events older than the retention cut-off */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
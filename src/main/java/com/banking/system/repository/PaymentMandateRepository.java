@@ -0,0 +1,36 @@
+package com.banking.system.repository;
+
+import com.banking.system.entity.MandateStatus;
+import com.banking.system.entity.PaymentMandate;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for PaymentMandate entity CRUD operations.
+ */
+@Repository
+public interface PaymentMandateRepository extends JpaRepository<PaymentMandate, Long> {
+
+    /** Loads a mandate with a row lock so an occurrence and a cancel cannot race */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM PaymentMandate m WHERE m.id = :id")
+    PaymentMandate findForUpdate(@Param("id") Long id);
+
+    /**
+     * Keyset page of (id, nextExecutionAt) pairs for mandates in the given status.
+     * Used to rebuild the in-memory timing wheel without loading full entities.
+     */
+    @Query("SELECT m.id, m.nextExecutionAt FROM PaymentMandate m " +
+            "WHERE m.status = :status AND m.id > :afterId ORDER BY m.id")
+    List<Object[]> findDueTimesAfter(@Param("status") MandateStatus status,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+}
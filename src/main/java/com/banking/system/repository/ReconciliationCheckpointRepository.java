@@ -0,0 +1,17 @@
+package com.banking.system.repository;
+
+import com.banking.system.entity.ReconciliationCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for ReconciliationCheckpoint entity CRUD operations.
+ */
+@Repository
+public interface ReconciliationCheckpointRepository extends JpaRepository<ReconciliationCheckpoint, Long> {
+
+    /** The most recent completed run */
+    Optional<ReconciliationCheckpoint> findTopByOrderByIdDesc();
+}
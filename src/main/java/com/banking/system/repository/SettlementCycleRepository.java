@@ -0,0 +1,19 @@
+package com.banking.system.repository;
+
+import com.banking.system.entity.SettlementCycle;
+import com.banking.system.entity.SettlementCycleStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for SettlementCycle entity CRUD operations.
+ */
+@Repository
+public interface SettlementCycleRepository extends JpaRepository<SettlementCycle, Long> {
+
+    /** Cycles not yet settled, oldest first; used for recovery on startup */
+    List<SettlementCycle> findByStatusInOrderByIdAsc(Collection<SettlementCycleStatus> statuses);
+}
@@ -1,6 +1,7 @@
 package com.banking.system.repository;
 
 import com.banking.system.entity.Transaction;
+import com.banking.system.entity.TransactionStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,8 +17,13 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     /**
      * Find all transactions where the given account is either the sender or receiver.
-     * Results are ordered by timestamp descending (most recent first).
+     * Results are ordered by timestamp descending (most recent first). Both accounts are
+     * fetched in the same query, so mapping the account numbers needs no further selects.
      */
-    @Query("SELECT t FROM Transaction t WHERE t.fromAccount.id = :accountId OR t.toAccount.id = :accountId ORDER BY t.timestamp DESC")
+    @Query("SELECT t FROM Transaction t LEFT JOIN FETCH t.fromAccount f LEFT JOIN FETCH t.toAccount a " +
+            "WHERE f.id = :accountId OR a.id = :accountId ORDER BY t.timestamp DESC")
     List<Transaction> findByAccountId(@Param("accountId") Long accountId);
+
+    /** Transfers of a settlement cycle in the given status, oldest first */
+    List<Transaction> findBySettlementCycleIdAndStatusOrderByIdAsc(Long settlementCycleId, TransactionStatus status);
 }
@@ -1,21 +1,42 @@
 package com.banking.system.service;
 
 import com.banking.system.dto.*;
+import com.banking.system.dto.TransactionResult.DeclineReason;
 import com.banking.system.entity.*;
 import com.banking.system.exception.AccountNotFoundException;
-import com.banking.system.exception.InsufficientBalanceException;
+import com.banking.system.exception.InvalidAmountException;
+import com.banking.system.exception.UnsupportedCurrencyException;
 import com.banking.system.repository.AccountRepository;
 import com.banking.system.repository.TransactionRepository;
+import com.banking.system.service.events.OutboxService;
+import com.banking.system.service.fx.FxRateSnapshot;
+import com.banking.system.service.fx.FxRateStore;
+import com.banking.system.service.hold.HoldIndex;
+import com.banking.system.service.index.AccountIndex;
+import com.banking.system.service.ledger.FailedTransactionWriter;
+import com.banking.system.service.netting.NettingService;
+import com.banking.system.service.shard.CrossShardTransferService;
+import com.banking.system.service.shard.ShardRouter;
+import com.banking.system.service.sqlbudget.SqlBudget;
+import com.banking.system.service.velocity.VelocityCheckService;
+import com.banking.system.util.MoneyUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
  * Service layer for account-related operations: creation, deposit, withdrawal, transfer.
- * All monetary operations are wrapped in @Transactional to guarantee atomicity.
+ * All monetary operations are wrapped in @Transactional to guarantee atomicity, and
+ * lock the rows of the accounts whose balances they change, so the available-balance
+ * check and the write of a debit cannot interleave with another debit or hold.
+ *
+ * <p>Amounts are in the currency of the account they debit or, for deposits, credit, and
+ * may not be finer than its minor unit. Velocity limits are set in the default currency,
+ * so debits are converted at the current rate before they are checked.
  */
 @Service
 @RequiredArgsConstructor
@@ -24,6 +45,18 @@ public class AccountService {
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
     private final UserService userService;
+    private final VelocityCheckService velocityCheckService;
+    private final OutboxService outboxService;
+    private final ShardRouter shardRouter;
+    private final CrossShardTransferService crossShardTransferService;
+    private final FailedTransactionWriter failedTransactionWriter;
+    private final HoldIndex holdIndex;
+    private final NettingService nettingService;
+    private final AccountIndex accountIndex;
+    private final FxRateStore fxRateStore;
+
+    /** Failure reason recorded when the debited account lacks funds */
+    private static final String INSUFFICIENT_BALANCE = "Insufficient balance";
 
     // ==================== Account Creation ====================
 
@@ -31,11 +64,17 @@ public class AccountService {
      * Creates a new bank account for an existing user.
      * Generates a unique 10-digit account number.
      *
-     * @param request the account creation request containing the user ID
+     * @param request the account creation request containing the user ID and optional currency
      * @return the newly created account details
+     * @throws UnsupportedCurrencyException if the currency has no FX rate
      */
+    @SqlBudget(statements = 3, roundTrips = 4)
     @Transactional
     public AccountResponse createAccount(AccountRequest request) {
+        String currency = request.getCurrency() != null ? request.getCurrency() : fxRateStore.defaultCurrency();
+        if (!currency.equals(fxRateStore.defaultCurrency()) && !fxRateStore.current().supports(currency)) {
+            throw new UnsupportedCurrencyException(currency);
+        }
         User user = userService.getUserById(request.getUserId());
 
         String accountNumber = generateUniqueAccountNumber();
@@ -43,6 +82,7 @@ public class AccountService {
         Account account = Account.builder()
                 .accountNumber(accountNumber)
                 .balance(BigDecimal.ZERO)
+                .currency(currency)
                 .user(user)
                 .build();
 
@@ -58,10 +98,13 @@ public class AccountService {
      *
      * @param request the deposit request
      * @return the transaction details
+     * @throws InvalidAmountException if the amount is finer than the account currency's minor unit
      */
+    @SqlBudget(statements = 5, roundTrips = 6)
     @Transactional
     public TransactionResponse deposit(DepositRequest request) {
-        Account account = findAccountByNumber(request.getAccountNumber());
+        Account account = lockAccountByNumber(request.getAccountNumber());
+        requireMinorUnit(request.getAmount(), account);
 
         // Credit the account
         account.setBalance(account.getBalance().add(request.getAmount()));
@@ -75,37 +118,43 @@ public class AccountService {
                 .status(TransactionStatus.SUCCESS)
                 .build();
 
-        Transaction saved = transactionRepository.save(transaction);
+        Transaction saved = recordTransaction(transaction);
         return mapToTransactionResponse(saved);
     }
 
     // ==================== Withdrawal ====================
 
     /**
-     * Withdraws money from an account after validating sufficient balance.
-     * Records a FAILED transaction if balance is insufficient.
+     * Withdraws money from an account after validating velocity limits and sufficient
+     * available balance (balance minus active authorization holds).
+     * A rejected withdrawal is returned as a declined result; its FAILED transaction is
+     * recorded by {@link FailedTransactionWriter}.
      *
      * @param request the withdrawal request
-     * @return the transaction details
-     * @throws InsufficientBalanceException if the account lacks sufficient funds
+     * @return the transaction details, or the decline
+     * @throws InvalidAmountException if the amount is finer than the account currency's minor unit
      */
+    @SqlBudget(statements = 5, roundTrips = 6)
     @Transactional
-    public TransactionResponse withdraw(WithdrawRequest request) {
-        Account account = findAccountByNumber(request.getAccountNumber());
-
-        // Validate sufficient balance
-        if (account.getBalance().compareTo(request.getAmount()) < 0) {
-            // Record the failed transaction
-            Transaction failedTx = Transaction.builder()
-                    .fromAccount(account)
-                    .amount(request.getAmount())
-                    .type(TransactionType.WITHDRAW)
-                    .status(TransactionStatus.FAILED)
-                    .build();
-            transactionRepository.save(failedTx);
+    public TransactionResult withdraw(WithdrawRequest request) {
+        Account account = lockAccountByNumber(request.getAccountNumber());
+        requireMinorUnit(request.getAmount(), account);
+
+        // Reserve the debit against the velocity limits before touching the balance
+        VelocityCheckService.Reservation velocity = velocityCheckService.reserve(request.getAccountNumber(), null,
+                fxRateStore.toDefaultCurrency(request.getAmount(), account.getCurrency()));
+        if (velocity.isRejected()) {
+            return decline(account, null, null, request.getAmount(), TransactionType.WITHDRAW,
+                    DeclineReason.VELOCITY_LIMIT, velocity.getRejection(), velocity.getRejection());
+        }
 
-            throw new InsufficientBalanceException(
-                    request.getAccountNumber(), request.getAmount(), account.getBalance());
+        // Validate sufficient available balance (balance minus active holds)
+        BigDecimal available = availableBalance(account);
+        if (available.compareTo(request.getAmount()) < 0) {
+            velocityCheckService.release(velocity);
+            return decline(account, null, null, request.getAmount(), TransactionType.WITHDRAW,
+                    DeclineReason.INSUFFICIENT_BALANCE, INSUFFICIENT_BALANCE,
+                    insufficientBalanceMessage(request.getAccountNumber(), request.getAmount(), available));
         }
 
         // Debit the account
@@ -120,52 +169,119 @@ public class AccountService {
                 .status(TransactionStatus.SUCCESS)
                 .build();
 
-        Transaction saved = transactionRepository.save(transaction);
-        return mapToTransactionResponse(saved);
+        Transaction saved = recordTransaction(transaction);
+        return TransactionResult.accepted(mapToTransactionResponse(saved));
     }
 
     // ==================== Transfer ====================
 
     /**
      * Transfers money between two accounts atomically.
-     * Validates both accounts exist and the source has sufficient funds.
+     * Validates both accounts exist, the transfer is within the source account's
+     * velocity limits, and the source has sufficient funds; a rejected transfer is
+     * returned as a declined result rather than thrown.
      * The entire operation is wrapped in a single transaction for atomicity.
      *
+     * <p>If both accounts are enrolled in netting, the transfer is accepted as PENDING into
+     * the open settlement cycle and neither balance moves until {@link NettingService}
+     * settles the cycle.
+     *
+     * <p>If the destination account is owned by another shard, only the debit is applied
+     * here and recorded as RESERVED; the remote credit is settled after commit by
+     * {@link CrossShardTransferService}, which confirms or compensates the reservation.
+     *
      * @param request the transfer request
-     * @return the transaction details
-     * @throws AccountNotFoundException   if either account does not exist
-     * @throws InsufficientBalanceException if the source account lacks funds
-     * @throws IllegalArgumentException    if source and destination are the same
+     * @return the transaction details, or the decline
+     * @throws AccountNotFoundException if either account does not exist
+     * @throws IllegalArgumentException if source and destination are the same
+     * @throws InvalidAmountException if the amount is finer than the source currency's minor unit
      */
+    @SqlBudget(statements = 8, roundTrips = 9)
     @Transactional
-    public TransactionResponse transfer(TransferRequest request) {
+    public TransactionResult transfer(TransferRequest request) {
         // Prevent self-transfer
         if (request.getFromAccountNumber().equals(request.getToAccountNumber())) {
             throw new IllegalArgumentException("Cannot transfer to the same account");
         }
 
-        Account fromAccount = findAccountByNumber(request.getFromAccountNumber());
-        Account toAccount = findAccountByNumber(request.getToAccountNumber());
+        boolean crossShard = !shardRouter.isLocal(request.getToAccountNumber());
+        Long fromId = resolveAccountId(request.getFromAccountNumber());
+        Long toId = crossShard ? null : resolveAccountId(request.getToAccountNumber());
+        // Lock both rows in ID order, so opposing transfers between two accounts cannot deadlock
+        Account fromAccount;
+        Account toAccount = null;
+        if (toId != null && toId < fromId) {
+            toAccount = lockAccount(request.getToAccountNumber(), toId);
+            fromAccount = lockAccount(request.getFromAccountNumber(), fromId);
+        } else {
+            fromAccount = lockAccount(request.getFromAccountNumber(), fromId);
+            if (toId != null) {
+                toAccount = lockAccount(request.getToAccountNumber(), toId);
+            }
+        }
+        String counterparty = crossShard ? request.getToAccountNumber() : null;
+        requireMinorUnit(request.getAmount(), fromAccount);
+
+        // Reserve the debit against the velocity limits before touching either balance
+        VelocityCheckService.Reservation velocity = velocityCheckService.reserve(
+                request.getFromAccountNumber(), request.getToAccountNumber(),
+                fxRateStore.toDefaultCurrency(request.getAmount(), fromAccount.getCurrency()));
+        if (velocity.isRejected()) {
+            return decline(fromAccount, toAccount, counterparty, request.getAmount(), TransactionType.TRANSFER,
+                    DeclineReason.VELOCITY_LIMIT, velocity.getRejection(), velocity.getRejection());
+        }
+
+        // Cross-currency transfers are converted at the rate in effect now, read from memory
+        FxRateSnapshot rates = null;
+        BigDecimal fxRate = null;
+        BigDecimal credited = request.getAmount();
+        if (toAccount != null && !fromAccount.getCurrency().equals(toAccount.getCurrency())) {
+            rates = fxRateStore.current();
+            fxRate = rates.rate(fromAccount.getCurrency(), toAccount.getCurrency());
+            credited = FxRateSnapshot.convert(request.getAmount(), fxRate, toAccount.getCurrency());
+        }
+
+        // Transfers between netting participants are accepted into the open settlement cycle
+        if (toAccount != null && nettingService.isNetted(fromAccount, toAccount)) {
+            Transaction pending = nettingService.accept(fromAccount, toAccount, request.getAmount());
+            if (pending == null) {
+                velocityCheckService.release(velocity);
+                return decline(fromAccount, toAccount, null, request.getAmount(), TransactionType.TRANSFER,
+                        DeclineReason.INSUFFICIENT_BALANCE, INSUFFICIENT_BALANCE,
+                        insufficientBalanceMessage(request.getFromAccountNumber(), request.getAmount(),
+                                availableBalance(fromAccount)));
+            }
+            return TransactionResult.accepted(mapToTransactionResponse(pending));
+        }
+
+        // Validate sufficient available balance in source account
+        BigDecimal available = availableBalance(fromAccount);
+        if (available.compareTo(request.getAmount()) < 0) {
+            velocityCheckService.release(velocity);
+            return decline(fromAccount, toAccount, counterparty, request.getAmount(), TransactionType.TRANSFER,
+                    DeclineReason.INSUFFICIENT_BALANCE, INSUFFICIENT_BALANCE,
+                    insufficientBalanceMessage(request.getFromAccountNumber(), request.getAmount(), available));
+        }
+
+        if (crossShard) {
+            // Reserve: debit locally and hand the credit to the owning shard after commit
+            fromAccount.setBalance(fromAccount.getBalance().subtract(request.getAmount()));
+            accountRepository.save(fromAccount);
 
-        // Validate sufficient balance in source account
-        if (fromAccount.getBalance().compareTo(request.getAmount()) < 0) {
-            // Record the failed transaction
-            Transaction failedTx = Transaction.builder()
+            Transaction reserved = recordTransaction(Transaction.builder()
                     .fromAccount(fromAccount)
-                    .toAccount(toAccount)
+                    .counterpartyAccountNumber(counterparty)
                     .amount(request.getAmount())
                     .type(TransactionType.TRANSFER)
-                    .status(TransactionStatus.FAILED)
-                    .build();
-            transactionRepository.save(failedTx);
-
-            throw new InsufficientBalanceException(
-                    request.getFromAccountNumber(), request.getAmount(), fromAccount.getBalance());
+                    .status(TransactionStatus.RESERVED)
+                    .build());
+            crossShardTransferService.register(reserved, request);
+            return TransactionResult.accepted(mapToTransactionResponse(reserved));
         }
 
         // Debit source account and credit destination account
         fromAccount.setBalance(fromAccount.getBalance().subtract(request.getAmount()));
-        toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
+        toAccount.setBalance(toAccount.getBalance().add(credited));
 
         accountRepository.save(fromAccount);
         accountRepository.save(toAccount);
@@ -175,42 +291,187 @@ public class AccountService {
                 .fromAccount(fromAccount)
                 .toAccount(toAccount)
                 .amount(request.getAmount())
+                .creditedAmount(rates != null ? credited : null)
+                .fxRate(fxRate)
+                .fxRateVersion(rates != null ? rates.version() : null)
                 .type(TransactionType.TRANSFER)
                 .status(TransactionStatus.SUCCESS)
                 .build();
 
-        Transaction saved = transactionRepository.save(transaction);
-        return mapToTransactionResponse(saved);
+        Transaction saved = recordTransaction(transaction);
+        return TransactionResult.accepted(mapToTransactionResponse(saved));
+    }
+
+    // ==================== Balance ====================
+
+    /**
+     * Returns an account's balance from the account index when it is cached; otherwise
+     * reads it from the database and caches it, unless the account changed meanwhile.
+     *
+     * @param accountNumber the account number
+     * @return the balance, available balance and cache version
+     */
+    @SqlBudget(statements = 1, roundTrips = 2)
+    public AccountBalanceResponse getBalance(String accountNumber) {
+        AccountIndex.CachedBalance cached = accountIndex.cachedBalance(accountNumber);
+        if (cached != null && cached.balance() != null) {
+            return mapToBalanceResponse(accountNumber, cached.accountId(), cached.currency(), cached.balance(),
+                    cached.version(), true);
+        }
+        // The version is taken before the read, so a write committed in between wins over the fill
+        Account account = cached != null
+                ? accountRepository.findById(cached.accountId())
+                        .orElseThrow(() -> new AccountNotFoundException("accountNumber", accountNumber))
+                : findAccountByNumber(accountNumber);
+        Long version = cached != null ? cached.version() : null;
+        if (version != null) {
+            accountIndex.fill(accountNumber, version, account.getBalance());
+        }
+        return mapToBalanceResponse(accountNumber, account.getId(), account.getCurrency(), account.getBalance(),
+                version, false);
     }
 
     // ==================== Helpers ====================
 
+    /**
+     * Ledger balance minus active authorization holds and pending netting debits,
+     * both read from memory.
+     */
+    private BigDecimal availableBalance(Account account) {
+        return availableBalance(account.getId(), account.getBalance());
+    }
+
+    private BigDecimal availableBalance(Long accountId, BigDecimal balance) {
+        return balance
+                .subtract(holdIndex.heldAmount(accountId))
+                .add(nettingService.pendingNetDebit(accountId));
+    }
+
+    /**
+     * Hands a declined operation to the failure ledger and builds the declined result.
+     * The FAILED transaction is normally written after this request returns, so the
+     * response carries no transaction ID.
+     */
+    private TransactionResult decline(Account from, Account to, String counterparty, BigDecimal amount,
+                                      TransactionType type, DeclineReason reason,
+                                      String failureReason, String message) {
+        failedTransactionWriter.submit(new FailedTransactionWriter.Entry(
+                from != null ? from.getId() : null,
+                to != null ? to.getId() : null,
+                counterparty, amount, type, failureReason));
+
+        TransactionResponse response = TransactionResponse.builder()
+                .fromAccountNumber(from != null ? from.getAccountNumber() : counterparty)
+                .toAccountNumber(to != null ? to.getAccountNumber() : counterparty)
+                .amount(amount)
+                .type(type)
+                .status(TransactionStatus.FAILED)
+                .failureReason(failureReason)
+                .timestamp(LocalDateTime.now())
+                .build();
+        return TransactionResult.declined(response, reason, message);
+    }
+
+    private static void requireMinorUnit(BigDecimal amount, Account account) {
+        if (!MoneyUtils.fitsMinorUnit(amount, account.getCurrency())) {
+            throw new InvalidAmountException(amount, account.getCurrency());
+        }
+    }
+
+    private static String insufficientBalanceMessage(String accountNumber, BigDecimal requested,
+                                                     BigDecimal available) {
+        return String.format("Insufficient balance in account '%s'. Requested: %s, Available: %s",
+                accountNumber, requested, available);
+    }
+
+    /**
+     * Saves a transaction together with its outbox event in the current database transaction.
+     */
+    private Transaction recordTransaction(Transaction transaction) {
+        Transaction saved = transactionRepository.save(transaction);
+        outboxService.recordTransaction(saved);
+        return saved;
+    }
+
+    /** Resolves an account number and loads the account with a row lock */
+    private Account lockAccountByNumber(String accountNumber) {
+        return lockAccount(accountNumber, resolveAccountId(accountNumber));
+    }
+
+    /**
+     * Resolves an account number to its ID from the account index, falling back to an
+     * ID-only query so the entity is first loaded by the locking read.
+     */
+    private Long resolveAccountId(String accountNumber) {
+        Long accountId = accountIndex.accountIdOf(accountNumber);
+        if (accountId != null) {
+            return accountId;
+        }
+        return accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("accountNumber", accountNumber));
+    }
+
+    /** Loads an account with a row lock and adds it to the account index if it is not there yet */
+    private Account lockAccount(String accountNumber, Long accountId) {
+        Account account = accountRepository.findForUpdate(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("accountNumber", accountNumber));
+        if (accountIndex.accountIdOf(accountNumber) == null) {
+            accountIndex.register(accountNumber, account.getId(), account.getCurrency());
+        }
+        return account;
+    }
+
     /**
      * Finds an account by its account number or throws AccountNotFoundException.
+     * Indexed numbers resolve to a primary key lookup; others are looked up by number
+     * and added to the index.
      */
     private Account findAccountByNumber(String accountNumber) {
-        return accountRepository.findByAccountNumber(accountNumber)
+        Long accountId = accountIndex.accountIdOf(accountNumber);
+        if (accountId != null) {
+            return accountRepository.findById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException("accountNumber", accountNumber));
+        }
+        Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountNotFoundException("accountNumber", accountNumber));
+        accountIndex.register(accountNumber, account.getId(), account.getCurrency());
+        return account;
     }
 
     /**
      * Generates a unique 10-digit account number using UUID.
-     * Re-generates if a collision is detected (extremely unlikely).
+     * Re-generates if a collision is detected (extremely unlikely) or if the number
+     * hashes to another shard, so new accounts are always owned by this node.
      */
     private String generateUniqueAccountNumber() {
         String accountNumber;
         do {
             accountNumber = UUID.randomUUID().toString().replaceAll("[^0-9]", "").substring(0, 10);
-        } while (accountRepository.existsByAccountNumber(accountNumber));
+        } while (!shardRouter.isLocal(accountNumber) || accountRepository.existsByAccountNumber(accountNumber));
         return accountNumber;
     }
 
+    /** Builds an AccountBalanceResponse DTO */
+    private AccountBalanceResponse mapToBalanceResponse(String accountNumber, Long accountId, String currency,
+                                                        BigDecimal balance, Long version, boolean cached) {
+        return AccountBalanceResponse.builder()
+                .accountNumber(accountNumber)
+                .currency(currency)
+                .balance(balance)
+                .availableBalance(availableBalance(accountId, balance))
+                .version(version)
+                .cached(cached)
+                .build();
+    }
+
     /** Maps an Account entity to an AccountResponse DTO */
     private AccountResponse mapToResponse(Account account) {
         return AccountResponse.builder()
                 .id(account.getId())
                 .accountNumber(account.getAccountNumber())
+                .currency(account.getCurrency())
                 .balance(account.getBalance())
+                .availableBalance(availableBalance(account))
                 .userId(account.getUser().getId())
                 .userName(account.getUser().getName())
                 .build();
@@ -221,12 +482,16 @@ public class AccountService {
         return TransactionResponse.builder()
                 .id(transaction.getId())
                 .fromAccountNumber(transaction.getFromAccount() != null
-                        ? transaction.getFromAccount().getAccountNumber() : null)
+                        ? transaction.getFromAccount().getAccountNumber() : transaction.getCounterpartyAccountNumber())
                 .toAccountNumber(transaction.getToAccount() != null
-                        ? transaction.getToAccount().getAccountNumber() : null)
+                        ? transaction.getToAccount().getAccountNumber() : transaction.getCounterpartyAccountNumber())
                 .amount(transaction.getAmount())
+                .creditedAmount(transaction.getCreditedAmount())
+                .fxRate(transaction.getFxRate())
+                .fxRateVersion(transaction.getFxRateVersion())
                 .type(transaction.getType())
-                .status(transaction.getStatus())
+                .status(transaction.getEffectiveStatus())
+                .failureReason(transaction.getFailureReason())
                 .timestamp(transaction.getTimestamp())
                 .build();
     }
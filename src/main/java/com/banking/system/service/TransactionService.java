@@ -3,6 +3,7 @@ package com.banking.system.service;
 import com.banking.system.dto.TransactionResponse;
 import com.banking.system.entity.Transaction;
 import com.banking.system.repository.TransactionRepository;
+import com.banking.system.service.sqlbudget.SqlBudget;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +27,7 @@ public class TransactionService {
      * @param accountId the account ID
      * @return list of transaction details ordered by most recent first
      */
+    @SqlBudget(statements = 1, roundTrips = 2)
     @Transactional(readOnly = true)
     public List<TransactionResponse> getTransactionsByAccountId(Long accountId) {
         List<Transaction> transactions = transactionRepository.findByAccountId(accountId);
@@ -40,12 +42,16 @@ public class TransactionService {
         return TransactionResponse.builder()
                 .id(transaction.getId())
                 .fromAccountNumber(transaction.getFromAccount() != null
-                        ? transaction.getFromAccount().getAccountNumber() : null)
+                        ? transaction.getFromAccount().getAccountNumber() : transaction.getCounterpartyAccountNumber())
                 .toAccountNumber(transaction.getToAccount() != null
-                        ? transaction.getToAccount().getAccountNumber() : null)
+                        ? transaction.getToAccount().getAccountNumber() : transaction.getCounterpartyAccountNumber())
                 .amount(transaction.getAmount())
+                .creditedAmount(transaction.getCreditedAmount())
+                .fxRate(transaction.getFxRate())
+                .fxRateVersion(transaction.getFxRateVersion())
                 .type(transaction.getType())
-                .status(transaction.getStatus())
+                .status(transaction.getEffectiveStatus())
+                .failureReason(transaction.getFailureReason())
                 .timestamp(transaction.getTimestamp())
                 .build();
     }
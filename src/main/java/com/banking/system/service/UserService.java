@@ -5,6 +5,7 @@ import com.banking.system.dto.UserResponse;
 import com.banking.system.entity.User;
 import com.banking.system.exception.UserNotFoundException;
 import com.banking.system.repository.UserRepository;
+import com.banking.system.service.sqlbudget.SqlBudget;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +26,7 @@ public class UserService {
      * @return the newly created user's details
      * @throws IllegalArgumentException if the email is already registered
      */
+    @SqlBudget(statements = 2, roundTrips = 3)
     @Transactional
     public UserResponse createUser(UserRequest request) {
         // Check for duplicate email
@@ -48,6 +50,7 @@ public class UserService {
      * @return the user entity
      * @throws UserNotFoundException if the user does not exist
      */
+    @SqlBudget(statements = 1, roundTrips = 2)
     public User getUserById(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
@@ -0,0 +1,519 @@
+package com.banking.system.service.batch;
+
+import com.banking.system.config.BatchJobProperties;
+import com.banking.system.dto.BatchJobReport;
+import com.banking.system.dto.TransactionEvent;
+import com.banking.system.entity.BatchJobChunk;
+import com.banking.system.entity.BatchJobRun;
+import com.banking.system.entity.BatchJobStatus;
+import com.banking.system.entity.BatchJobType;
+import com.banking.system.entity.TransactionStatus;
+import com.banking.system.entity.TransactionType;
+import com.banking.system.repository.BatchJobChunkRepository;
+import com.banking.system.repository.BatchJobRunRepository;
+import com.banking.system.service.events.OutboxService;
+import com.banking.system.service.fx.FxRateSnapshot;
+import com.banking.system.service.fx.FxRateStore;
+import com.banking.system.service.hold.HoldIndex;
+import com.banking.system.service.index.AccountIndex;
+import com.banking.system.service.netting.NettingService;
+import com.banking.system.util.MoneyUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs the daily interest accrual and monthly maintenance fee jobs over all accounts.
+ * Accounts are partitioned into fixed account ID ranges, and the chunks are processed in
+ * parallel, each in its own database transaction: the chunk's funded rows are locked and
+ * read once, their amounts computed here, and the balance updates, INTEREST or FEE
+ * transactions and outbox events are written as JDBC batches, together with the chunk's
+ * checkpoint.
+ *
+ * <p>Amounts are rounded to the minor unit of each account's currency. The fee and the
+ * waiver threshold are configured in the default currency and converted into each
+ * account's currency at the rates in effect when the run starts; accounts in a currency
+ * without a rate are not charged. The fee is charged against the available balance:
+ * active authorization holds and pending netting debits, read from memory while the row
+ * is locked, are left untouched.
+ *
+ * <p>Scheduled runs are handed to a dedicated thread, so a long run never holds up the
+ * other {@code @Scheduled} tasks.
+ *
+ * <p>A run is keyed by job type and run key (the accrual date or fee month). Rerunning a
+ * key resumes it, skipping every checkpointed chunk, so no account is credited or charged
+ * twice for the same key.
+ */
+@Slf4j
+@Service
+public class AccountBatchJobService {
+
+    private static final String SELECT_CHUNK_SQL =
+            "SELECT id, account_number, balance, currency FROM accounts " +
+            "WHERE id > ? AND id <= ? AND balance > 0 FOR UPDATE";
+
+    private static final String ADJUST_BALANCE_SQL = "UPDATE accounts SET balance = balance + ? WHERE id = ?";
+
+    private static final String INSERT_TRANSACTION_SQL =
+            "INSERT INTO transactions (from_account_id, to_account_id, amount, type, status, `timestamp`) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BatchJobRunRepository runRepository;
+    private final BatchJobChunkRepository chunkRepository;
+    private final OutboxService outboxService;
+    private final AccountIndex accountIndex;
+    private final HoldIndex holdIndex;
+    private final NettingService nettingService;
+    private final FxRateStore fxRateStore;
+    private final BatchJobProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final ExecutorService scheduledRunExecutor = Executors.newSingleThreadExecutor();
+
+    public AccountBatchJobService(JdbcTemplate jdbcTemplate,
+                                  BatchJobRunRepository runRepository,
+                                  BatchJobChunkRepository chunkRepository,
+                                  OutboxService outboxService,
+                                  AccountIndex accountIndex,
+                                  HoldIndex holdIndex,
+                                  NettingService nettingService,
+                                  FxRateStore fxRateStore,
+                                  BatchJobProperties properties,
+                                  PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.runRepository = runRepository;
+        this.chunkRepository = chunkRepository;
+        this.outboxService = outboxService;
+        this.accountIndex = accountIndex;
+        this.holdIndex = holdIndex;
+        this.nettingService = nettingService;
+        this.fxRateStore = fxRateStore;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Runs, or resumes, a batch job.
+     *
+     * @param jobType the job to run
+     * @param runKey  the accrual date or fee month the run applies to
+     * @return the run report
+     * @throws IllegalStateException if another batch job run is in progress
+     */
+    public BatchJobReport run(BatchJobType jobType, String runKey) {
+        if (!runLock.tryLock()) {
+            throw new IllegalStateException("A batch job run is already in progress");
+        }
+        try {
+            return doRun(jobType, runKey);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduledRunExecutor.shutdown();
+    }
+
+    /** Scheduled daily interest accrual; disabled unless banking.batch.interest-cron is set */
+    @Scheduled(cron = "${banking.batch.interest-cron:-}")
+    public void scheduledInterestAccrual() {
+        String runKey = LocalDate.now().toString();
+        scheduledRunExecutor.execute(() -> runScheduled(BatchJobType.INTEREST_ACCRUAL, runKey));
+    }
+
+    /** Scheduled monthly maintenance fees; disabled unless banking.batch.fee-cron is set */
+    @Scheduled(cron = "${banking.batch.fee-cron:-}")
+    public void scheduledMaintenanceFees() {
+        String runKey = YearMonth.now().toString();
+        scheduledRunExecutor.execute(() -> runScheduled(BatchJobType.MAINTENANCE_FEE, runKey));
+    }
+
+    /** Runs on the scheduled-run thread; scheduled runs queue there rather than overlap */
+    private void runScheduled(BatchJobType jobType, String runKey) {
+        try {
+            logReport(run(jobType, runKey));
+        } catch (RuntimeException ex) {
+            log.warn("Scheduled batch job {} {} failed: {}", jobType, runKey, ex.getMessage());
+        }
+    }
+
+    private BatchJobReport doRun(BatchJobType jobType, String runKey) {
+        long start = System.currentTimeMillis();
+        BatchJobRun run = findOrStartRun(jobType, runKey);
+
+        Set<Long> applied = new HashSet<>(chunkRepository.findChunkStartIds(run.getId()));
+        List<Long> pending = new ArrayList<>();
+        for (long chunkStart = 0; chunkStart < run.getMaxAccountId(); chunkStart += run.getChunkSize()) {
+            if (!applied.contains(chunkStart)) {
+                pending.add(chunkStart);
+            }
+        }
+        long chunksTotal = applied.size() + pending.size();
+
+        ChunkParameters parameters = ChunkParameters.of(jobType, properties, fxRateStore);
+        List<ChunkOutcome> outcomes = processInParallel(run, parameters, pending);
+
+        long accounts = 0;
+        long transactions = 0;
+        BigDecimal amount = BigDecimal.ZERO;
+        long failed = 0;
+        for (ChunkOutcome outcome : outcomes) {
+            if (outcome == null) {
+                failed++;
+                continue;
+            }
+            accounts += outcome.accounts();
+            transactions += outcome.transactions();
+            amount = amount.add(outcome.amount());
+        }
+
+        Object[] totals = chunkRepository.sumTotals(run.getId()).get(0);
+        run.setChunksTotal(chunksTotal);
+        run.setChunksFailed(failed);
+        run.setAccountsProcessed(((Number) totals[0]).longValue());
+        run.setTransactionsCreated(((Number) totals[1]).longValue());
+        run.setTotalAmount(toAmount(totals[2]));
+        run.setStatus(failed == 0 ? BatchJobStatus.COMPLETED : BatchJobStatus.FAILED);
+        if (!pending.isEmpty() || run.getCompletedAt() == null) {
+            run.setCompletedAt(LocalDateTime.now());
+        }
+        runRepository.save(run);
+
+        long durationMillis = System.currentTimeMillis() - start;
+        return BatchJobReport.builder()
+                .runId(run.getId())
+                .jobType(jobType)
+                .runKey(runKey)
+                .status(run.getStatus())
+                .chunksTotal(chunksTotal)
+                .chunksProcessed(pending.size() - failed)
+                .chunksSkipped(applied.size())
+                .chunksFailed(failed)
+                .accountsProcessed(accounts)
+                .transactionsCreated(transactions)
+                .amount(amount)
+                .durationMillis(durationMillis)
+                .accountsPerSecond(durationMillis > 0 ? accounts * 1000.0 / durationMillis : accounts)
+                .runAccountsProcessed(run.getAccountsProcessed())
+                .runTransactionsCreated(run.getTransactionsCreated())
+                .runTotalAmount(run.getTotalAmount())
+                .build();
+    }
+
+    /** Loads the run for the key, or starts one fixing the account ID range and chunk size */
+    private BatchJobRun findOrStartRun(BatchJobType jobType, String runKey) {
+        BatchJobRun run = runRepository.findByJobTypeAndRunKey(jobType, runKey).orElse(null);
+        if (run != null) {
+            if (run.getStatus() != BatchJobStatus.COMPLETED) {
+                run.setStatus(BatchJobStatus.RUNNING);
+                run = runRepository.save(run);
+            }
+            return run;
+        }
+        Long maxAccountId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM accounts", Long.class);
+        try {
+            return runRepository.save(BatchJobRun.builder()
+                    .jobType(jobType)
+                    .runKey(runKey)
+                    .status(BatchJobStatus.RUNNING)
+                    .maxAccountId(maxAccountId != null ? maxAccountId : 0L)
+                    .chunkSize(properties.getChunkSize())
+                    .totalAmount(BigDecimal.ZERO)
+                    .startedAt(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException ex) {
+            throw new IllegalStateException("Batch job run " + jobType + " " + runKey + " was started by another node", ex);
+        }
+    }
+
+    // ==================== Chunks ====================
+
+    /** Processes the chunks on a fixed pool; a null outcome marks a chunk that failed every attempt */
+    private List<ChunkOutcome> processInParallel(BatchJobRun run, ChunkParameters parameters, List<Long> chunkStarts) {
+        if (chunkStarts.isEmpty()) {
+            return List.of();
+        }
+        List<Callable<ChunkOutcome>> tasks = new ArrayList<>(chunkStarts.size());
+        for (long chunkStart : chunkStarts) {
+            long chunkEnd = Math.min(chunkStart + run.getChunkSize(), run.getMaxAccountId());
+            tasks.add(() -> processWithRetries(run, parameters, chunkStart, chunkEnd));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(properties.getParallelism(), tasks.size()));
+        try {
+            List<ChunkOutcome> outcomes = new ArrayList<>(tasks.size());
+            for (Future<ChunkOutcome> future : pool.invokeAll(tasks)) {
+                outcomes.add(future.get());
+            }
+            return outcomes;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running batch job chunks", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Batch job chunk failed", ex.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private ChunkOutcome processWithRetries(BatchJobRun run, ChunkParameters parameters,
+                                            long fromExclusive, long toInclusive) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status ->
+                        processChunk(run, parameters, fromExclusive, toInclusive));
+            } catch (DataAccessException ex) {
+                if (attempt >= properties.getMaxChunkAttempts()) {
+                    log.warn("Batch job {} {} chunk ({}, {}] failed after {} attempts: {}",
+                            run.getJobType(), run.getRunKey(), fromExclusive, toInclusive, attempt, ex.getMessage());
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies one chunk: locks and reads the funded accounts, updates the eligible ones,
+     * writes their transactions and outbox events, and checkpoints the chunk.
+     */
+    private ChunkOutcome processChunk(BatchJobRun run, ChunkParameters parameters,
+                                      long fromExclusive, long toInclusive) {
+        List<Posting> postings = new ArrayList<>();
+        jdbcTemplate.query(SELECT_CHUNK_SQL,
+                rs -> {
+                    Posting posting = parameters.posting(rs, committedAmount(rs.getLong(1)));
+                    if (posting != null) {
+                        postings.add(posting);
+                    }
+                },
+                fromExclusive, toInclusive);
+
+        // Amounts depend on each account's currency, holds and netting position, so each row gets its own
+        boolean credit = parameters.type() == TransactionType.INTEREST;
+        List<Posting> charged = postings.stream().filter(posting -> posting.amount().signum() > 0).toList();
+        if (!charged.isEmpty()) {
+            int[] updated = jdbcTemplate.batchUpdate(ADJUST_BALANCE_SQL, charged.stream()
+                    .map(posting -> new Object[]{credit ? posting.amount() : posting.amount().negate(),
+                            posting.accountId()})
+                    .toList());
+            for (int count : updated) {
+                if (count == 0) {
+                    throw new IllegalStateException("Batch job chunk (" + fromExclusive + ", " + toInclusive +
+                            "] could not update a locked account");
+                }
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> transactionIds = insertTransactions(parameters.type(), charged, now);
+        List<TransactionEvent> events = new ArrayList<>(charged.size());
+        BigDecimal amount = BigDecimal.ZERO;
+        for (int i = 0; i < charged.size(); i++) {
+            Posting posting = charged.get(i);
+            amount = amount.add(parameters.inDefaultCurrency(posting.amount(), posting.currency()));
+            events.add(TransactionEvent.builder()
+                    .transactionId(transactionIds.get(i))
+                    .type(parameters.type())
+                    .status(TransactionStatus.SUCCESS)
+                    .amount(posting.amount())
+                    .fromAccountId(credit ? null : posting.accountId())
+                    .fromAccountNumber(credit ? null : posting.accountNumber())
+                    .fromAccountBalance(credit ? null : posting.newBalance())
+                    .toAccountId(credit ? posting.accountId() : null)
+                    .toAccountNumber(credit ? posting.accountNumber() : null)
+                    .toAccountBalance(credit ? posting.newBalance() : null)
+                    .timestamp(now)
+                    .build());
+        }
+        outboxService.recordTransactions(events);
+
+        chunkRepository.save(BatchJobChunk.builder()
+                .runId(run.getId())
+                .chunkStartId(fromExclusive)
+                .chunkEndId(toInclusive)
+                .accountsProcessed(postings.size())
+                .transactionsCreated(charged.size())
+                .amount(amount)
+                .completedAt(now)
+                .build());
+
+        // The bulk UPDATE bypasses the entity listener, so drop the cached balances once committed
+        List<String> accountNumbers = charged.stream().map(Posting::accountNumber).toList();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accountNumbers.forEach(accountIndex::invalidate);
+            }
+        });
+        return new ChunkOutcome(postings.size(), charged.size(), amount);
+    }
+
+    /**
+     * Amount of a locked account's balance already committed elsewhere: its active
+     * authorization holds plus its pending netting debits.
+     */
+    private BigDecimal committedAmount(long accountId) {
+        return holdIndex.heldAmount(accountId).subtract(nettingService.pendingNetDebit(accountId));
+    }
+
+    /** Inserts the chunk's transactions as one JDBC batch, returning their generated IDs in order */
+    private List<Long> insertTransactions(TransactionType type, List<Posting> postings, LocalDateTime now) {
+        if (postings.isEmpty()) {
+            return List.of();
+        }
+        boolean credit = type == TransactionType.INTEREST;
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_TRANSACTION_SQL, new String[]{"id"})) {
+                for (Posting posting : postings) {
+                    if (credit) {
+                        statement.setNull(1, Types.BIGINT);
+                        statement.setLong(2, posting.accountId());
+                    } else {
+                        statement.setLong(1, posting.accountId());
+                        statement.setNull(2, Types.BIGINT);
+                    }
+                    statement.setBigDecimal(3, posting.amount());
+                    statement.setString(4, type.name());
+                    statement.setString(5, TransactionStatus.SUCCESS.name());
+                    statement.setTimestamp(6, timestamp);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                List<Long> ids = new ArrayList<>(postings.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                if (ids.size() != postings.size()) {
+                    throw new IllegalStateException("Expected " + postings.size() +
+                            " generated transaction IDs but got " + ids.size());
+                }
+                return ids;
+            }
+        });
+    }
+
+    private static BigDecimal toAmount(Object value) {
+        return value instanceof BigDecimal decimal
+                ? decimal.setScale(2, RoundingMode.HALF_UP)
+                : new BigDecimal(value.toString()).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static void logReport(BatchJobReport report) {
+        log.info("Batch job {} {} processed {} accounts in {} chunks ({} skipped, {} failed), " +
+                        "created {} transactions totalling {} in {} ms ({} accounts/s)",
+                report.getJobType(), report.getRunKey(), report.getAccountsProcessed(), report.getChunksProcessed(),
+                report.getChunksSkipped(), report.getChunksFailed(), report.getTransactionsCreated(),
+                report.getAmount(), report.getDurationMillis(), Math.round(report.getAccountsPerSecond()));
+    }
+
+    /**
+     * Per-job amount rules. Interest is rounded to each currency's minor unit; the fee and
+     * waiver threshold are held per currency, converted once from the default currency.
+     * Totals are reported in the default currency, at the same rates.
+     */
+    private record ChunkParameters(TransactionType type, BigDecimal rate, Map<String, FeeTerms> feeTerms,
+                                   FxRateSnapshot rates, String defaultCurrency) {
+
+        static ChunkParameters of(BatchJobType jobType, BatchJobProperties properties, FxRateStore fxRateStore) {
+            String defaultCurrency = fxRateStore.defaultCurrency();
+            FxRateSnapshot rates = fxRateStore.current();
+            if (jobType == BatchJobType.INTEREST_ACCRUAL) {
+                BigDecimal dailyRate = properties.getInterestAnnualRate()
+                        .divide(BigDecimal.valueOf(properties.getInterestDaysPerYear()), 10, RoundingMode.HALF_UP);
+                return new ChunkParameters(TransactionType.INTEREST, dailyRate, Map.of(), rates, defaultCurrency);
+            }
+            Map<String, FeeTerms> feeTerms = new HashMap<>();
+            feeTerms.put(defaultCurrency, new FeeTerms(
+                    MoneyUtils.round(properties.getMaintenanceFee(), defaultCurrency, RoundingMode.HALF_UP),
+                    properties.getFeeWaiverBalance()));
+            if (rates.supports(defaultCurrency)) {
+                for (String currency : rates.rates().keySet()) {
+                    BigDecimal rate = rates.rate(defaultCurrency, currency);
+                    feeTerms.putIfAbsent(currency, new FeeTerms(
+                            FxRateSnapshot.convert(properties.getMaintenanceFee(), rate, currency),
+                            FxRateSnapshot.convert(properties.getFeeWaiverBalance(), rate, currency)));
+                }
+            }
+            return new ChunkParameters(TransactionType.FEE, null, Map.copyOf(feeTerms), rates, defaultCurrency);
+        }
+
+        /** An amount converted into the default currency; unconverted if its currency has no rate */
+        BigDecimal inDefaultCurrency(BigDecimal amount, String currency) {
+            if (currency.equals(defaultCurrency) || !rates.supports(currency) || !rates.supports(defaultCurrency)) {
+                return amount;
+            }
+            return FxRateSnapshot.convert(amount, rates.rate(currency, defaultCurrency), defaultCurrency);
+        }
+
+        /**
+         * The posting for a locked funded row, or null if the account is not charged: its
+         * fee is waived or its currency has no rate. A fee never takes the balance below
+         * its committed amount.
+         */
+        Posting posting(ResultSet rs, BigDecimal committed) throws SQLException {
+            BigDecimal balance = rs.getBigDecimal(3);
+            String currency = rs.getString(4);
+            BigDecimal amount;
+            if (type == TransactionType.INTEREST) {
+                amount = MoneyUtils.round(balance.multiply(rate), currency, RoundingMode.HALF_UP);
+            } else {
+                FeeTerms terms = feeTerms.get(currency);
+                if (terms == null || terms.waiver().signum() > 0 && balance.compareTo(terms.waiver()) >= 0) {
+                    return null;
+                }
+                amount = terms.fee().min(balance.subtract(committed).max(BigDecimal.ZERO));
+            }
+            BigDecimal newBalance = type == TransactionType.INTEREST ? balance.add(amount) : balance.subtract(amount);
+            return new Posting(rs.getLong(1), rs.getString(2), currency, amount, newBalance);
+        }
+    }
+
+    /** Maintenance fee and waiver threshold in one currency */
+    private record FeeTerms(BigDecimal fee, BigDecimal waiver) {
+    }
+
+    /** One eligible account and the amount credited to or charged from it */
+    private record Posting(long accountId, String accountNumber, String currency, BigDecimal amount,
+                           BigDecimal newBalance) {
+    }
+
+    private record ChunkOutcome(long accounts, long transactions, BigDecimal amount) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.banking.system.service.concurrency;
+
+import com.banking.system.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+/**
+ * Holds the read and write adaptive concurrency limiters and publishes their
+ * limit, in-flight and rejection metrics ({@code banking.concurrency.*}, tagged by budget).
+ */
+@Service
+public class ConcurrencyLimiterService {
+
+    private final ConcurrencyLimitProperties properties;
+    private final GradientConcurrencyLimiter writeLimiter;
+    private final GradientConcurrencyLimiter readLimiter;
+    private final Counter writeRejected;
+    private final Counter readRejected;
+
+    public ConcurrencyLimiterService(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.writeLimiter = new GradientConcurrencyLimiter("write", properties.getWrite());
+        this.readLimiter = new GradientConcurrencyLimiter("read", properties.getRead());
+        this.writeRejected = register(writeLimiter, meterRegistry);
+        this.readRejected = register(readLimiter, meterRegistry);
+    }
+
+    /**
+     * Admits a request against the read or write budget.
+     *
+     * @return the limiter to release, or null if the request must be rejected
+     */
+    public GradientConcurrencyLimiter tryAcquire(boolean write) {
+        GradientConcurrencyLimiter limiter = write ? writeLimiter : readLimiter;
+        if (limiter.tryAcquire()) {
+            return limiter;
+        }
+        (write ? writeRejected : readRejected).increment();
+        return null;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    private static Counter register(GradientConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+        Gauge.builder("banking.concurrency.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                .tag("budget", limiter.getName())
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("banking.concurrency.inflight", limiter, GradientConcurrencyLimiter::getInFlight)
+                .tag("budget", limiter.getName())
+                .description("Requests currently in flight")
+                .register(meterRegistry);
+        return Counter.builder("banking.concurrency.rejected")
+                .tag("budget", limiter.getName())
+                .description("Requests shed with 503")
+                .register(meterRegistry);
+    }
+}
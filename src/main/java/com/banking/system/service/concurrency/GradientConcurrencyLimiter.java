@@ -0,0 +1,106 @@
+package com.banking.system.service.concurrency;
+
+import com.banking.system.config.ConcurrencyLimitProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limiter in the style of a gradient limiter.
+ * Keeps a fast and a slow exponential average of request latency; while recent
+ * latency stays near the long-term baseline the limit grows by a queue allowance
+ * of sqrt(limit), and when requests start queueing (recent latency above baseline)
+ * the limit shrinks by the ratio of the two, down to half per update. By Little's law
+ * this holds in-flight work near the point where throughput stops improving.
+ *
+ * <p>Admission is a single CAS on the in-flight counter; the limit update after each
+ * sample is a short synchronized block.
+ */
+public final class GradientConcurrencyLimiter {
+
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_ALPHA = 2.0 / (600 + 1);
+
+    private final String name;
+    private final ConcurrencyLimitProperties.Budget budget;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public GradientConcurrencyLimiter(String name, ConcurrencyLimitProperties.Budget budget) {
+        this.name = name;
+        this.budget = budget;
+        this.estimatedLimit = Math.max(budget.getMinLimit(), Math.min(budget.getMaxLimit(), budget.getInitialLimit()));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /** Admits a request if in-flight work is below the current limit */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request.
+     *
+     * @param rttNanos observed latency
+     * @param dropped  true if the request failed in a way that signals overload (e.g. pool timeout)
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightAtStart = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (dropped) {
+                estimatedLimit = Math.max(budget.getMinLimit(), estimatedLimit * 0.9);
+            } else {
+                update(rttNanos, inFlightAtStart);
+            }
+            limit = (int) Math.round(estimatedLimit);
+        }
+    }
+
+    private void update(long rttNanos, int inFlightAtStart) {
+        if (shortRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += SHORT_ALPHA * (rttNanos - shortRttNanos);
+        longRttNanos += LONG_ALPHA * (rttNanos - longRttNanos);
+
+        // Let the baseline recover quickly after a sustained latency drop
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        // App-limited: too little traffic to learn anything about the limit
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, budget.getRttTolerance() * longRttNanos / shortRttNanos));
+        double queueAllowance = Math.sqrt(estimatedLimit);
+        double target = estimatedLimit * gradient + queueAllowance;
+        double smoothed = estimatedLimit * (1 - budget.getSmoothing()) + target * budget.getSmoothing();
+        estimatedLimit = Math.max(budget.getMinLimit(), Math.min(budget.getMaxLimit(), smoothed));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,127 @@
+package com.banking.system.service.events;
+
+import com.banking.system.entity.OutboxEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One SSE subscriber with its account filter and bounded event buffer.
+ * Events are sent by at most one draining thread at a time; IDs at or below the
+ * last sent ID are dropped, which de-duplicates the overlap between replay and live events.
+ * Late events (committed after the relay moved past their ID) are sent below that mark.
+ */
+final class EventSubscription {
+
+    private final Set<Long> accountIds;
+    private final SseEmitter emitter;
+    private final BlockingQueue<OutboxEvent> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Set<Long> lateIds = ConcurrentHashMap.newKeySet();
+
+    private volatile long lastSentId;
+    private volatile boolean live;
+    private volatile boolean closed;
+
+    EventSubscription(Set<Long> accountIds, SseEmitter emitter, int bufferSize) {
+        this.accountIds = accountIds;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    Set<Long> accountIds() {
+        return accountIds;
+    }
+
+    /** Events without accounts (settled netting cycles) go to every subscriber */
+    boolean matches(OutboxEvent event) {
+        return accountIds.isEmpty()
+                || (event.getFromAccountId() == null && event.getToAccountId() == null)
+                || accountIds.contains(event.getFromAccountId())
+                || accountIds.contains(event.getToAccountId());
+    }
+
+    /** Buffers an event; returns false if the buffer is full */
+    boolean offer(OutboxEvent event) {
+        return !closed && buffer.offer(event);
+    }
+
+    /** Buffers an event published after later IDs; returns false if the buffer is full */
+    boolean offerLate(OutboxEvent event) {
+        lateIds.add(event.getId());
+        return offer(event);
+    }
+
+    /** Switches from replay to live delivery once replay has sent everything up to the given ID */
+    void goLive(long lastReplayedId) {
+        lastSentId = Math.max(lastSentId, lastReplayedId);
+        live = true;
+    }
+
+    /** Sends buffered events; safe to call from any thread */
+    void drain() {
+        while (live && !closed && !buffer.isEmpty()) {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                OutboxEvent event;
+                while ((event = buffer.poll()) != null) {
+                    send(event);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                close();
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    void send(OutboxEvent event) throws IOException {
+        boolean late = lateIds.remove(event.getId());
+        if (event.getId() <= lastSentId && !late) {
+            return;
+        }
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.getId()))
+                .name(event.getEventType())
+                .data(event.getPayload(), MediaType.APPLICATION_JSON));
+        lastSentId = Math.max(lastSentId, event.getId());
+    }
+
+    /**
+     * Tells the client it fell behind and ends the stream; the client reconnects with
+     * Last-Event-ID and the gap is replayed from the outbox.
+     */
+    void disconnectSlowConsumer() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        buffer.clear();
+        try {
+            emitter.send(SseEmitter.event().name("overflow").data("resume from last event id"));
+        } catch (IOException | IllegalStateException ignored) {
+            // Client already gone
+        }
+        emitter.complete();
+    }
+
+    void close() {
+        if (!closed) {
+            closed = true;
+            buffer.clear();
+            emitter.complete();
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+}
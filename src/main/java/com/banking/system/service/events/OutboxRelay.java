@@ -0,0 +1,211 @@
+package com.banking.system.service.events;
+
+import com.banking.system.config.EventStreamProperties;
+import com.banking.system.entity.OutboxEvent;
+import com.banking.system.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves committed outbox rows onto the {@link TransactionEventBus} in ID order.
+ * Runs immediately after each commit that wrote an event, with a periodic fallback.
+ *
+ * <p>Auto-increment IDs can become visible out of order, so a missing ID is a hole
+ * that may still be filled. The relay skips a hole straight away when the writing
+ * transaction is known to have rolled back, and otherwise holds later events back for
+ * up to the configured grace period. After that it moves on but keeps the hole: every
+ * relay pass re-reads the pending holes by primary key and publishes any event that has
+ * committed since, out of order. A hole is only dropped once every transaction that
+ * could have been writing into it has finished; each outbox write takes a ticket before
+ * its insert, so that point is known exactly.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private static final int MAX_TRACKED_GAP = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionEventBus eventBus;
+    private final EventStreamProperties properties;
+
+    private final Set<Long> rolledBackIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong writeTickets = new AtomicLong();
+    private final ConcurrentSkipListSet<Long> openWrites = new ConcurrentSkipListSet<>();
+
+    /** Holes the relay has moved past, by first ID; guarded by the relay's monitor */
+    private final TreeMap<Long, Gap> pendingGaps = new TreeMap<>();
+    private final AtomicBoolean relayScheduled = new AtomicBoolean();
+    private final ExecutorService relayExecutor = Executors.newSingleThreadExecutor();
+
+    private volatile boolean started;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Long maxId = outboxEventRepository.findMaxId();
+        eventBus.resetPosition(maxId != null ? maxId : 0L);
+        started = true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relayExecutor.shutdown();
+    }
+
+    /** Called after a transaction that wrote outbox rows commits */
+    void signal() {
+        if (started && relayScheduled.compareAndSet(false, true)) {
+            relayExecutor.execute(() -> {
+                relayScheduled.set(false);
+                relay();
+            });
+        }
+    }
+
+    /** Called after a transaction that wrote the given outbox row rolls back */
+    void rolledBack(long eventId) {
+        rolledBackIds.add(eventId);
+    }
+
+    /**
+     * Called before a transaction inserts outbox rows, so the relay knows a writer may
+     * still commit IDs it has not seen.
+     *
+     * @return the ticket to hand to {@link #endWrite} once the transaction completes
+     */
+    long beginWrite() {
+        long ticket = writeTickets.incrementAndGet();
+        openWrites.add(ticket);
+        return ticket;
+    }
+
+    /** Called after a transaction that took the ticket commits or rolls back */
+    void endWrite(long ticket) {
+        openWrites.remove(ticket);
+    }
+
+    /** Number of holes still waiting for a late event or for their writers to finish */
+    public synchronized int pendingGapCount() {
+        return pendingGaps.size();
+    }
+
+    @Scheduled(fixedDelayString = "${banking.events.relay-interval-millis:1000}")
+    public synchronized void relay() {
+        if (!started) {
+            return;
+        }
+        rescanGaps();
+        while (true) {
+            long position = eventBus.getLastPublishedId();
+            List<OutboxEvent> page = outboxEventRepository.findByIdGreaterThanOrderByIdAsc(
+                    position, PageRequest.of(0, properties.getRelayBatchSize()));
+            for (OutboxEvent event : page) {
+                if (!canSkipGap(position, event)) {
+                    return;
+                }
+                eventBus.publish(event);
+                position = event.getId();
+            }
+            rolledBackIds.removeIf(id -> id <= eventBus.getLastPublishedId());
+            if (page.size() < properties.getRelayBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * True if the relay may publish the event: there is no hole before it, every ID in
+     * the hole is known to have rolled back, or the grace period is over. In the last case
+     * the hole is kept as a pending gap.
+     */
+    private boolean canSkipGap(long position, OutboxEvent event) {
+        long gapStart = position + 1;
+        long gapEnd = event.getId() - 1;
+        if (gapEnd < gapStart) {
+            return true;
+        }
+        if (gapEnd - gapStart < MAX_TRACKED_GAP) {
+            boolean allRolledBack = true;
+            for (long id = gapStart; id <= gapEnd && allRolledBack; id++) {
+                allRolledBack = rolledBackIds.contains(id);
+            }
+            if (allRolledBack) {
+                return true;
+            }
+        }
+        LocalDateTime graceEnd = event.getCreatedAt().plusNanos(properties.getGapGraceMillis() * 1_000_000L);
+        if (!LocalDateTime.now().isAfter(graceEnd)) {
+            return false;
+        }
+        // Every writer of an ID in the hole took its ticket before this event's ID was assigned
+        pendingGaps.put(gapStart, new Gap(gapStart, gapEnd, writeTickets.get()));
+        return true;
+    }
+
+    /**
+     * Re-reads every pending hole and publishes the events that have committed into it.
+     * A hole whose writers had all finished before the read is dropped; the rest of the
+     * hole is kept, split around the events found.
+     */
+    private void rescanGaps() {
+        if (pendingGaps.isEmpty()) {
+            return;
+        }
+        // Read before the query: a writer finished by now has its rows visible to the query
+        Long oldestOpenWrite = openWrites.isEmpty() ? null : openWrites.first();
+        List<Gap> remaining = new ArrayList<>();
+        for (Gap gap : pendingGaps.values()) {
+            List<OutboxEvent> late = outboxEventRepository.findBetween(
+                    gap.firstId() - 1, gap.lastId(), PageRequest.of(0, properties.getRelayBatchSize()));
+            late.forEach(eventBus::publishLate);
+            boolean writersFinished = oldestOpenWrite == null || oldestOpenWrite > gap.horizon();
+            if (writersFinished && late.size() < properties.getRelayBatchSize()) {
+                continue;
+            }
+            long next = gap.firstId();
+            for (OutboxEvent event : late) {
+                if (event.getId() > next) {
+                    remaining.add(new Gap(next, event.getId() - 1, gap.horizon()));
+                }
+                next = event.getId() + 1;
+            }
+            if (next <= gap.lastId()) {
+                remaining.add(new Gap(next, gap.lastId(), gap.horizon()));
+            }
+        }
+        pendingGaps.clear();
+        remaining.forEach(gap -> pendingGaps.put(gap.firstId(), gap));
+    }
+
+    /**
+     * IDs the relay moved past without seeing, inclusive.
+     *
+     * @param horizon the last write ticket issued when the hole was found; once no ticket
+     *                up to it is open, nothing more can commit into the hole
+     */
+    private record Gap(long firstId, long lastId, long horizon) {
+    }
+
+    /** Purges outbox rows past the retention window */
+    @Scheduled(fixedDelay = 3_600_000)
+    public void purgeExpired() {
+        outboxEventRepository.deleteOlderThan(LocalDateTime.now().minusHours(properties.getRetentionHours()));
+    }
+}
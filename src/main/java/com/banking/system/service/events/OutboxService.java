@@ -0,0 +1,157 @@
+package com.banking.system.service.events;
+
+import com.banking.system.dto.SettlementCycleResponse;
+import com.banking.system.dto.TransactionEvent;
+import com.banking.system.entity.Account;
+import com.banking.system.entity.OutboxEvent;
+import com.banking.system.entity.Transaction;
+import com.banking.system.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes transactional outbox rows for recorded transactions and settled netting cycles.
+ * Must be called inside the transaction that saved the {@link Transaction} (or settled
+ * the cycle), so the event commits or rolls back together with it.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public static final String TRANSACTION_RECORDED = "TRANSACTION_RECORDED";
+    public static final String SETTLEMENT_CYCLE_SETTLED = "SETTLEMENT_CYCLE_SETTLED";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelay outboxRelay;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Appends a TRANSACTION_RECORDED event for a saved transaction.
+     *
+     * @param transaction the saved transaction (with its ID assigned)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransaction(Transaction transaction) {
+        Account from = transaction.getFromAccount();
+        Account to = transaction.getToAccount();
+
+        TransactionEvent event = TransactionEvent.builder()
+                .transactionId(transaction.getId())
+                .type(transaction.getType())
+                .status(transaction.getStatus())
+                .amount(transaction.getAmount())
+                .creditedAmount(transaction.getCreditedAmount())
+                .fxRateVersion(transaction.getFxRateVersion())
+                .settlementCycleId(transaction.getSettlementCycleId())
+                .fromAccountId(from != null ? from.getId() : null)
+                .fromAccountNumber(from != null ? from.getAccountNumber() : transaction.getCounterpartyAccountNumber())
+                .fromAccountBalance(from != null ? from.getBalance() : null)
+                .toAccountId(to != null ? to.getId() : null)
+                .toAccountNumber(to != null ? to.getAccountNumber() : transaction.getCounterpartyAccountNumber())
+                .toAccountBalance(to != null ? to.getBalance() : null)
+                .failureReason(transaction.getFailureReason())
+                .timestamp(transaction.getTimestamp())
+                .build();
+
+        save(OutboxEvent.builder()
+                .eventType(TRANSACTION_RECORDED)
+                .transactionId(transaction.getId())
+                .fromAccountId(event.getFromAccountId())
+                .toAccountId(event.getToAccountId())
+                .payload(toJson(event))
+                .build());
+    }
+
+    /**
+     * Appends one SETTLEMENT_CYCLE_SETTLED event for a settled netting cycle. It carries
+     * no account IDs, so every subscriber receives it; the cycle's transfers were
+     * streamed as PENDING with this cycle ID and are SUCCESS from this event on.
+     *
+     * @param cycle the settled cycle
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCycleSettled(SettlementCycleResponse cycle) {
+        save(OutboxEvent.builder()
+                .eventType(SETTLEMENT_CYCLE_SETTLED)
+                .payload(toJson(cycle))
+                .build());
+    }
+
+    /** Saves an outbox row, tracked as an open write until its transaction completes */
+    private void save(OutboxEvent event) {
+        trackWrite();
+        long eventId = outboxEventRepository.save(event).getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    outboxRelay.signal();
+                } else {
+                    outboxRelay.rolledBack(eventId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Appends TRANSACTION_RECORDED events for transactions written in bulk, as one JDBC
+     * batch. A rolled-back batch leaves holes the relay drops once the write has finished.
+     *
+     * @param events events of saved transactions (with their IDs assigned)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransactions(List<TransactionEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        trackWrite();
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("INSERT INTO outbox_events " +
+                        "(event_type, transaction_id, from_account_id, to_account_id, payload, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                events.stream()
+                        .map(event -> new Object[]{TRANSACTION_RECORDED, event.getTransactionId(),
+                                event.getFromAccountId(), event.getToAccountId(), toJson(event), createdAt})
+                        .toList());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.signal();
+            }
+        });
+    }
+
+    /**
+     * Registers the current transaction as an open outbox writer until it completes, so
+     * the relay keeps any hole it might still fill. Must run before the insert assigns IDs.
+     */
+    private void trackWrite() {
+        long ticket = outboxRelay.beginWrite();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                outboxRelay.endWrite(ticket);
+            }
+        });
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize outbox event", ex);
+        }
+    }
+}
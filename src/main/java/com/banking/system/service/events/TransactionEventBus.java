@@ -0,0 +1,138 @@
+package com.banking.system.service.events;
+
+import com.banking.system.config.EventStreamProperties;
+import com.banking.system.entity.OutboxEvent;
+import com.banking.system.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process bus that fans committed outbox events out to SSE subscribers.
+ * Each subscriber has a bounded buffer; a subscriber whose buffer overflows is
+ * disconnected rather than slowing down publication, and resumes from its
+ * Last-Event-ID by replaying from the outbox table.
+ */
+@Slf4j
+@Service
+public class TransactionEventBus {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventStreamProperties properties;
+    private final Set<EventSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService deliveryExecutor = Executors.newFixedThreadPool(4);
+
+    /** Highest event ID handed to subscribers; replay never goes beyond it */
+    private volatile long lastPublishedId;
+
+    public TransactionEventBus(OutboxEventRepository outboxEventRepository, EventStreamProperties properties) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Opens a stream of events for the given accounts (all accounts if empty),
+     * replaying everything after {@code lastEventId} first when it is given.
+     */
+    public SseEmitter subscribe(Set<Long> accountIds, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeoutMillis());
+        EventSubscription subscription =
+                new EventSubscription(accountIds, emitter, properties.getSubscriberBufferSize());
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(subscription::close);
+        emitter.onError(ex -> subscription.close());
+
+        // Register before reading the publish position so no live event falls between replay and buffer
+        subscriptions.add(subscription);
+        long replayUpTo = lastPublishedId;
+
+        if (lastEventId == null) {
+            subscription.goLive(replayUpTo);
+            return emitter;
+        }
+        deliveryExecutor.execute(() -> replay(subscription, lastEventId, replayUpTo));
+        return emitter;
+    }
+
+    /** Publishes one committed event to all matching subscribers */
+    void publish(OutboxEvent event) {
+        lastPublishedId = event.getId();
+        deliver(event, false);
+    }
+
+    /**
+     * Publishes an event that committed after the relay had moved past its ID. Live
+     * subscribers receive it out of order; the publish position does not move.
+     */
+    void publishLate(OutboxEvent event) {
+        deliver(event, true);
+    }
+
+    private void deliver(OutboxEvent event, boolean late) {
+        for (EventSubscription subscription : subscriptions) {
+            if (!subscription.matches(event)) {
+                continue;
+            }
+            if (late ? subscription.offerLate(event) : subscription.offer(event)) {
+                deliveryExecutor.execute(subscription::drain);
+            } else if (!subscription.isClosed()) {
+                log.warn("Disconnecting slow event stream subscriber at event {}", event.getId());
+                subscription.disconnectSlowConsumer();
+            }
+        }
+    }
+
+    /** Sets the publish position when the relay starts */
+    void resetPosition(long lastPublishedId) {
+        this.lastPublishedId = lastPublishedId;
+    }
+
+    long getLastPublishedId() {
+        return lastPublishedId;
+    }
+
+    private void replay(EventSubscription subscription, long afterId, long upToId) {
+        int pageSize = Math.min(500, properties.getMaxReplayEvents());
+        int replayed = 0;
+        long cursor = afterId;
+        try {
+            while (cursor < upToId) {
+                List<OutboxEvent> page = subscription.accountIds().isEmpty()
+                        ? outboxEventRepository.findBetween(cursor, upToId, PageRequest.of(0, pageSize))
+                        : outboxEventRepository.findForAccountsBetween(
+                                subscription.accountIds(), cursor, upToId, PageRequest.of(0, pageSize));
+                for (OutboxEvent event : page) {
+                    subscription.send(event);
+                    cursor = event.getId();
+                }
+                replayed += page.size();
+                if (page.size() < pageSize) {
+                    cursor = upToId;
+                } else if (replayed >= properties.getMaxReplayEvents()) {
+                    // Too far behind for one connection: end it so the client resumes from here
+                    subscription.close();
+                    return;
+                }
+            }
+            subscription.goLive(upToId);
+            subscription.drain();
+        } catch (IOException | IllegalStateException ex) {
+            subscription.close();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.forEach(EventSubscription::close);
+        deliveryExecutor.shutdown();
+    }
+}
@@ -0,0 +1,119 @@
+package com.banking.system.service.fx;
+
+import com.banking.system.exception.UnsupportedCurrencyException;
+import com.banking.system.util.MoneyUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable set of exchange rates, with every cross rate computed once when the set is
+ * loaded. Looking up a rate is a map read and an array read; converting an amount is a
+ * single multiplication, so the transfer path allocates nothing beyond the result.
+ */
+public final class FxRateSnapshot {
+
+    /** Decimal places kept in cross rates */
+    public static final int RATE_SCALE = 10;
+
+    private final long version;
+    private final String source;
+    private final LocalDateTime loadedAt;
+    private final Map<String, Integer> indexes;
+    private final Map<String, BigDecimal> rates;
+    private final BigDecimal[] crossRates;
+
+    private FxRateSnapshot(long version, String source, Map<String, BigDecimal> rates) {
+        this.version = version;
+        this.source = source;
+        this.loadedAt = LocalDateTime.now();
+        this.rates = new TreeMap<>(rates);
+        String[] currencies = this.rates.keySet().toArray(new String[0]);
+        int n = currencies.length;
+        Map<String, Integer> indexes = new HashMap<>(n * 2);
+        this.crossRates = new BigDecimal[n * n];
+        for (int from = 0; from < n; from++) {
+            indexes.put(currencies[from], from);
+            for (int to = 0; to < n; to++) {
+                crossRates[from * n + to] = from == to ? BigDecimal.ONE
+                        : this.rates.get(currencies[from])
+                                .divide(this.rates.get(currencies[to]), RATE_SCALE, RoundingMode.HALF_EVEN);
+            }
+        }
+        this.indexes = indexes;
+    }
+
+    /**
+     * Builds a snapshot from rates expressed as the value of one unit of each currency in
+     * a common reference unit.
+     *
+     * @throws IllegalArgumentException if a code is not three upper-case letters or a rate is not positive
+     */
+    public static FxRateSnapshot of(long version, String source, Map<String, BigDecimal> rates) {
+        for (Map.Entry<String, BigDecimal> entry : rates.entrySet()) {
+            if (!entry.getKey().matches("[A-Z]{3}")) {
+                throw new IllegalArgumentException("Invalid currency code: " + entry.getKey());
+            }
+            if (entry.getValue() == null || entry.getValue().signum() <= 0) {
+                throw new IllegalArgumentException("Rate of " + entry.getKey() + " must be positive");
+            }
+        }
+        return new FxRateSnapshot(version, source, rates);
+    }
+
+    /** Snapshot used before any rates are loaded: only the default currency, version 0 */
+    static FxRateSnapshot defaultOnly(String currency) {
+        return of(0L, "default", Map.of(currency, BigDecimal.ONE));
+    }
+
+    public boolean supports(String currency) {
+        return indexes.containsKey(currency);
+    }
+
+    /**
+     * Rate converting an amount in one currency into another.
+     *
+     * @throws UnsupportedCurrencyException if either currency has no rate
+     */
+    public BigDecimal rate(String from, String to) {
+        Integer fromIndex = indexes.get(from);
+        if (fromIndex == null) {
+            throw new UnsupportedCurrencyException(from);
+        }
+        Integer toIndex = indexes.get(to);
+        if (toIndex == null) {
+            throw new UnsupportedCurrencyException(to);
+        }
+        return crossRates[fromIndex * indexes.size() + toIndex];
+    }
+
+    /**
+     * Converts an amount at a rate from {@link #rate}, rounding half-even to the minor unit
+     * of the target currency.
+     */
+    public static BigDecimal convert(BigDecimal amount, BigDecimal rate, String toCurrency) {
+        return MoneyUtils.round(amount.multiply(rate), toCurrency, RoundingMode.HALF_EVEN);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public String source() {
+        return source;
+    }
+
+    public LocalDateTime loadedAt() {
+        return loadedAt;
+    }
+
+    /** Rates by currency code, in code order */
+    public Map<String, BigDecimal> rates() {
+        return new LinkedHashMap<>(rates);
+    }
+}
@@ -0,0 +1,178 @@
+package com.banking.system.service.fx;
+
+import com.banking.system.config.FxProperties;
+import com.banking.system.entity.FxRate;
+import com.banking.system.exception.UnsupportedCurrencyException;
+import com.banking.system.repository.FxRateRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link FxRateSnapshot}. Transfers read it with a single volatile
+ * load and never wait: a reload builds a complete new snapshot off to the side and
+ * swaps it in atomically, so a transfer sees either the old rate set or the new one.
+ *
+ * <p>Rates come from {@code banking.fx.rates-file} when set, otherwise from the
+ * {@code fx_rates} table. A rate set replaces the current one only if its version is
+ * higher and it has a rate for the default currency; a failed, stale or incomplete load
+ * keeps the current snapshot.
+ */
+@Slf4j
+@Component
+public class FxRateStore {
+
+    private static final String VERSION_KEY = "version";
+
+    private final FxProperties properties;
+    private final FxRateRepository fxRateRepository;
+    private final AtomicReference<FxRateSnapshot> current;
+
+    public FxRateStore(FxProperties properties, FxRateRepository fxRateRepository, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.fxRateRepository = fxRateRepository;
+        this.current = new AtomicReference<>(FxRateSnapshot.defaultOnly(properties.getDefaultCurrency()));
+        Gauge.builder("banking.fx.rate-version", current, ref -> ref.get().version())
+                .description("Version of the FX rate snapshot in use")
+                .register(meterRegistry);
+    }
+
+    /** Loads the initial rates; starts with the default currency alone if there are none */
+    @PostConstruct
+    void loadInitialRates() {
+        try {
+            reload();
+        } catch (RuntimeException ex) {
+            log.warn("Could not load FX rates; only {} is supported until they load: {}",
+                    properties.getDefaultCurrency(), ex.getMessage());
+        }
+    }
+
+    /** The rate snapshot in use */
+    public FxRateSnapshot current() {
+        return current.get();
+    }
+
+    public String defaultCurrency() {
+        return properties.getDefaultCurrency();
+    }
+
+    /**
+     * Converts an amount into the default currency at the current rate, for comparing
+     * amounts of different currencies with limits set in the default currency.
+     *
+     * @throws UnsupportedCurrencyException if the currency has no rate
+     */
+    public BigDecimal toDefaultCurrency(BigDecimal amount, String currency) {
+        String defaultCurrency = properties.getDefaultCurrency();
+        if (currency.equals(defaultCurrency)) {
+            return amount;
+        }
+        return FxRateSnapshot.convert(amount, current().rate(currency, defaultCurrency), defaultCurrency);
+    }
+
+    /**
+     * Loads the rates from the configured source and swaps them in if their version is
+     * newer than the current snapshot's.
+     *
+     * @return the snapshot in use afterwards
+     * @throws IllegalStateException if the rates cannot be read, are invalid, or have no
+     *                               rate for the default currency
+     */
+    public synchronized FxRateSnapshot reload() {
+        FxRateSnapshot loaded = load();
+        if (loaded == null) {
+            return current.get();
+        }
+        FxRateSnapshot previous = current.get();
+        if (loaded.version() <= previous.version()) {
+            return previous;
+        }
+        if (!loaded.supports(properties.getDefaultCurrency())) {
+            // Every conversion of a non-default currency goes through it
+            throw new IllegalStateException(String.format(
+                    "FX rates version %d in %s have no rate for the default currency %s",
+                    loaded.version(), loaded.source(), properties.getDefaultCurrency()));
+        }
+        current.set(loaded);
+        log.info("Loaded FX rates version {} for {} currencies from {}",
+                loaded.version(), loaded.rates().size(), loaded.source());
+        return loaded;
+    }
+
+    /** Periodic reload; keeps the current rates if the source is unavailable */
+    @Scheduled(fixedDelayString = "${banking.fx.reload-interval-millis:60000}",
+            initialDelayString = "${banking.fx.reload-interval-millis:60000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (RuntimeException ex) {
+            log.warn("FX rate reload failed; keeping version {}: {}", current.get().version(), ex.getMessage());
+        }
+    }
+
+    /** Reads the configured source; null if it holds no rates */
+    private FxRateSnapshot load() {
+        if (properties.getRatesFile() != null && !properties.getRatesFile().isBlank()) {
+            return loadFile(Path.of(properties.getRatesFile()));
+        }
+        List<FxRate> rows = fxRateRepository.findAll();
+        if (rows.isEmpty()) {
+            return null;
+        }
+        // One row per currency: the set is every row, versioned by the latest change
+        long version = rows.stream().mapToLong(FxRate::getVersion).max().orElseThrow();
+        Map<String, BigDecimal> rates = new HashMap<>();
+        for (FxRate row : rows) {
+            rates.put(row.getCurrency(), row.getRate());
+        }
+        return build(version, "table fx_rates", rates);
+    }
+
+    private FxRateSnapshot loadFile(Path file) {
+        Properties entries = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            entries.load(reader);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not read FX rates file " + file, ex);
+        }
+        String version = entries.getProperty(VERSION_KEY);
+        if (version == null) {
+            throw new IllegalStateException("FX rates file " + file + " must declare a version");
+        }
+        Map<String, BigDecimal> rates = new HashMap<>();
+        try {
+            for (String currency : entries.stringPropertyNames()) {
+                if (!currency.equals(VERSION_KEY)) {
+                    rates.put(currency.trim(), new BigDecimal(entries.getProperty(currency).trim()));
+                }
+            }
+            return build(Long.parseLong(version.trim()), "file " + file, rates);
+        } catch (NumberFormatException ex) {
+            throw new IllegalStateException("Invalid number in FX rates file " + file, ex);
+        }
+    }
+
+    private static FxRateSnapshot build(long version, String source, Map<String, BigDecimal> rates) {
+        try {
+            return FxRateSnapshot.of(version, source, rates);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalStateException("Invalid FX rates in " + source + ": " + ex.getMessage(), ex);
+        }
+    }
+}
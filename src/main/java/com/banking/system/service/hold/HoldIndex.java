@@ -0,0 +1,112 @@
+package com.banking.system.service.hold;
+
+import com.banking.system.util.MoneyUtils;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory index of active holds per account, kept in minor units.
+ * Gives the held total for an account in O(1), so available-balance checks never
+ * query the holds table. Each account's entry is guarded by its own monitor; an
+ * entry that becomes empty is retired and removed, and a caller that raced with the
+ * removal simply retries on a fresh entry.
+ */
+@Component
+public class HoldIndex {
+
+    private final ConcurrentHashMap<Long, AccountHolds> byAccount = new ConcurrentHashMap<>();
+
+    /** Total amount currently held on the account */
+    public BigDecimal heldAmount(Long accountId) {
+        AccountHolds holds = byAccount.get(accountId);
+        if (holds == null) {
+            return BigDecimal.ZERO.setScale(MoneyUtils.SCALE);
+        }
+        synchronized (holds) {
+            return MoneyUtils.fromMinorUnits(holds.total);
+        }
+    }
+
+    /**
+     * Atomically checks that the amount fits within the available balance and, if so,
+     * persists the hold and indexes it. Concurrent reservations on the same account are
+     * serialized, so two authorizations cannot both spend the same funds.
+     *
+     * @param persist writes the hold and returns its ID; called only if the funds are available
+     * @return the hold ID, or null if the available balance is insufficient
+     */
+    public Long reserve(long accountId, long balanceMinor, long amountMinor, LongSupplier persist) {
+        while (true) {
+            AccountHolds holds = byAccount.computeIfAbsent(accountId, id -> new AccountHolds());
+            synchronized (holds) {
+                if (holds.retired) {
+                    continue;
+                }
+                if (balanceMinor - holds.total < amountMinor) {
+                    return null;
+                }
+                long holdId = persist.getAsLong();
+                holds.add(holdId, amountMinor);
+                return holdId;
+            }
+        }
+    }
+
+    /** Indexes an already-persisted hold, used when rebuilding on startup */
+    public void add(long accountId, long holdId, long amountMinor) {
+        while (true) {
+            AccountHolds holds = byAccount.computeIfAbsent(accountId, id -> new AccountHolds());
+            synchronized (holds) {
+                if (!holds.retired) {
+                    holds.add(holdId, amountMinor);
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Removes a hold from the index; a no-op if it is not indexed */
+    public void release(long accountId, long holdId) {
+        AccountHolds holds = byAccount.get(accountId);
+        if (holds == null) {
+            return;
+        }
+        synchronized (holds) {
+            holds.remove(holdId);
+            if (holds.amounts.isEmpty() && !holds.retired) {
+                holds.retired = true;
+                byAccount.remove(accountId, holds);
+            }
+        }
+    }
+
+    /** Number of accounts with at least one active hold */
+    public int accountCount() {
+        return byAccount.size();
+    }
+
+    /** Active holds of one account; guarded by its own monitor */
+    private static final class AccountHolds {
+        private final Map<Long, Long> amounts = new HashMap<>();
+        private long total;
+        private boolean retired;
+
+        void add(long holdId, long amountMinor) {
+            if (amounts.putIfAbsent(holdId, amountMinor) == null) {
+                total += amountMinor;
+            }
+        }
+
+        void remove(long holdId) {
+            Long amountMinor = amounts.remove(holdId);
+            if (amountMinor != null) {
+                total -= amountMinor;
+            }
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.banking.system.service.hold;
+
+import com.banking.system.config.HoldProperties;
+import com.banking.system.dto.*;
+import com.banking.system.dto.TransactionResult.DeclineReason;
+import com.banking.system.entity.*;
+import com.banking.system.exception.AccountNotFoundException;
+import com.banking.system.exception.HoldNotFoundException;
+import com.banking.system.exception.InvalidAmountException;
+import com.banking.system.repository.AccountRepository;
+import com.banking.system.repository.AuthorizationHoldRepository;
+import com.banking.system.repository.TransactionRepository;
+import com.banking.system.service.events.OutboxService;
+import com.banking.system.service.fx.FxRateStore;
+import com.banking.system.service.netting.NettingService;
+import com.banking.system.service.scheduler.HierarchicalTimingWheel;
+import com.banking.system.service.velocity.VelocityCheckService;
+import com.banking.system.util.MoneyUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Service layer for authorization holds: authorize, capture (full or partial) and void.
+ *
+ * <p>Active holds live in {@link HoldIndex}, which answers "how much is held on this
+ * account" without touching the database, and on a timing wheel that expires them.
+ * The holds table is the durable copy; both structures are rebuilt from it on startup.
+ * Index and wheel are only changed after the owning database transaction commits
+ * (or, for a new hold, undone if it rolls back).
+ */
+@Slf4j
+@Service
+public class HoldService {
+
+    private final AccountRepository accountRepository;
+    private final AuthorizationHoldRepository holdRepository;
+    private final TransactionRepository transactionRepository;
+    private final OutboxService outboxService;
+    private final VelocityCheckService velocityCheckService;
+    private final HoldIndex holdIndex;
+    private final NettingService nettingService;
+    private final FxRateStore fxRateStore;
+    private final HoldProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile HierarchicalTimingWheel wheel;
+
+    public HoldService(AccountRepository accountRepository,
+                       AuthorizationHoldRepository holdRepository,
+                       TransactionRepository transactionRepository,
+                       OutboxService outboxService,
+                       VelocityCheckService velocityCheckService,
+                       HoldIndex holdIndex,
+                       NettingService nettingService,
+                       FxRateStore fxRateStore,
+                       HoldProperties properties,
+                       PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.holdRepository = holdRepository;
+        this.transactionRepository = transactionRepository;
+        this.outboxService = outboxService;
+        this.velocityCheckService = velocityCheckService;
+        this.holdIndex = holdIndex;
+        this.nettingService = nettingService;
+        this.fxRateStore = fxRateStore;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ==================== Recovery ====================
+
+    /**
+     * Rebuilds the hold index and expiry wheel from the active holds in the database.
+     * Runs before the web server accepts requests, so no balance check ever sees a
+     * partially rebuilt index. Holds that expired while the node was down land on the
+     * wheel's overdue list and are expired on the first tick.
+     */
+    @PostConstruct
+    public void rebuild() {
+        HierarchicalTimingWheel rebuilt = new HierarchicalTimingWheel(properties.getTickMillis(), System.currentTimeMillis());
+        List<Object[]> active = holdRepository.findSummariesByStatus(HoldStatus.ACTIVE);
+        for (Object[] row : active) {
+            long holdId = (Long) row[0];
+            holdIndex.add((Long) row[1], holdId, MoneyUtils.toMinorUnits((BigDecimal) row[2]));
+            rebuilt.schedule(holdId, toMillis((LocalDateTime) row[3]));
+        }
+        wheel = rebuilt;
+        log.info("Hold index rebuilt with {} active holds", active.size());
+    }
+
+    // ==================== Authorize ====================
+
+    /**
+     * Places a hold on an account if the available balance (balance minus active holds)
+     * covers the amount and the account is within its velocity limits.
+     *
+     * @param request the authorization request
+     * @return the placed hold, or the decline
+     * @throws AccountNotFoundException if the account does not exist
+     * @throws InvalidAmountException if the amount is finer than the account currency's minor unit
+     */
+    @Transactional
+    public HoldResult authorize(HoldRequest request) {
+        // Lock the account like every other debit, so a withdrawal cannot spend the same funds meanwhile
+        Account account = accountRepository.findIdByAccountNumber(request.getAccountNumber())
+                .flatMap(accountRepository::findForUpdate)
+                .orElseThrow(() -> new AccountNotFoundException("accountNumber", request.getAccountNumber()));
+        if (!MoneyUtils.fitsMinorUnit(request.getAmount(), account.getCurrency())) {
+            throw new InvalidAmountException(request.getAmount(), account.getCurrency());
+        }
+
+        // Velocity limits are set in the default currency
+        VelocityCheckService.Reservation velocity = velocityCheckService.reserve(request.getAccountNumber(), null,
+                fxRateStore.toDefaultCurrency(request.getAmount(), account.getCurrency()));
+        if (velocity.isRejected()) {
+            return HoldResult.declined(DeclineReason.VELOCITY_LIMIT, velocity.getRejection());
+        }
+
+        long expirySeconds = request.getExpiresInSeconds() != null
+                ? Math.min(request.getExpiresInSeconds(), properties.getMaxExpirySeconds())
+                : properties.getDefaultExpirySeconds();
+        AuthorizationHold hold = AuthorizationHold.builder()
+                .account(account)
+                .amount(request.getAmount())
+                .reference(request.getReference())
+                .expiresAt(LocalDateTime.now().plusSeconds(expirySeconds))
+                .build();
+
+        BigDecimal balance = account.getBalance().add(nettingService.pendingNetDebit(account.getId()));
+        Long holdId = holdIndex.reserve(account.getId(), MoneyUtils.toMinorUnits(balance),
+                MoneyUtils.toMinorUnits(request.getAmount()), () -> holdRepository.save(hold).getId());
+        if (holdId == null) {
+            velocityCheckService.release(velocity);
+            return HoldResult.declined(DeclineReason.INSUFFICIENT_BALANCE, String.format(
+                    "Insufficient balance in account '%s'. Requested: %s, Available: %s",
+                    request.getAccountNumber(), request.getAmount(), availableBalance(account)));
+        }
+
+        long accountId = account.getId();
+        long dueMillis = toMillis(hold.getExpiresAt());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    wheel.schedule(holdId, dueMillis);
+                } else {
+                    holdIndex.release(accountId, holdId);
+                }
+            }
+        });
+        return HoldResult.accepted(mapToResponse(hold));
+    }
+
+    // ==================== Capture / Void ====================
+
+    /**
+     * Captures an active hold, debiting the captured amount and releasing the rest.
+     * A hold can be captured once; a partial capture releases the remainder.
+     * The account row is locked and the capture is checked against the available
+     * balance with this hold's funds added back, so it never overdraws the account.
+     *
+     * @param holdId  the hold ID
+     * @param request the capture request; a null amount captures the full hold
+     * @return the captured hold, including the CAPTURE transaction ID
+     * @throws HoldNotFoundException    if the hold does not exist
+     * @throws InvalidAmountException   if the amount is finer than the account currency's minor unit
+     * @throws IllegalArgumentException if the hold is not active, the amount exceeds it,
+     *                                  or the balance no longer covers it
+     */
+    @Transactional
+    public HoldResponse capture(Long holdId, CaptureRequest request) {
+        AuthorizationHold hold = findActiveForUpdate(holdId);
+        BigDecimal amount = request != null && request.getAmount() != null ? request.getAmount() : hold.getAmount();
+        if (amount.compareTo(hold.getAmount()) > 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Capture amount %s exceeds hold amount %s", amount, hold.getAmount()));
+        }
+
+        Account account = accountRepository.findForUpdate(hold.getAccount().getId()).orElseThrow();
+        if (!MoneyUtils.fitsMinorUnit(amount, account.getCurrency())) {
+            throw new InvalidAmountException(amount, account.getCurrency());
+        }
+        BigDecimal available = availableBalance(account).add(hold.getAmount());
+        if (available.compareTo(amount) < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Insufficient balance to capture hold %d. Requested: %s, Available: %s",
+                    holdId, amount, available));
+        }
+        account.setBalance(account.getBalance().subtract(amount));
+        accountRepository.save(account);
+
+        Transaction saved = transactionRepository.save(Transaction.builder()
+                .fromAccount(account)
+                .amount(amount)
+                .type(TransactionType.CAPTURE)
+                .status(TransactionStatus.SUCCESS)
+                .build());
+        outboxService.recordTransaction(saved);
+
+        hold.setStatus(HoldStatus.CAPTURED);
+        hold.setCapturedAmount(amount);
+        hold.setTransactionId(saved.getId());
+        releaseAfterCommit(hold);
+        return mapToResponse(hold);
+    }
+
+    /**
+     * Voids an active hold, releasing the reserved funds without a debit.
+     *
+     * @throws HoldNotFoundException    if the hold does not exist
+     * @throws IllegalArgumentException if the hold is not active
+     */
+    @Transactional
+    public HoldResponse voidHold(Long holdId) {
+        AuthorizationHold hold = findActiveForUpdate(holdId);
+        hold.setStatus(HoldStatus.VOIDED);
+        releaseAfterCommit(hold);
+        return mapToResponse(hold);
+    }
+
+    /**
+     * Retrieves a hold by ID.
+     *
+     * @throws HoldNotFoundException if the hold does not exist
+     */
+    @Transactional(readOnly = true)
+    public HoldResponse getHold(Long holdId) {
+        return mapToResponse(holdRepository.findById(holdId)
+                .orElseThrow(() -> new HoldNotFoundException(holdId)));
+    }
+
+    /** Available balance of an account: ledger balance minus active holds and pending netting debits */
+    public BigDecimal availableBalance(Account account) {
+        return account.getBalance()
+                .subtract(holdIndex.heldAmount(account.getId()))
+                .add(nettingService.pendingNetDebit(account.getId()));
+    }
+
+    // ==================== Expiry ====================
+
+    /**
+     * Advances the expiry wheel and expires due holds in batches, each batch in its
+     * own transaction. Captured or voided holds still on the wheel are skipped.
+     */
+    @Scheduled(fixedDelayString = "${banking.holds.tick-millis:1000}")
+    public void expireDue() {
+        HierarchicalTimingWheel current = wheel;
+        if (current == null) {
+            return;
+        }
+        List<Long> due = current.advanceTo(System.currentTimeMillis());
+        for (int from = 0; from < due.size(); from += properties.getExpiryBatchSize()) {
+            List<Long> batch = due.subList(from, Math.min(from + properties.getExpiryBatchSize(), due.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> expire(batch, current));
+            } catch (RuntimeException ex) {
+                log.warn("Expiring {} holds failed; retrying on a later tick", batch.size(), ex);
+                long retryAt = System.currentTimeMillis() + properties.getTickMillis();
+                batch.forEach(id -> current.schedule(id, retryAt));
+            }
+        }
+    }
+
+    /**
+     * Expires the given holds that are still active. The wheel fires at the start of the
+     * due tick, so a hold can come up slightly before its expiry time; it is put back on
+     * the wheel instead.
+     */
+    private void expire(List<Long> holdIds, HierarchicalTimingWheel current) {
+        LocalDateTime now = LocalDateTime.now();
+        for (AuthorizationHold hold : holdRepository.findAllForUpdate(holdIds)) {
+            if (hold.getStatus() != HoldStatus.ACTIVE) {
+                continue;
+            }
+            if (hold.getExpiresAt().isAfter(now)) {
+                current.schedule(hold.getId(), toMillis(hold.getExpiresAt()));
+            } else {
+                hold.setStatus(HoldStatus.EXPIRED);
+                releaseAfterCommit(hold);
+            }
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    /**
+     * Loads a hold with a row lock and checks it can still be captured or voided.
+     * A hold past its expiry is rejected even if the sweep has not reached it yet.
+     */
+    private AuthorizationHold findActiveForUpdate(Long holdId) {
+        AuthorizationHold hold = holdRepository.findForUpdate(holdId);
+        if (hold == null) {
+            throw new HoldNotFoundException(holdId);
+        }
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new IllegalArgumentException(String.format("Hold %d is already %s", holdId, hold.getStatus()));
+        }
+        if (!hold.getExpiresAt().isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException(String.format("Hold %d has expired", holdId));
+        }
+        return hold;
+    }
+
+    /** Drops the hold from the index once its status change has committed */
+    private void releaseAfterCommit(AuthorizationHold hold) {
+        long accountId = hold.getAccount().getId();
+        long holdId = hold.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                holdIndex.release(accountId, holdId);
+            }
+        });
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /** Maps an AuthorizationHold entity to a HoldResponse DTO */
+    private HoldResponse mapToResponse(AuthorizationHold hold) {
+        return HoldResponse.builder()
+                .id(hold.getId())
+                .accountNumber(hold.getAccount().getAccountNumber())
+                .amount(hold.getAmount())
+                .capturedAmount(hold.getCapturedAmount())
+                .status(hold.getStatus())
+                .reference(hold.getReference())
+                .transactionId(hold.getTransactionId())
+                .expiresAt(hold.getExpiresAt())
+                .createdAt(hold.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,192 @@
+package com.banking.system.service.index;
+
+import com.banking.system.config.AccountIndexProperties;
+import com.banking.system.util.MoneyUtils;
+import com.banking.system.util.OffHeapAccountTable;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Lookup and cache tier under {@code AccountService}: maps numeric account numbers to
+ * account IDs and currencies, and caches each account's balance with a version, all held off-heap in
+ * an {@link OffHeapAccountTable} sized by {@code banking.account-index.max-accounts}.
+ *
+ * <p>Balances are published after commit by {@link AccountIndexListener}; a publish
+ * only succeeds if the version is unchanged since the account was loaded, otherwise
+ * the cached balance is dropped and the next read refills it from the database.
+ * Accounts beyond capacity, or with non-numeric numbers, simply bypass the index.
+ * Footprint is published as {@code banking.account-index.*} gauges.
+ */
+@Slf4j
+@Component
+public class AccountIndex {
+
+    /** Version reported for accounts that are not in the index */
+    public static final long NOT_INDEXED = -1L;
+
+    private static final int MAX_DIGITS = 17;
+
+    private final boolean enabled;
+    private final OffHeapAccountTable table;
+    private volatile boolean fullLogged;
+
+    public AccountIndex(AccountIndexProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.table = new OffHeapAccountTable(enabled ? properties.getMaxAccounts() : 1);
+        Gauge.builder("banking.account-index.entries", table, OffHeapAccountTable::size)
+                .description("Accounts held in the off-heap index")
+                .register(meterRegistry);
+        Gauge.builder("banking.account-index.capacity", table, OffHeapAccountTable::capacity)
+                .description("Maximum accounts the off-heap index can hold")
+                .register(meterRegistry);
+        Gauge.builder("banking.account-index.off-heap", table, OffHeapAccountTable::offHeapBytes)
+                .baseUnit("bytes")
+                .description("Direct memory allocated by the off-heap index")
+                .register(meterRegistry);
+        Gauge.builder("banking.account-index.bytes-per-account", table, t -> (double) t.offHeapBytes() / t.capacity())
+                .baseUnit("bytes")
+                .description("Off-heap bytes per account at full capacity")
+                .register(meterRegistry);
+        if (enabled) {
+            log.info("Account index holds up to {} accounts in {} bytes off-heap",
+                    table.capacity(), table.offHeapBytes());
+        }
+    }
+
+    /** Returns the ID of the account with this number, or null if it is not indexed */
+    public Long accountIdOf(String accountNumber) {
+        int slot = slotOf(accountNumber);
+        return slot < 0 ? null : table.accountId(slot);
+    }
+
+    /** Adds the account number to the index if it fits */
+    public void register(String accountNumber, long accountId, String currency) {
+        long key = encode(accountNumber);
+        if (!enabled || key < 0) {
+            return;
+        }
+        if (table.insert(key, accountId, encodeCurrency(currency)) < 0 && !fullLogged) {
+            fullLogged = true;
+            log.warn("Account index is full at {} accounts; further accounts bypass it", table.capacity());
+        }
+    }
+
+    /** Current balance version of the account, or {@link #NOT_INDEXED} */
+    public long versionOf(String accountNumber) {
+        int slot = slotOf(accountNumber);
+        return slot < 0 ? NOT_INDEXED : table.version(slot);
+    }
+
+    /**
+     * Reads the cached balance of an indexed account.
+     *
+     * @return the balance and version; the balance is null if it is not cached.
+     *         Null if the account is not indexed.
+     */
+    public CachedBalance cachedBalance(String accountNumber) {
+        int slot = slotOf(accountNumber);
+        if (slot < 0) {
+            return null;
+        }
+        long[] version = new long[1];
+        long minor = table.balance(slot, version);
+        BigDecimal balance = minor == OffHeapAccountTable.UNKNOWN_BALANCE ? null : MoneyUtils.fromMinorUnits(minor);
+        return new CachedBalance(table.accountId(slot), decodeCurrency(table.currency(slot)), balance, version[0]);
+    }
+
+    /**
+     * Caches a balance read from the database, unless the account changed since the
+     * version was taken or another reader already filled it.
+     */
+    public void fill(String accountNumber, long version, BigDecimal balance) {
+        int slot = slotOf(accountNumber);
+        if (slot >= 0 && version != NOT_INDEXED) {
+            table.compareAndSetBalance(slot, version, MoneyUtils.toMinorUnits(balance), true);
+        }
+    }
+
+    /**
+     * Publishes a committed balance written by a transaction that loaded the account
+     * at the given version; drops the cached balance if the version has moved on.
+     */
+    public void publish(String accountNumber, long version, BigDecimal balance) {
+        int slot = slotOf(accountNumber);
+        if (slot < 0) {
+            return;
+        }
+        if (version == NOT_INDEXED
+                || !table.compareAndSetBalance(slot, version, MoneyUtils.toMinorUnits(balance), false)) {
+            table.invalidate(slot);
+        }
+    }
+
+    /** Drops the cached balance, e.g. after a bulk update that bypassed the entity */
+    public void invalidate(String accountNumber) {
+        int slot = slotOf(accountNumber);
+        if (slot >= 0) {
+            table.invalidate(slot);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private int slotOf(String accountNumber) {
+        long key = encode(accountNumber);
+        return enabled && key >= 0 ? table.slotOf(key) : -1;
+    }
+
+    /**
+     * Encodes a numeric account number of up to 17 digits as a long key, keeping its
+     * length so leading zeros stay distinct.
+     *
+     * @return the key, or -1 if the number cannot be indexed
+     */
+    static long encode(String accountNumber) {
+        if (accountNumber == null || accountNumber.isEmpty() || accountNumber.length() > MAX_DIGITS) {
+            return -1L;
+        }
+        long value = 0;
+        for (int i = 0; i < accountNumber.length(); i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1L;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return (value << 5) | accountNumber.length();
+    }
+
+    /** Packs a three-letter currency code into 15 bits; 0 for anything else */
+    static int encodeCurrency(String currency) {
+        if (currency == null || currency.length() != 3) {
+            return 0;
+        }
+        int code = 0;
+        for (int i = 0; i < 3; i++) {
+            char c = currency.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return 0;
+            }
+            code = (code << 5) | (c - 'A' + 1);
+        }
+        return code;
+    }
+
+    static String decodeCurrency(int code) {
+        if (code == 0) {
+            return null;
+        }
+        return new String(new char[]{
+                (char) ('A' - 1 + ((code >> 10) & 31)), (char) ('A' - 1 + ((code >> 5) & 31)), (char) ('A' - 1 + (code & 31))});
+    }
+
+    /** Snapshot of an indexed account's cached balance */
+    public record CachedBalance(long accountId, String currency, BigDecimal balance, long version) {
+    }
+}
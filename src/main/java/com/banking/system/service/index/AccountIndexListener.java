@@ -0,0 +1,61 @@
+package com.banking.system.service.index;
+
+import com.banking.system.entity.Account;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+
+/**
+ * Keeps the {@link AccountIndex} coherent with the accounts table. Loading an account
+ * records the index version it was read at; once a transaction that inserted or
+ * updated the account commits, the new mapping or balance is published against that
+ * version. Rolled-back changes are never published.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountIndexListener {
+
+    private final AccountIndex accountIndex;
+
+    @PostLoad
+    public void loaded(Account account) {
+        account.setIndexVersion(accountIndex.versionOf(account.getAccountNumber()));
+    }
+
+    @PostPersist
+    public void created(Account account) {
+        String accountNumber = account.getAccountNumber();
+        long accountId = account.getId();
+        String currency = account.getCurrency();
+        afterCommit(() -> accountIndex.register(accountNumber, accountId, currency));
+    }
+
+    @PostUpdate
+    public void updated(Account account) {
+        String accountNumber = account.getAccountNumber();
+        long version = account.getIndexVersion();
+        BigDecimal balance = account.getBalance();
+        // A second flush of the same account must not publish against the same version
+        account.setIndexVersion(AccountIndex.NOT_INDEXED);
+        afterCommit(() -> accountIndex.publish(accountNumber, version, balance));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
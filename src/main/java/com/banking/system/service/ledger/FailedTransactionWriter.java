@@ -0,0 +1,201 @@
+package com.banking.system.service.ledger;
+
+import com.banking.system.config.FailureLedgerProperties;
+import com.banking.system.entity.*;
+import com.banking.system.repository.AccountRepository;
+import com.banking.system.repository.TransactionRepository;
+import com.banking.system.service.events.OutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Persists declined (FAILED) transactions, normally off the request path.
+ * Declines are queued and written in batches, each batch in its own database
+ * transaction, so the declining request does not wait for the insert.
+ *
+ * <p>A decline arriving while the queue is full (or after shutdown began) is written
+ * in the declining request's own transaction instead, which commits because declines
+ * are returned rather than thrown; these are counted in
+ * {@code banking.failure-ledger.inline-writes}. A failed batch is retried with backoff
+ * up to {@code maxAttempts} times, then its entries are written one at a time so that
+ * one entry that can never be written (such as a constraint violation) is logged and
+ * skipped without holding up the others. Declines still queued when the process dies
+ * are lost; that window is at most {@code queueCapacity} declines, normally one
+ * {@code maxDelayMillis} worth. A graceful shutdown drains the queue.
+ */
+@Slf4j
+@Component
+public class FailedTransactionWriter {
+
+    private static final long MAX_BACKOFF_MILLIS = 5000;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final OutboxService outboxService;
+    private final FailureLedgerProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate callerTransactionTemplate;
+    private final BlockingQueue<Entry> queue;
+    private final Counter inlineWrites;
+
+    private volatile boolean running = true;
+    private Thread writerThread;
+
+    public FailedTransactionWriter(AccountRepository accountRepository,
+                                   TransactionRepository transactionRepository,
+                                   OutboxService outboxService,
+                                   FailureLedgerProperties properties,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.outboxService = outboxService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.callerTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.inlineWrites = Counter.builder("banking.failure-ledger.inline-writes")
+                .description("Declines written in the declining request's transaction because the queue was full or shutting down")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A declined operation to be recorded as a FAILED transaction.
+     *
+     * @param fromAccountId debited account ID, or null
+     * @param toAccountId   credited local account ID, or null
+     * @param counterparty  account number on another shard, or null
+     */
+    public record Entry(Long fromAccountId, Long toAccountId, String counterparty,
+                        BigDecimal amount, TransactionType type, String failureReason) {
+    }
+
+    @PostConstruct
+    public void start() {
+        writerThread = new Thread(this::run, "failed-transaction-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues a decline for asynchronous persistence. If the writer has fallen behind, the
+     * decline is written in the caller's transaction (or a new one if there is none).
+     */
+    public void submit(Entry entry) {
+        if (running && queue.offer(entry)) {
+            return;
+        }
+        inlineWrites.increment();
+        callerTransactionTemplate.executeWithoutResult(status -> write(List.of(entry)));
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(properties.getMaxDelayMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                persistWithRetry(batch);
+                batch.clear();
+            } catch (InterruptedException ex) {
+                // Woken for shutdown; the loop drains what is left
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private void persistWithRetry(List<Entry> batch) {
+        long backoff = 100;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                persist(batch);
+                return;
+            } catch (RuntimeException ex) {
+                if (!running || attempt >= properties.getMaxAttempts()) {
+                    log.warn("Writing {} failed-transaction records failed {} times; writing them one at a time",
+                            batch.size(), attempt, ex);
+                    persistEach(batch);
+                    return;
+                }
+                log.warn("Writing {} failed-transaction records failed; retrying in {} ms", batch.size(), backoff, ex);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /** Writes each entry on its own, logging and skipping those that still fail */
+    private void persistEach(List<Entry> batch) {
+        for (Entry entry : batch) {
+            try {
+                persist(List.of(entry));
+            } catch (RuntimeException ex) {
+                log.error("Skipping failed-transaction record {}", entry, ex);
+            }
+        }
+    }
+
+    private void persist(List<Entry> batch) {
+        transactionTemplate.executeWithoutResult(status -> write(batch));
+    }
+
+    /** Inserts the FAILED transactions and their outbox events in the current transaction */
+    private void write(List<Entry> batch) {
+        Set<Long> accountIds = new HashSet<>();
+        for (Entry entry : batch) {
+            if (entry.fromAccountId() != null) {
+                accountIds.add(entry.fromAccountId());
+            }
+            if (entry.toAccountId() != null) {
+                accountIds.add(entry.toAccountId());
+            }
+        }
+        Map<Long, Account> accounts = accountRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+
+        for (Entry entry : batch) {
+            Transaction saved = transactionRepository.save(Transaction.builder()
+                    .fromAccount(entry.fromAccountId() != null ? accounts.get(entry.fromAccountId()) : null)
+                    .toAccount(entry.toAccountId() != null ? accounts.get(entry.toAccountId()) : null)
+                    .counterpartyAccountNumber(entry.counterparty())
+                    .amount(entry.amount())
+                    .type(entry.type())
+                    .status(TransactionStatus.FAILED)
+                    .failureReason(entry.failureReason())
+                    .build());
+            outboxService.recordTransaction(saved);
+        }
+    }
+
+    /** Stops accepting work and drains everything still queued */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(30));
+    }
+}
@@ -0,0 +1,58 @@
+package com.banking.system.service.netting;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory state of one settlement cycle: the net position of every participant in
+ * minor units (credits minus debits) and the number of accepts still in flight.
+ *
+ * <p>An accept increments {@link #inflight} before checking {@link #closed} and
+ * decrements it when its database transaction completes, so once a cycle is closed
+ * and its in-flight count reaches zero every accepted transfer has committed (or been
+ * undone) and the positions are final.
+ */
+final class NettingCycle {
+
+    final long id;
+    final ConcurrentHashMap<Long, AtomicLong> positions = new ConcurrentHashMap<>();
+    final AtomicInteger inflight = new AtomicInteger();
+    final LongAdder transfers = new LongAdder();
+    final LongAdder grossMinor = new LongAdder();
+    volatile boolean closed;
+
+    NettingCycle(long id) {
+        this.id = id;
+    }
+
+    /** Mutable position of an account, created on first use */
+    AtomicLong position(long accountId) {
+        return positions.computeIfAbsent(accountId, key -> new AtomicLong());
+    }
+
+    /** Current position of an account, zero if it has none */
+    long positionOf(long accountId) {
+        AtomicLong position = positions.get(accountId);
+        return position != null ? position.get() : 0L;
+    }
+
+    /** Records or undoes (negative sign) one transfer */
+    void apply(long fromAccountId, long toAccountId, long amountMinor, int sign) {
+        position(fromAccountId).addAndGet(-sign * amountMinor);
+        position(toAccountId).addAndGet(sign * amountMinor);
+        transfers.add(sign);
+        grossMinor.add(sign * amountMinor);
+    }
+
+    /** Sum of the positive positions: the money that moves when the cycle settles */
+    long netMinor() {
+        long net = 0;
+        for (Map.Entry<Long, AtomicLong> entry : positions.entrySet()) {
+            net += Math.max(0, entry.getValue().get());
+        }
+        return net;
+    }
+}
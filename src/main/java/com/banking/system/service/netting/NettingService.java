@@ -0,0 +1,354 @@
+package com.banking.system.service.netting;
+
+import com.banking.system.config.NettingProperties;
+import com.banking.system.dto.SettlementCycleResponse;
+import com.banking.system.entity.*;
+import com.banking.system.exception.AccountNotFoundException;
+import com.banking.system.repository.AccountRepository;
+import com.banking.system.repository.SettlementCycleRepository;
+import com.banking.system.repository.TransactionRepository;
+import com.banking.system.service.events.OutboxService;
+import com.banking.system.service.hold.HoldIndex;
+import com.banking.system.service.index.AccountIndex;
+import com.banking.system.util.MoneyUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deferred multilateral netting for transfers between enrolled accounts.
+ *
+ * <p>A netted transfer is accepted into the open cycle: its PENDING transaction is
+ * written and both net positions are updated in memory, but no account row is touched.
+ * At cycle close the net positions are applied as one relative balance UPDATE per
+ * participant and the cycle is marked SETTLED, with a single cycle-settled outbox event.
+ * The transfers' rows are not touched: a PENDING transfer of a settled cycle is reported
+ * as SUCCESS. Settlement writes therefore scale with participants rather than transfers.
+ *
+ * <p>Available balance for a netted debit counts the current cycle's position in full
+ * (incoming transfers settle atomically with outgoing ones). Any other debit only sees
+ * pending net debits. Debits of cycles that are closed, or settled within the last
+ * cycle interval, are still subtracted, so a balance read from a snapshot taken before
+ * settlement committed cannot be spent twice.
+ */
+@Slf4j
+@Service
+public class NettingService {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final SettlementCycleRepository cycleRepository;
+    private final OutboxService outboxService;
+    private final HoldIndex holdIndex;
+    private final AccountIndex accountIndex;
+    private final NettingProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Cycles closed to new transfers but not yet settled */
+    private final List<NettingCycle> closing = new CopyOnWriteArrayList<>();
+    private volatile NettingCycle current;
+    private volatile NettingCycle lastSettled;
+
+    public NettingService(AccountRepository accountRepository,
+                          TransactionRepository transactionRepository,
+                          SettlementCycleRepository cycleRepository,
+                          OutboxService outboxService,
+                          HoldIndex holdIndex,
+                          AccountIndex accountIndex,
+                          NettingProperties properties,
+                          PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.cycleRepository = cycleRepository;
+        this.outboxService = outboxService;
+        this.holdIndex = holdIndex;
+        this.accountIndex = accountIndex;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ==================== Recovery ====================
+
+    /**
+     * Restores unsettled cycles from their PENDING transactions and opens a fresh cycle.
+     * Every cycle left open by a previous run is treated as closed and settled on the
+     * first tick.
+     */
+    @PostConstruct
+    public void recover() {
+        List<SettlementCycle> unsettled = cycleRepository.findByStatusInOrderByIdAsc(
+                List.of(SettlementCycleStatus.OPEN, SettlementCycleStatus.CLOSED));
+        for (SettlementCycle entity : unsettled) {
+            NettingCycle cycle = new NettingCycle(entity.getId());
+            for (Transaction pending : transactionRepository.findBySettlementCycleIdAndStatusOrderByIdAsc(
+                    entity.getId(), TransactionStatus.PENDING)) {
+                cycle.apply(pending.getFromAccount().getId(), pending.getToAccount().getId(),
+                        MoneyUtils.toMinorUnits(pending.getAmount()), 1);
+            }
+            cycle.closed = true;
+            closing.add(cycle);
+            if (entity.getStatus() == SettlementCycleStatus.OPEN) {
+                entity.setStatus(SettlementCycleStatus.CLOSED);
+                cycleRepository.save(entity);
+            }
+        }
+        current = new NettingCycle(cycleRepository.save(new SettlementCycle()).getId());
+        log.info("Netting opened cycle {} with {} unsettled cycles to recover", current.id, closing.size());
+    }
+
+    // ==================== Enrollment ====================
+
+    /** Whether a transfer between the two accounts is settled by netting; never across currencies */
+    public boolean isNetted(Account from, Account to) {
+        return properties.isEnabled() && from.isNettingEnrolled() && to.isNettingEnrolled()
+                && from.getCurrency().equals(to.getCurrency());
+    }
+
+    /**
+     * Enrolls or withdraws an account from netting. Transfers already accepted into a
+     * cycle still settle with it.
+     *
+     * @throws AccountNotFoundException if the account does not exist on this node
+     */
+    @Transactional
+    public void setEnrolled(String accountNumber, boolean enrolled) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("accountNumber", accountNumber));
+        account.setNettingEnrolled(enrolled);
+    }
+
+    // ==================== Accept ====================
+
+    /**
+     * Accepts a transfer into the open cycle if the payer's available balance, including
+     * its net position in the cycle, covers it. Must run inside the caller's transaction;
+     * the positions are undone if that transaction rolls back.
+     *
+     * @return the saved PENDING transaction, or null if the available balance is insufficient
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Transaction accept(Account from, Account to, BigDecimal amount) {
+        long fromId = from.getId();
+        long toId = to.getId();
+        long amountMinor = MoneyUtils.toMinorUnits(amount);
+        long base = MoneyUtils.toMinorUnits(from.getBalance())
+                - MoneyUtils.toMinorUnits(holdIndex.heldAmount(fromId))
+                + unsettledDebitMinor(fromId);
+
+        NettingCycle cycle;
+        while (true) {
+            cycle = current;
+            cycle.inflight.incrementAndGet();
+            if (!cycle.closed) {
+                break;
+            }
+            cycle.inflight.decrementAndGet();
+        }
+
+        AtomicLong fromPosition = cycle.position(fromId);
+        long position;
+        do {
+            position = fromPosition.get();
+            if (base + position < amountMinor) {
+                cycle.inflight.decrementAndGet();
+                return null;
+            }
+        } while (!fromPosition.compareAndSet(position, position - amountMinor));
+        cycle.position(toId).addAndGet(amountMinor);
+        cycle.transfers.increment();
+        cycle.grossMinor.add(amountMinor);
+
+        NettingCycle accepted = cycle;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    accepted.apply(fromId, toId, amountMinor, -1);
+                }
+                accepted.inflight.decrementAndGet();
+            }
+        });
+
+        Transaction saved = transactionRepository.save(Transaction.builder()
+                .fromAccount(from)
+                .toAccount(to)
+                .amount(amount)
+                .type(TransactionType.TRANSFER)
+                .status(TransactionStatus.PENDING)
+                .settlementCycleId(cycle.id)
+                .build());
+        outboxService.recordTransaction(saved);
+        return saved;
+    }
+
+    /**
+     * Net debits of an account that are accepted but not reflected in a freshly read
+     * balance (zero or negative). Used by every non-netted debit of the account.
+     */
+    public BigDecimal pendingNetDebit(Long accountId) {
+        NettingCycle open = current;
+        long pending = unsettledDebitMinor(accountId) + (open != null ? Math.min(0, open.positionOf(accountId)) : 0);
+        return MoneyUtils.fromMinorUnits(pending);
+    }
+
+    /** Negative positions of closed and recently settled cycles */
+    private long unsettledDebitMinor(long accountId) {
+        long debit = 0;
+        for (NettingCycle cycle : closing) {
+            debit += Math.min(0, cycle.positionOf(accountId));
+        }
+        NettingCycle settled = lastSettled;
+        if (settled != null) {
+            debit += Math.min(0, settled.positionOf(accountId));
+        }
+        return debit;
+    }
+
+    // ==================== Close / Settle ====================
+
+    /** Closes the open cycle if it has transfers, then settles every drained closed cycle */
+    @Scheduled(fixedDelayString = "${banking.netting.cycle-millis:5000}")
+    public void tick() {
+        if (current == null) {
+            return;
+        }
+        // Snapshots older than one cycle interval have long since ended
+        lastSettled = null;
+        closeAndSettle(false, 0);
+    }
+
+    /**
+     * Closes the open cycle now and settles it, waiting up to the drain timeout for
+     * in-flight accepts to commit.
+     *
+     * @return the closed cycle; SETTLED unless in-flight accepts did not drain in time
+     */
+    public SettlementCycleResponse closeNow() {
+        NettingCycle closed = closeAndSettle(true, properties.getDrainTimeoutMillis());
+        return cycleRepository.findById(closed.id).map(this::mapToResponse).orElseThrow();
+    }
+
+    /** Current open cycle with its live figures */
+    public SettlementCycleResponse currentCycle() {
+        NettingCycle open = current;
+        return SettlementCycleResponse.builder()
+                .id(open.id)
+                .status(SettlementCycleStatus.OPEN)
+                .transferCount(open.transfers.intValue())
+                .participantCount((int) open.positions.values().stream().filter(p -> p.get() != 0).count())
+                .grossAmount(MoneyUtils.fromMinorUnits(open.grossMinor.sum()))
+                .netAmount(MoneyUtils.fromMinorUnits(open.netMinor()))
+                .openedAt(cycleRepository.findById(open.id).map(SettlementCycle::getOpenedAt).orElse(null))
+                .build();
+    }
+
+    /**
+     * Rotates the open cycle (unless it is empty and not forced) and settles every
+     * closed cycle whose accepts have all completed.
+     */
+    private synchronized NettingCycle closeAndSettle(boolean force, long drainTimeoutMillis) {
+        NettingCycle closed = current;
+        if (force || closed.transfers.sum() > 0) {
+            // Open the successor first so accepts are never without a cycle
+            NettingCycle next = new NettingCycle(cycleRepository.save(new SettlementCycle()).getId());
+            closed.closed = true;
+            closing.add(closed);
+            current = next;
+            cycleRepository.findById(closed.id).ifPresent(entity -> {
+                entity.setStatus(SettlementCycleStatus.CLOSED);
+                cycleRepository.save(entity);
+            });
+        }
+
+        long deadline = System.currentTimeMillis() + drainTimeoutMillis;
+        for (NettingCycle cycle : new ArrayList<>(closing)) {
+            while (cycle.inflight.get() > 0 && System.currentTimeMillis() < deadline) {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (cycle.inflight.get() > 0) {
+                // Accepts still committing; settle on a later tick
+                continue;
+            }
+            try {
+                settle(cycle);
+                closing.remove(cycle);
+                lastSettled = cycle;
+            } catch (RuntimeException ex) {
+                log.warn("Settling netting cycle {} failed; retrying on the next tick", cycle.id, ex);
+            }
+        }
+        return closed;
+    }
+
+    /**
+     * Applies a drained cycle in one database transaction: one relative balance UPDATE
+     * per participant with a non-zero position, the cycle's SETTLED status and one
+     * cycle-settled outbox event carrying the cycle ID. The relative UPDATEs bypass the
+     * entity, so the participants' cached balances are dropped once it commits.
+     */
+    private void settle(NettingCycle cycle) {
+        List<String> adjustedAccounts = transactionTemplate.execute(status -> {
+            List<Long> participantIds = new ArrayList<>();
+            for (Map.Entry<Long, AtomicLong> entry : cycle.positions.entrySet()) {
+                long position = entry.getValue().get();
+                if (position != 0) {
+                    accountRepository.adjustBalance(entry.getKey(), MoneyUtils.fromMinorUnits(position));
+                    participantIds.add(entry.getKey());
+                }
+            }
+            int participants = participantIds.size();
+            int settled = cycle.transfers.intValue();
+
+            SettlementCycle entity = cycleRepository.findById(cycle.id).orElseThrow();
+            entity.setStatus(SettlementCycleStatus.SETTLED);
+            entity.setTransferCount(settled);
+            entity.setParticipantCount(participants);
+            entity.setGrossAmount(MoneyUtils.fromMinorUnits(cycle.grossMinor.sum()));
+            entity.setNetAmount(MoneyUtils.fromMinorUnits(cycle.netMinor()));
+            entity.setSettledAt(LocalDateTime.now());
+            cycleRepository.save(entity);
+            outboxService.recordCycleSettled(mapToResponse(entity));
+            if (settled > 0) {
+                log.info("Settled netting cycle {}: {} transfers across {} accounts", cycle.id, settled, participants);
+            }
+            return accountRepository.findAllById(participantIds).stream()
+                    .map(Account::getAccountNumber)
+                    .toList();
+        });
+        adjustedAccounts.forEach(accountIndex::invalidate);
+    }
+
+    /** Maps a SettlementCycle entity to a SettlementCycleResponse DTO */
+    private SettlementCycleResponse mapToResponse(SettlementCycle cycle) {
+        return SettlementCycleResponse.builder()
+                .id(cycle.getId())
+                .status(cycle.getStatus())
+                .transferCount(cycle.getTransferCount())
+                .participantCount(cycle.getParticipantCount())
+                .grossAmount(cycle.getGrossAmount())
+                .netAmount(cycle.getNetAmount())
+                .openedAt(cycle.getOpenedAt())
+                .settledAt(cycle.getSettledAt())
+                .build();
+    }
+}
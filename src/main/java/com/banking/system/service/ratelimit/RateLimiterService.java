@@ -0,0 +1,96 @@
+package com.banking.system.service.ratelimit;
+
+import com.banking.system.config.RateLimitProperties;
+import com.banking.system.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client and per-account token-bucket rate limiting.
+ * Buckets live in a fixed array of concurrent maps (stripes) selected by key hash,
+ * so idle-bucket eviction sweeps one stripe at a time without stalling writers.
+ * Enforcement time is recorded in the {@code banking.ratelimit.overhead} timer.
+ */
+@Service
+public class RateLimiterService {
+
+    private static final int STRIPES = 16;
+
+    private final RateLimitProperties properties;
+    private final ConcurrentHashMap<String, TokenBucket>[] stripes;
+    private final Timer overheadTimer;
+    private final Counter rejectedCounter;
+    private int nextStripeToSweep;
+
+    @SuppressWarnings("unchecked")
+    public RateLimiterService(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.stripes = new ConcurrentHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.overheadTimer = Timer.builder("banking.ratelimit.overhead")
+                .description("Time spent enforcing rate limits per check")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("banking.ratelimit.rejected")
+                .description("Requests rejected with 429")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consumes one token from the client's bucket for the endpoint.
+     *
+     * @throws RateLimitExceededException if the client is over its limit
+     */
+    public void acquireForClient(String endpoint, String clientId) {
+        RateLimitProperties.Limit limit = properties.limitFor(endpoint);
+        acquire(endpoint + "|client|" + clientId, limit.getClientPerSecond(), limit.getClientBurst());
+    }
+
+    /**
+     * Consumes one token from the account's bucket for the endpoint.
+     *
+     * @throws RateLimitExceededException if the account is over its limit
+     */
+    public void acquireForAccount(String endpoint, String accountKey) {
+        RateLimitProperties.Limit limit = properties.limitFor(endpoint);
+        acquire(endpoint + "|account|" + accountKey, limit.getAccountPerSecond(), limit.getAccountBurst());
+    }
+
+    private void acquire(String key, double permitsPerSecond, int burst) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        TokenBucket bucket = stripeFor(key).computeIfAbsent(key, k -> new TokenBucket(permitsPerSecond, burst, start));
+        long waitNanos = bucket.tryAcquire(start);
+        overheadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (waitNanos > 0) {
+            rejectedCounter.increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throw new RateLimitExceededException(retryAfterSeconds);
+        }
+    }
+
+    private ConcurrentHashMap<String, TokenBucket> stripeFor(String key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    /** Evicts full, idle buckets from the next stripe */
+    @Scheduled(fixedDelay = 1_000)
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.SECONDS.toNanos(properties.getIdleEvictionSeconds());
+        ConcurrentHashMap<String, TokenBucket> stripe = stripes[nextStripeToSweep];
+        nextStripeToSweep = (nextStripeToSweep + 1) % STRIPES;
+        stripe.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+}
@@ -0,0 +1,46 @@
+package com.banking.system.service.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the only
+ * state is the theoretical arrival time of the next request, advanced with a
+ * single CAS per admitted request. A bucket whose arrival time lies in the past
+ * is full, so it can be evicted and recreated later without changing behaviour.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(burst, 1);
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Attempts to take one token.
+     *
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrivalNanos.get();
+            long next = Math.max(arrival, nowNanos) + emissionIntervalNanos;
+            long allowAt = next - burstToleranceNanos;
+            if (allowAt > nowNanos) {
+                return allowAt - nowNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** True if the bucket has been full for at least the given duration */
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return theoreticalArrivalNanos.get() + idleNanos < nowNanos;
+    }
+}
@@ -0,0 +1,301 @@
+package com.banking.system.service.reconciliation;
+
+import com.banking.system.config.ReconciliationProperties;
+import com.banking.system.dto.ReconciliationReport;
+import com.banking.system.entity.ReconciliationCheckpoint;
+import com.banking.system.repository.ReconciliationCheckpointRepository;
+import com.banking.system.util.LongLongHashMap;
+import com.banking.system.util.MoneyUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verifies that every account balance equals the net of its applied credits minus debits
+ * (SUCCESS, netted PENDING transfers of settled cycles, plus cross-shard RESERVED and
+ * REVERSED entries whose reversal is a separate credit).
+ * A converted transfer debits its amount and credits its credited amount, each in the
+ * account's own currency.
+ * Successful transactions are scanned in ID-range chunks on a fork/join pool, each chunk
+ * accumulating per-account net amounts (minor units) into a primitive long-keyed map.
+ * The merged deltas are added to the stored per-account totals and every account's
+ * balance is compared against its total in one streaming join.
+ *
+ * <p>Runs are incremental: only transactions after the last checkpoint are scanned.
+ * The checkpoint never passes a PENDING netted transfer of an unsettled cycle, since
+ * settling the cycle applies it without writing a new row.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReconciliationService {
+
+    /** Statuses whose amount has been applied to the account balances */
+    private static final String APPLIED_STATUSES = "('SUCCESS', 'RESERVED', 'REVERSED')";
+
+    /** Netted transfers stay PENDING; their cycle's settlement applies them */
+    private static final String SETTLED_NETTED =
+            "(t.status = 'PENDING' AND t.settlement_cycle_id IN (SELECT id FROM settlement_cycles WHERE status = 'SETTLED'))";
+
+    private static final String CHUNK_SQL =
+            "SELECT t.from_account_id, t.to_account_id, t.amount, t.credited_amount FROM transactions t " +
+            "WHERE (t.status IN " + APPLIED_STATUSES + " OR " + SETTLED_NETTED + ") AND t.id > ? AND t.id <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReconciliationCheckpointRepository checkpointRepository;
+    private final ReconciliationProperties properties;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    /**
+     * Runs a reconciliation pass.
+     *
+     * @param fullRun if true, discards the stored totals and rescans every transaction
+     * @return the reconciliation report
+     * @throws IllegalStateException if another run is in progress
+     */
+    public ReconciliationReport reconcile(boolean fullRun) {
+        if (!runLock.tryLock()) {
+            throw new IllegalStateException("A reconciliation run is already in progress");
+        }
+        try {
+            return doReconcile(fullRun);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /** Scheduled incremental run; disabled unless banking.reconciliation.cron is set */
+    @Scheduled(cron = "${banking.reconciliation.cron:-}")
+    public void scheduledReconcile() {
+        ReconciliationReport report = reconcile(false);
+        log.info("Reconciliation processed {} transactions, checked {} accounts, found {} mismatches in {} ms",
+                report.getTransactionsProcessed(), report.getAccountsChecked(),
+                report.getMismatchCount(), report.getDurationMillis());
+    }
+
+    private ReconciliationReport doReconcile(boolean fullRun) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.currentTimeMillis();
+
+        long fromId = fullRun ? 0L : checkpointRepository.findTopByOrderByIdDesc()
+                .map(ReconciliationCheckpoint::getLastTransactionId)
+                .orElse(0L);
+        // Only scan up to transactions old enough to be committed, so no ID below the checkpoint can still appear
+        Long watermark = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM transactions WHERE timestamp < ?", Long.class,
+                Timestamp.valueOf(startedAt.minusSeconds(properties.getSafetyLagSeconds())));
+        long upperId = watermark != null ? watermark : 0L;
+        // A PENDING netted transfer counts once its cycle settles, so never move the checkpoint past one
+        Long oldestPending = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM transactions WHERE status = 'PENDING' AND settlement_cycle_id IN " +
+                        "(SELECT id FROM settlement_cycles WHERE status <> 'SETTLED')", Long.class);
+        if (oldestPending != null) {
+            upperId = Math.min(upperId, oldestPending - 1);
+        }
+        long toId = Math.max(fromId, upperId);
+
+        ChunkResult deltas = scanInParallel(fromId, toId);
+
+        ReconciliationReport report = transactionTemplate.execute(status -> {
+            if (fullRun) {
+                jdbcTemplate.update("DELETE FROM account_ledger_totals");
+            }
+            applyDeltas(deltas.net);
+            ReconciliationReport result = compareBalances(toId);
+            checkpointRepository.save(ReconciliationCheckpoint.builder()
+                    .lastTransactionId(toId)
+                    .transactionsProcessed(deltas.count)
+                    .accountsChecked(result.getAccountsChecked())
+                    .mismatchCount(result.getMismatchCount())
+                    .fullRun(fullRun)
+                    .startedAt(startedAt)
+                    .completedAt(LocalDateTime.now())
+                    .build());
+            return result;
+        });
+
+        report.setFullRun(fullRun);
+        report.setFromTransactionId(fromId);
+        report.setToTransactionId(toId);
+        report.setTransactionsProcessed(deltas.count);
+        report.setDurationMillis(System.currentTimeMillis() - start);
+        return report;
+    }
+
+    // ==================== Scan ====================
+
+    private ChunkResult scanInParallel(long fromId, long toId) {
+        if (toId <= fromId) {
+            return new ChunkResult(new LongLongHashMap(16), 0);
+        }
+        ForkJoinPool pool = new ForkJoinPool(properties.getParallelism());
+        try {
+            return pool.invoke(new ChunkTask(fromId, toId));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Fork/join task that splits an ID range until it fits one chunk */
+    private final class ChunkTask extends RecursiveTask<ChunkResult> {
+
+        private final long fromExclusive;
+        private final long toInclusive;
+
+        ChunkTask(long fromExclusive, long toInclusive) {
+            this.fromExclusive = fromExclusive;
+            this.toInclusive = toInclusive;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            if (toInclusive - fromExclusive <= properties.getChunkSize()) {
+                return scanChunk(fromExclusive, toInclusive);
+            }
+            long mid = fromExclusive + (toInclusive - fromExclusive) / 2;
+            ChunkTask left = new ChunkTask(fromExclusive, mid);
+            ChunkTask right = new ChunkTask(mid, toInclusive);
+            left.fork();
+            ChunkResult rightResult = right.compute();
+            ChunkResult leftResult = left.join();
+            leftResult.net.addAll(rightResult.net);
+            return new ChunkResult(leftResult.net, leftResult.count + rightResult.count);
+        }
+    }
+
+    private ChunkResult scanChunk(long fromExclusive, long toInclusive) {
+        LongLongHashMap net = new LongLongHashMap(1024);
+        long[] count = {0};
+        jdbcTemplate.query(CHUNK_SQL, rs -> {
+            long amount = MoneyUtils.toMinorUnits(rs.getBigDecimal(3));
+            BigDecimal credited = rs.getBigDecimal(4);
+            long fromAccountId = rs.getLong(1);
+            if (!rs.wasNull()) {
+                net.addTo(fromAccountId, -amount);
+            }
+            long toAccountId = rs.getLong(2);
+            if (!rs.wasNull()) {
+                net.addTo(toAccountId, credited != null ? MoneyUtils.toMinorUnits(credited) : amount);
+            }
+            count[0]++;
+        }, fromExclusive, toInclusive);
+        return new ChunkResult(net, count[0]);
+    }
+
+    /**
+     * Accounts with transactions beyond the watermark; their balances may legitimately differ.
+     * Read after the balances, so every change the balance read saw is covered. PENDING
+     * netted transfers are included, since their cycle may settle during the comparison.
+     */
+    private Set<Long> accountsTouchedAfter(long toId) {
+        Set<Long> accounts = new HashSet<>();
+        jdbcTemplate.query("SELECT from_account_id, to_account_id FROM transactions " +
+                        "WHERE id > ? AND (status IN " + APPLIED_STATUSES + " OR status = 'PENDING')",
+                rs -> {
+                    long from = rs.getLong(1);
+                    if (!rs.wasNull()) {
+                        accounts.add(from);
+                    }
+                    long to = rs.getLong(2);
+                    if (!rs.wasNull()) {
+                        accounts.add(to);
+                    }
+                }, toId);
+        return accounts;
+    }
+
+    // ==================== Apply & Compare ====================
+
+    private void applyDeltas(LongLongHashMap deltas) {
+        List<Object[]> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((accountId, delta) -> updates.add(new Object[]{delta, accountId}));
+        int[] updated = jdbcTemplate.batchUpdate(
+                "UPDATE account_ledger_totals SET net_minor_units = net_minor_units + ? WHERE account_id = ?", updates);
+
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Object[] row = updates.get(i);
+                inserts.add(new Object[]{row[1], row[0]});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO account_ledger_totals (account_id, net_minor_units) VALUES (?, ?)", inserts);
+        }
+    }
+
+    /**
+     * Compares every balance against its ledger total. The accounts touched beyond the
+     * watermark are read after the balances, in the same transaction, so a transfer that
+     * commits during the comparison excuses the accounts it changed instead of being
+     * reported as a mismatch.
+     */
+    private ReconciliationReport compareBalances(long toId) {
+        List<ReconciliationReport.Mismatch> candidates = new ArrayList<>();
+        long[] accounts = {0};
+        jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            "SELECT a.id, a.account_number, a.balance, COALESCE(l.net_minor_units, 0) " +
+                            "FROM accounts a LEFT JOIN account_ledger_totals l ON l.account_id = a.id");
+                    statement.setFetchSize(properties.getFetchSize());
+                    return statement;
+                },
+                (RowCallbackHandler) rs -> {
+                    accounts[0]++;
+                    long actual = MoneyUtils.toMinorUnits(rs.getBigDecimal(3));
+                    long expected = rs.getLong(4);
+                    if (actual != expected) {
+                        candidates.add(ReconciliationReport.Mismatch.builder()
+                                .accountId(rs.getLong(1))
+                                .accountNumber(rs.getString(2))
+                                .expectedBalance(MoneyUtils.fromMinorUnits(expected))
+                                .actualBalance(MoneyUtils.fromMinorUnits(actual))
+                                .difference(MoneyUtils.fromMinorUnits(actual - expected))
+                                .build());
+                    }
+                });
+
+        Set<Long> inFlight = candidates.isEmpty() ? Set.of() : accountsTouchedAfter(toId);
+        List<ReconciliationReport.Mismatch> mismatches = new ArrayList<>();
+        long skipped = 0;
+        long mismatched = 0;
+        for (ReconciliationReport.Mismatch candidate : candidates) {
+            if (inFlight.contains(candidate.getAccountId())) {
+                skipped++;
+                continue;
+            }
+            mismatched++;
+            if (mismatches.size() < properties.getMaxReportedMismatches()) {
+                mismatches.add(candidate);
+            }
+        }
+        return ReconciliationReport.builder()
+                .accountsChecked(accounts[0] - skipped)
+                .accountsSkippedInFlight(skipped)
+                .mismatchCount(mismatched)
+                .mismatches(mismatches)
+                .build();
+    }
+
+    /** Per-account net amounts and row count for a scanned range */
+    private record ChunkResult(LongLongHashMap net, long count) {
+    }
+}
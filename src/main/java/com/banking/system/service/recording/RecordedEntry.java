@@ -0,0 +1,48 @@
+package com.banking.system.service.recording;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of a traffic recording: either an account seen in the traffic, with its
+ * currency and the balance it had when first seen, or a request with its timing and outcome.
+ *
+ * <p>Account numbers never appear in a recording. Requests refer to accounts by alias:
+ * {@code {number:A1}} or {@code {id:A1}} in the path, and the bare alias in the
+ * account number fields of the body. Clients are aliased the same way.
+ *
+ * @param type           {@link #ACCOUNT} or {@link #REQUEST}
+ * @param alias          account alias (account entries)
+ * @param openingBalance balance when first seen, or null if the account did not exist (account entries)
+ * @param currency       balance currency, or null if unknown to the recording node (account entries)
+ * @param created        whether the account was opened by a recorded request (account entries)
+ * @param offsetMicros   arrival time since the recording started (request entries)
+ * @param client         client alias (request entries)
+ * @param method         HTTP method (request entries)
+ * @param path           path with aliased accounts, including any query string (request entries)
+ * @param body           JSON body with aliased accounts, or null (request entries)
+ * @param status         HTTP status returned (request entries)
+ * @param outcome        transaction status of the response, else {@code HTTP_<status>} (request entries)
+ * @param latencyMicros  time to serve the request (request entries)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RecordedEntry(String type,
+                            String alias, BigDecimal openingBalance, String currency, Boolean created,
+                            Long offsetMicros, String client, String method, String path, String body,
+                            Integer status, String outcome, Long latencyMicros) {
+
+    public static final String ACCOUNT = "account";
+    public static final String REQUEST = "request";
+
+    public static RecordedEntry account(String alias, BigDecimal openingBalance, String currency, boolean created) {
+        return new RecordedEntry(ACCOUNT, alias, openingBalance, currency, created,
+                null, null, null, null, null, null, null, null);
+    }
+
+    public static RecordedEntry request(long offsetMicros, String client, String method, String path, String body,
+                                        int status, String outcome, long latencyMicros) {
+        return new RecordedEntry(REQUEST, null, null, null, null,
+                offsetMicros, client, method, path, body, status, outcome, latencyMicros);
+    }
+}
@@ -0,0 +1,246 @@
+package com.banking.system.service.recording;
+
+import com.banking.system.config.TrafficRecordingProperties;
+import com.banking.system.entity.Account;
+import com.banking.system.repository.AccountRepository;
+import com.banking.system.service.shard.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes recorded API traffic to a gzip-compressed JSON-lines file for replay.
+ * Entries are queued by the request threads and written by a single writer thread;
+ * when the queue is full the entry is dropped and counted rather than slowing the
+ * request down ({@code banking.traffic-recording.dropped}). An alias is only kept
+ * once its account entry is queued, so a dropped account entry never leaves requests
+ * in the recording that refer to an account it does not describe.
+ *
+ * <p>Account numbers, account IDs and client identities are replaced by aliases
+ * assigned in order of first appearance. The mapping is kept in memory only. The
+ * first time an account is seen, its balance and currency are recorded so that a
+ * replay can open an equivalent account. An account held on another shard only appears
+ * here as the credited side of a transfer, so it is recorded as an empty account of
+ * unknown currency without a lookup.
+ *
+ * <p>Each start writes a new file; an existing recording is never overwritten.
+ */
+@Slf4j
+@Component
+public class TrafficRecorder {
+
+    /** Alias recorded for an account ID that does not exist */
+    public static final String UNKNOWN_ACCOUNT = "unknown";
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final TrafficRecordingProperties properties;
+    private final AccountRepository accountRepository;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+    private final Counter recorded;
+    private final Counter dropped;
+    private final Map<String, String> accountAliases = new ConcurrentHashMap<>();
+    private final Map<Long, String> accountIdAliases = new ConcurrentHashMap<>();
+    private final Map<String, String> clientAliases = new ConcurrentHashMap<>();
+    private final AtomicInteger nextAccountAlias = new AtomicInteger();
+    private final AtomicInteger nextClientAlias = new AtomicInteger();
+    private final BlockingQueue<RecordedEntry> queue;
+
+    private volatile boolean running;
+    private long startNanos;
+    private OutputStream out;
+    private Thread writerThread;
+
+    public TrafficRecorder(TrafficRecordingProperties properties, AccountRepository accountRepository,
+                           ShardRouter shardRouter, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.recorded = Counter.builder("banking.traffic-recording.recorded")
+                .description("Requests written to the traffic recording")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("banking.traffic-recording.dropped")
+                .description("Recording entries dropped because the writer fell behind")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Path configured = Path.of(properties.getFile()).toAbsolutePath();
+        if (configured.getParent() != null) {
+            Files.createDirectories(configured.getParent());
+        }
+        Path file = configured;
+        for (int n = 2; Files.exists(file); n++) {
+            file = numbered(configured, n);
+        }
+        out = new GZIPOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)), 64 * 1024, true);
+        startNanos = System.nanoTime();
+        running = true;
+        writerThread = new Thread(this::run, "traffic-recording-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Recording account and transaction traffic to {}", file);
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /** Microseconds between the start of the recording and the given System.nanoTime() */
+    public long offsetMicros(long nanoTime) {
+        return TimeUnit.NANOSECONDS.toMicros(nanoTime - startNanos);
+    }
+
+    /**
+     * Alias of an account number, recording the account's current balance on first sight.
+     * Null if the account entry could not be queued; the request should then not be recorded.
+     */
+    public String aliasForAccountNumber(String accountNumber) {
+        String alias = accountAliases.get(accountNumber);
+        if (alias != null) {
+            return alias;
+        }
+        if (!shardRouter.isLocal(accountNumber)) {
+            // Only ever credited from this node; its balance lives on the owning shard
+            return assignAlias(accountNumber, BigDecimal.ZERO, null, false);
+        }
+        Account account = accountRepository.findByAccountNumber(accountNumber).orElse(null);
+        return account != null
+                ? assignAlias(accountNumber, account.getBalance(), account.getCurrency(), false)
+                : assignAlias(accountNumber, null, null, false);
+    }
+
+    /**
+     * Alias of an account ID, {@link #UNKNOWN_ACCOUNT} if no such account exists, or null
+     * if the account entry could not be queued.
+     */
+    public String aliasForAccountId(Long accountId) {
+        String alias = accountIdAliases.get(accountId);
+        if (alias != null) {
+            return alias;
+        }
+        Account account = accountRepository.findById(accountId).orElse(null);
+        if (account == null) {
+            return UNKNOWN_ACCOUNT;
+        }
+        alias = aliasForAccountNumber(account.getAccountNumber());
+        if (alias != null) {
+            accountIdAliases.put(accountId, alias);
+        }
+        return alias;
+    }
+
+    /** Alias of an account opened by a recorded request, or null if its account entry could not be queued */
+    public String aliasForCreatedAccount(String accountNumber, String currency) {
+        String alias = accountAliases.get(accountNumber);
+        return alias != null ? alias : assignAlias(accountNumber, BigDecimal.ZERO, currency, true);
+    }
+
+    public String aliasForClient(String clientId) {
+        return clientAliases.computeIfAbsent(clientId, id -> "C" + nextClientAlias.incrementAndGet());
+    }
+
+    /** Queues a request entry, dropping it if the writer has fallen behind */
+    public void record(RecordedEntry entry) {
+        if (running && enqueue(entry)) {
+            recorded.increment();
+        }
+    }
+
+    private String assignAlias(String accountNumber, BigDecimal openingBalance, String currency, boolean created) {
+        String candidate = "A" + nextAccountAlias.incrementAndGet();
+        String alias = accountAliases.putIfAbsent(accountNumber, candidate);
+        if (alias != null) {
+            return alias;
+        }
+        if (!enqueue(RecordedEntry.account(candidate, openingBalance, currency, created))) {
+            accountAliases.remove(accountNumber, candidate);
+            return null;
+        }
+        return candidate;
+    }
+
+    /** The file name with "-n" inserted before its extensions, e.g. peak-2.jsonl.gz */
+    private static Path numbered(Path file, int n) {
+        String name = file.getFileName().toString();
+        int dot = name.indexOf('.');
+        String numbered = dot > 0 ? name.substring(0, dot) + "-" + n + name.substring(dot) : name + "-" + n;
+        return file.resolveSibling(numbered);
+    }
+
+    private boolean enqueue(RecordedEntry entry) {
+        if (queue.offer(entry)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    private void run() {
+        long lastFlush = System.currentTimeMillis();
+        while (running || !queue.isEmpty()) {
+            try {
+                RecordedEntry entry = queue.poll(properties.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+                if (entry != null) {
+                    out.write(objectMapper.writeValueAsBytes(entry));
+                    out.write(NEWLINE);
+                }
+                long now = System.currentTimeMillis();
+                if (entry == null || now - lastFlush >= properties.getFlushIntervalMillis()) {
+                    out.flush();
+                    lastFlush = now;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException ex) {
+                log.error("Writing the traffic recording failed; recording stopped", ex);
+                running = false;
+                queue.clear();
+            }
+        }
+    }
+
+    /** Stops recording, writes everything still queued and completes the gzip stream */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        // Not interrupted: an interrupt during a write would close the file channel
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        try {
+            out.close();
+        } catch (IOException ex) {
+            log.warn("Closing the traffic recording failed", ex);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.banking.system.service.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding (id, due time) pairs.
+ * Five levels of 64 slots each cover 64^5 ticks (about 34 years at one-second ticks);
+ * scheduling is O(1) and advancing one tick touches one slot, plus one slot per level
+ * on cascade boundaries, regardless of how many entries are held.
+ *
+ * <p>Entries due at or before the current tick are kept on an overdue list and
+ * returned by the next {@link #advanceTo(long)} call. All methods are synchronized;
+ * the wheel is advanced by a single ticker thread and contention is negligible.
+ */
+public final class HierarchicalTimingWheel {
+
+    private static final int LEVELS = 5;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final long tickMillis;
+    private final long[][][] ids;
+    private final long[][][] dueTicks;
+    private final int[][] sizes;
+    private final List<Long> overdue = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.ids = new long[LEVELS][SLOTS][];
+        this.dueTicks = new long[LEVELS][SLOTS][];
+        this.sizes = new int[LEVELS][SLOTS];
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /** Schedules an id to fire at the given wall-clock time */
+    public synchronized void schedule(long id, long dueMillis) {
+        place(id, dueMillis / tickMillis);
+        size++;
+    }
+
+    /**
+     * Advances the wheel to the given time and returns every id that became due,
+     * including ids that were already overdue when scheduled.
+     */
+    public synchronized List<Long> advanceTo(long nowMillis) {
+        List<Long> expired = new ArrayList<>(overdue);
+        overdue.clear();
+
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            drain(0, (int) (currentTick & SLOT_MASK), expired);
+        }
+        size -= expired.size();
+        return expired;
+    }
+
+    /** Number of ids currently held */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(long id, long dueTick) {
+        long delta = dueTick - currentTick;
+        if (delta <= 0) {
+            overdue.add(id);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        long slotTick = dueTick;
+        long maxDelta = 1L << (SLOT_BITS * LEVELS);
+        if (delta >= maxDelta) {
+            // Beyond the wheel's horizon: park in the top level and re-place on cascade
+            slotTick = currentTick + maxDelta - 1;
+        }
+        int slot = (int) ((slotTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        append(level, slot, id, dueTick);
+    }
+
+    /** Re-distributes higher-level slots whose range starts at the current tick */
+    private void cascade() {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            long span = 1L << (SLOT_BITS * level);
+            if (currentTick % span != 0) {
+                continue;
+            }
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            int count = sizes[level][slot];
+            if (count == 0) {
+                continue;
+            }
+            long[] slotIds = ids[level][slot];
+            long[] slotDue = dueTicks[level][slot];
+            ids[level][slot] = null;
+            dueTicks[level][slot] = null;
+            sizes[level][slot] = 0;
+            for (int i = 0; i < count; i++) {
+                if (slotDue[i] <= currentTick) {
+                    append(0, (int) (currentTick & SLOT_MASK), slotIds[i], currentTick);
+                } else {
+                    place(slotIds[i], slotDue[i]);
+                }
+            }
+        }
+    }
+
+    private void drain(int level, int slot, List<Long> into) {
+        int count = sizes[level][slot];
+        long[] slotIds = ids[level][slot];
+        for (int i = 0; i < count; i++) {
+            into.add(slotIds[i]);
+        }
+        ids[level][slot] = null;
+        dueTicks[level][slot] = null;
+        sizes[level][slot] = 0;
+    }
+
+    private void append(int level, int slot, long id, long dueTick) {
+        int count = sizes[level][slot];
+        long[] slotIds = ids[level][slot];
+        if (slotIds == null) {
+            slotIds = new long[4];
+            ids[level][slot] = slotIds;
+            dueTicks[level][slot] = new long[4];
+        } else if (count == slotIds.length) {
+            ids[level][slot] = Arrays.copyOf(slotIds, count * 2);
+            dueTicks[level][slot] = Arrays.copyOf(dueTicks[level][slot], count * 2);
+        }
+        ids[level][slot][count] = id;
+        dueTicks[level][slot][count] = dueTick;
+        sizes[level][slot] = count + 1;
+    }
+}
@@ -0,0 +1,402 @@
+package com.banking.system.service.scheduler;
+
+import com.banking.system.config.SchedulerProperties;
+import com.banking.system.dto.ScheduledPaymentRequest;
+import com.banking.system.dto.ScheduledPaymentResponse;
+import com.banking.system.dto.TransactionResult;
+import com.banking.system.dto.TransferRequest;
+import com.banking.system.entity.MandateFrequency;
+import com.banking.system.entity.MandateStatus;
+import com.banking.system.entity.PaymentMandate;
+import com.banking.system.exception.AccountNotFoundException;
+import com.banking.system.exception.MandateNotFoundException;
+import com.banking.system.repository.AccountRepository;
+import com.banking.system.repository.PaymentMandateRepository;
+import com.banking.system.service.AccountService;
+import com.banking.system.service.shard.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduled and standing payments engine.
+ * Due times of active mandates are held in a {@link HierarchicalTimingWheel} rebuilt from
+ * the payment_mandates table on startup, so the database is never polled for due rows.
+ * Each tick drains the due mandate IDs and hands them in batches to a bounded worker
+ * pool; when its queue is full, the rest go back on the wheel for the next tick, so
+ * the shared scheduler thread never runs a batch itself. Every occurrence runs in one database transaction that locks the mandate row,
+ * performs the {@link AccountService#transfer} and advances the mandate, so a transfer
+ * is never committed without its mandate moving past that occurrence.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScheduledPaymentService {
+
+    private final PaymentMandateRepository mandateRepository;
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+    private final ShardRouter shardRouter;
+    private final SchedulerProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile HierarchicalTimingWheel wheel;
+    private volatile ExecutorService workers;
+
+    // ==================== Mandate Management ====================
+
+    /**
+     * Creates a scheduled payment mandate and places its first occurrence on the wheel
+     * once the insert has committed.
+     *
+     * @param request the scheduled payment request
+     * @return the created mandate details
+     * @throws AccountNotFoundException if either account does not exist
+     * @throws IllegalArgumentException if source and destination are the same, or the
+     *                                  end time is before the start time
+     */
+    @Transactional
+    public ScheduledPaymentResponse createMandate(ScheduledPaymentRequest request) {
+        if (request.getFromAccountNumber().equals(request.getToAccountNumber())) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        if (request.getEndAt() != null && request.getEndAt().isBefore(request.getStartAt())) {
+            throw new IllegalArgumentException("End time must not be before the start time");
+        }
+        if (!accountRepository.existsByAccountNumber(request.getFromAccountNumber())) {
+            throw new AccountNotFoundException("accountNumber", request.getFromAccountNumber());
+        }
+        // A destination on another shard is validated when the remote credit is applied
+        if (shardRouter.isLocal(request.getToAccountNumber())
+                && !accountRepository.existsByAccountNumber(request.getToAccountNumber())) {
+            throw new AccountNotFoundException("accountNumber", request.getToAccountNumber());
+        }
+
+        PaymentMandate mandate = PaymentMandate.builder()
+                .fromAccountNumber(request.getFromAccountNumber())
+                .toAccountNumber(request.getToAccountNumber())
+                .amount(request.getAmount())
+                .frequency(request.getFrequency())
+                .startAt(request.getStartAt())
+                .endAt(request.getEndAt())
+                .nextExecutionAt(request.getStartAt())
+                .build();
+
+        PaymentMandate saved = mandateRepository.save(mandate);
+        long dueMillis = toMillis(saved.getNextExecutionAt());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scheduleOnWheel(saved.getId(), dueMillis);
+            }
+        });
+        return mapToResponse(saved);
+    }
+
+    /**
+     * Retrieves a mandate by ID.
+     *
+     * @throws MandateNotFoundException if the mandate does not exist
+     */
+    @Transactional(readOnly = true)
+    public ScheduledPaymentResponse getMandate(Long mandateId) {
+        return mapToResponse(findMandate(mandateId));
+    }
+
+    /**
+     * Cancels a mandate. Its wheel entry is left in place and discarded when it fires.
+     * The row lock waits for an occurrence that is executing, so the cancel applies to
+     * every later occurrence.
+     *
+     * @throws MandateNotFoundException if the mandate does not exist
+     */
+    @Transactional
+    public ScheduledPaymentResponse cancelMandate(Long mandateId) {
+        PaymentMandate mandate = mandateRepository.findForUpdate(mandateId);
+        if (mandate == null) {
+            throw new MandateNotFoundException(mandateId);
+        }
+        if (mandate.getStatus() == MandateStatus.ACTIVE) {
+            mandate.setStatus(MandateStatus.CANCELLED);
+            mandate.setNextExecutionAt(null);
+        }
+        return mapToResponse(mandate);
+    }
+
+    // ==================== Wheel Lifecycle ====================
+
+    /**
+     * Rebuilds the timing wheel from active mandates once the application is ready.
+     * Occurrences that fell due while the node was down land on the wheel's overdue
+     * list and are handled on the first tick according to the misfire policy.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildWheel() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        HierarchicalTimingWheel rebuilt = new HierarchicalTimingWheel(properties.getTickMillis(), System.currentTimeMillis());
+        long afterId = 0;
+        while (true) {
+            List<Object[]> page = mandateRepository.findDueTimesAfter(
+                    MandateStatus.ACTIVE, afterId, PageRequest.of(0, properties.getRebuildPageSize()));
+            for (Object[] row : page) {
+                if (row[1] != null) {
+                    rebuilt.schedule((Long) row[0], toMillis((LocalDateTime) row[1]));
+                }
+            }
+            if (page.size() < properties.getRebuildPageSize()) {
+                break;
+            }
+            afterId = (Long) page.get(page.size() - 1)[0];
+        }
+
+        workers = new ThreadPoolExecutor(properties.getWorkerThreads(), properties.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()));
+        wheel = rebuilt;
+        log.info("Scheduled payments wheel rebuilt with {} active mandates", rebuilt.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workers != null) {
+            workers.shutdown();
+        }
+    }
+
+    /**
+     * Advances the wheel and dispatches due mandates in batches to the worker pool.
+     * Mandates that do not fit in the pool's queue are put back as overdue, so they are
+     * dispatched on the next tick.
+     */
+    @Scheduled(fixedDelayString = "${banking.scheduler.tick-millis:1000}")
+    public void tick() {
+        HierarchicalTimingWheel current = wheel;
+        if (current == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Long> due = current.advanceTo(now);
+        for (int from = 0; from < due.size(); from += properties.getBatchSize()) {
+            List<Long> batch = new ArrayList<>(due.subList(from, Math.min(from + properties.getBatchSize(), due.size())));
+            try {
+                workers.execute(() -> executeBatch(batch));
+            } catch (RejectedExecutionException ex) {
+                List<Long> deferred = due.subList(from, due.size());
+                deferred.forEach(mandateId -> current.schedule(mandateId, now));
+                log.warn("Scheduled payment workers are saturated; deferring {} due mandates to the next tick",
+                        deferred.size());
+                return;
+            }
+        }
+    }
+
+    // ==================== Execution ====================
+
+    /**
+     * Executes one batch of due mandates, each occurrence in its own transaction.
+     * A mandate whose occurrence could not be run at all is put back on the wheel
+     * after the retry delay; nothing was committed for it, so the retry cannot pay twice.
+     */
+    private void executeBatch(List<Long> mandateIds) {
+        for (Long mandateId : mandateIds) {
+            Long dueMillis;
+            try {
+                dueMillis = runOccurrence(mandateId, LocalDateTime.now());
+            } catch (RuntimeException ex) {
+                log.error("Scheduled payment for mandate {} failed", mandateId, ex);
+                dueMillis = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(properties.getRetryDelaySeconds());
+            }
+            if (dueMillis != null) {
+                scheduleOnWheel(mandateId, dueMillis);
+            }
+        }
+    }
+
+    /**
+     * Runs the mandate's current occurrence in one transaction: the transfer and the
+     * mandate update commit together. If the transfer throws, both roll back and the
+     * failed attempt is recorded in a transaction of its own.
+     *
+     * @return the wall-clock time at which the mandate should fire next, or null if it
+     *         is finished or was not due
+     */
+    private Long runOccurrence(long mandateId, LocalDateTime now) {
+        try {
+            return transactionTemplate.execute(status -> {
+                PaymentMandate mandate = lockIfDue(mandateId, now);
+                return mandate != null ? execute(mandate, now) : null;
+            });
+        } catch (RuntimeException ex) {
+            String error = ex.getMessage();
+            return transactionTemplate.execute(status -> {
+                PaymentMandate mandate = lockIfDue(mandateId, now);
+                return mandate != null ? recordFailure(mandate, error, isMisfired(mandate, now), now) : null;
+            });
+        }
+    }
+
+    /**
+     * Locks the mandate and returns it if its current occurrence is due. Cancelled and
+     * finished mandates, and duplicate wheel entries for an occurrence that has already
+     * run, are discarded.
+     */
+    private PaymentMandate lockIfDue(long mandateId, LocalDateTime now) {
+        PaymentMandate mandate = mandateRepository.findForUpdate(mandateId);
+        if (mandate == null || mandate.getStatus() != MandateStatus.ACTIVE || mandate.getNextExecutionAt() == null) {
+            return null;
+        }
+        // The wheel fires at the start of the due tick
+        if (mandate.getNextExecutionAt().isAfter(now.plusNanos(TimeUnit.MILLISECONDS.toNanos(properties.getTickMillis())))) {
+            return null;
+        }
+        return mandate;
+    }
+
+    /**
+     * Executes the mandate's current occurrence, applying misfire and retry rules.
+     * Runs inside the occurrence's transaction; an exception from the transfer rolls
+     * it back.
+     *
+     * @return the wall-clock time at which the mandate should fire next, or null if it is finished
+     */
+    private Long execute(PaymentMandate mandate, LocalDateTime now) {
+        boolean misfired = isMisfired(mandate, now);
+        if (misfired && properties.getMisfirePolicy() == SchedulerProperties.MisfirePolicy.SKIP) {
+            skipMissedOccurrences(mandate, now);
+            return nextDueMillis(mandate);
+        }
+
+        TransactionResult result = accountService.transfer(TransferRequest.builder()
+                .fromAccountNumber(mandate.getFromAccountNumber())
+                .toAccountNumber(mandate.getToAccountNumber())
+                .amount(mandate.getAmount())
+                .build());
+        if (result.isDeclined()) {
+            return recordFailure(mandate, result.getMessage(), misfired, now);
+        }
+        return completeOccurrence(mandate, misfired, now);
+    }
+
+    /**
+     * Counts a failed attempt at the current occurrence and schedules its retry, or gives
+     * up on the occurrence once retries are exhausted.
+     */
+    private Long recordFailure(PaymentMandate mandate, String error, boolean misfired, LocalDateTime now) {
+        mandate.setAttempts(mandate.getAttempts() + 1);
+        mandate.setLastError(truncate(error));
+        if (mandate.getAttempts() <= properties.getMaxRetries()) {
+            long backoffSeconds = properties.getRetryDelaySeconds() << (mandate.getAttempts() - 1);
+            return System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(backoffSeconds);
+        }
+        // Retries exhausted: give up on this occurrence
+        if (mandate.getFrequency() == MandateFrequency.ONCE) {
+            mandate.setStatus(MandateStatus.FAILED);
+            mandate.setNextExecutionAt(null);
+            return null;
+        }
+        return completeOccurrence(mandate, misfired, now);
+    }
+
+    /** Moves past the current occurrence, applying the FIRE_ONCE misfire policy */
+    private Long completeOccurrence(PaymentMandate mandate, boolean misfired, LocalDateTime now) {
+        mandate.setAttempts(0);
+        advanceOccurrence(mandate);
+        if (misfired && properties.getMisfirePolicy() == SchedulerProperties.MisfirePolicy.FIRE_ONCE) {
+            skipMissedOccurrences(mandate, now);
+        }
+        return nextDueMillis(mandate);
+    }
+
+    /** An occurrence misfired if its first attempt comes later than the misfire threshold */
+    private boolean isMisfired(PaymentMandate mandate, LocalDateTime now) {
+        return mandate.getAttempts() == 0
+                && mandate.getNextExecutionAt().plusSeconds(properties.getMisfireThresholdSeconds()).isBefore(now);
+    }
+
+    /** Moves the mandate to its next occurrence, completing it if there is none */
+    private void advanceOccurrence(PaymentMandate mandate) {
+        if (mandate.getFrequency() == MandateFrequency.ONCE) {
+            mandate.setStatus(MandateStatus.COMPLETED);
+            mandate.setNextExecutionAt(null);
+            return;
+        }
+        mandate.setOccurrenceIndex(mandate.getOccurrenceIndex() + 1);
+        LocalDateTime next = mandate.getFrequency().occurrence(mandate.getStartAt(), mandate.getOccurrenceIndex());
+        if (mandate.getEndAt() != null && next.isAfter(mandate.getEndAt())) {
+            mandate.setStatus(MandateStatus.COMPLETED);
+            mandate.setNextExecutionAt(null);
+            return;
+        }
+        mandate.setNextExecutionAt(next);
+    }
+
+    /** Advances past every occurrence that is already older than the misfire threshold */
+    private void skipMissedOccurrences(PaymentMandate mandate, LocalDateTime now) {
+        LocalDateTime cutoff = now.minusSeconds(properties.getMisfireThresholdSeconds());
+        while (mandate.getStatus() == MandateStatus.ACTIVE && mandate.getNextExecutionAt().isBefore(cutoff)) {
+            advanceOccurrence(mandate);
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private void scheduleOnWheel(long mandateId, long dueMillis) {
+        HierarchicalTimingWheel current = wheel;
+        if (current != null) {
+            current.schedule(mandateId, dueMillis);
+        }
+    }
+
+    private Long nextDueMillis(PaymentMandate mandate) {
+        return mandate.getStatus() == MandateStatus.ACTIVE ? toMillis(mandate.getNextExecutionAt()) : null;
+    }
+
+    private PaymentMandate findMandate(Long mandateId) {
+        return mandateRepository.findById(mandateId)
+                .orElseThrow(() -> new MandateNotFoundException(mandateId));
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 255 ? message.substring(0, 255) : message;
+    }
+
+    /** Maps a PaymentMandate entity to a ScheduledPaymentResponse DTO */
+    private ScheduledPaymentResponse mapToResponse(PaymentMandate mandate) {
+        return ScheduledPaymentResponse.builder()
+                .id(mandate.getId())
+                .fromAccountNumber(mandate.getFromAccountNumber())
+                .toAccountNumber(mandate.getToAccountNumber())
+                .amount(mandate.getAmount())
+                .frequency(mandate.getFrequency())
+                .startAt(mandate.getStartAt())
+                .endAt(mandate.getEndAt())
+                .nextExecutionAt(mandate.getNextExecutionAt())
+                .status(mandate.getStatus())
+                .lastError(mandate.getLastError())
+                .build();
+    }
+}
@@ -0,0 +1,304 @@
+package com.banking.system.service.search;
+
+import com.banking.system.config.TransactionSearchProperties;
+import com.banking.system.dto.TransactionResponse;
+import com.banking.system.dto.TransactionSearchRequest;
+import com.banking.system.dto.TransactionSearchResponse;
+import com.banking.system.entity.Account;
+import com.banking.system.entity.TransactionStatus;
+import com.banking.system.entity.TransactionType;
+import com.banking.system.exception.InvalidSearchCriteriaException;
+import com.banking.system.repository.AccountRepository;
+import com.banking.system.service.index.AccountIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches transactions by account, type, status, amount and date range, one keyset page
+ * at a time, ordered by (timestamp, id) descending.
+ *
+ * <p>Every page is served from composite indexes ending in (timestamp, id), so each scan
+ * seeks straight to the cursor and reads at most one page plus one row:
+ * <ul>
+ *   <li>ACCOUNT — with an account number: one scan each of the from-account, to-account
+ *       and counterparty indexes, merged.</li>
+ *   <li>TYPE_STATUS — with a type or status: one scan of the (type, status) index per
+ *       combination, the missing one enumerated, merged.</li>
+ *   <li>TIMESTAMP — otherwise: one scan of the timestamp index.</li>
+ * </ul>
+ * Other filters (and the amount range in every plan) are applied to the scanned index
+ * entries, so a very selective residual filter can read further; each scan is therefore
+ * bounded by a statement timeout. No index leads with the amount, so an amount range is
+ * only accepted with an account number or a {@code from} bound, which keep the scanned
+ * range finite.
+ *
+ * <p>Netted transfers are stored as PENDING and reported as SUCCESS once their settlement
+ * cycle has settled, so a status filter on either matches on the cycle status too.
+ */
+@Service
+public class TransactionSearchService {
+
+    private static final String SELECT_SQL =
+            "SELECT t.id, fa.account_number, ta.account_number, t.counterparty_account_number, " +
+            "t.amount, t.type, t.status, t.failure_reason, t.`timestamp`, " +
+            "t.credited_amount, t.fx_rate, t.fx_rate_version, sc.status " +
+            "FROM transactions t " +
+            "LEFT JOIN accounts fa ON fa.id = t.from_account_id " +
+            "LEFT JOIN accounts ta ON ta.id = t.to_account_id " +
+            "LEFT JOIN settlement_cycles sc ON sc.id = t.settlement_cycle_id WHERE ";
+
+    private static final String CYCLE_SETTLED = "sc.status = 'SETTLED'";
+    private static final String CYCLE_UNSETTLED = "(sc.status IS NULL OR sc.status <> 'SETTLED')";
+
+    private static final String ORDER_SQL = " ORDER BY t.`timestamp` DESC, t.id DESC LIMIT ?";
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(
+            rs.getLong(1),
+            rs.getString(2) != null ? rs.getString(2) : rs.getString(4),
+            rs.getString(3) != null ? rs.getString(3) : rs.getString(4),
+            rs.getBigDecimal(5),
+            TransactionType.valueOf(rs.getString(6)),
+            reportedStatus(TransactionStatus.valueOf(rs.getString(7)), rs.getString(13)),
+            rs.getString(8),
+            rs.getTimestamp(9).toLocalDateTime(),
+            rs.getBigDecimal(10),
+            rs.getBigDecimal(11),
+            rs.getObject(12, Long.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountIndex accountIndex;
+    private final AccountRepository accountRepository;
+    private final TransactionSearchProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public TransactionSearchService(DataSource dataSource,
+                                    AccountIndex accountIndex,
+                                    AccountRepository accountRepository,
+                                    TransactionSearchProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout(properties.getQueryTimeoutSeconds());
+        this.accountIndex = accountIndex;
+        this.accountRepository = accountRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns one page of transactions matching every given filter.
+     *
+     * @param request the filters, page size and cursor
+     * @return the page, the cursor for the next one and the query timing
+     * @throws InvalidSearchCriteriaException if a range is empty, an amount range has neither
+     *                                        an account number nor a {@code from} bound, or the
+     *                                        cursor is malformed
+     */
+    public TransactionSearchResponse search(TransactionSearchRequest request) {
+        validate(request);
+        int limit = Math.min(request.getLimit() != null ? request.getLimit() : properties.getDefaultLimit(),
+                properties.getMaxLimit());
+        Cursor cursor = request.getCursor() != null ? Cursor.decode(request.getCursor()) : null;
+
+        String plan;
+        List<Scan> scans = new ArrayList<>();
+        if (request.getAccountNumber() != null) {
+            plan = "ACCOUNT";
+            Long accountId = resolveAccountId(request.getAccountNumber());
+            if (accountId != null) {
+                scans.add(new Scan("t.from_account_id = ?", List.of(accountId)));
+                scans.add(new Scan("t.to_account_id = ?", List.of(accountId)));
+            }
+            scans.add(new Scan("t.counterparty_account_number = ?", List.of(request.getAccountNumber())));
+        } else if (request.getType() != null || request.getStatus() != null) {
+            plan = "TYPE_STATUS";
+            TransactionType[] types = request.getType() != null
+                    ? new TransactionType[]{request.getType()} : TransactionType.values();
+            for (TransactionType type : types) {
+                if (request.getStatus() == null) {
+                    for (TransactionStatus status : TransactionStatus.values()) {
+                        scans.add(new Scan("t.type = ? AND t.status = ?", List.of(type.name(), status.name())));
+                    }
+                } else if (request.getStatus() == TransactionStatus.SUCCESS) {
+                    scans.add(new Scan("t.type = ? AND t.status = 'SUCCESS'", List.of(type.name())));
+                    scans.add(new Scan("t.type = ? AND t.status = 'PENDING' AND " + CYCLE_SETTLED, List.of(type.name())));
+                } else if (request.getStatus() == TransactionStatus.PENDING) {
+                    scans.add(new Scan("t.type = ? AND t.status = 'PENDING' AND " + CYCLE_UNSETTLED, List.of(type.name())));
+                } else {
+                    scans.add(new Scan("t.type = ? AND t.status = ?", List.of(type.name(), request.getStatus().name())));
+                }
+            }
+        } else {
+            plan = "TIMESTAMP";
+            scans.add(new Scan("1 = 1", List.of()));
+        }
+
+        long start = System.nanoTime();
+        Map<Long, Row> merged = new LinkedHashMap<>();
+        int rowsRead = 0;
+        for (Scan scan : scans) {
+            List<Row> rows = runScan(scan, request, cursor, limit + 1);
+            rowsRead += rows.size();
+            rows.forEach(row -> merged.putIfAbsent(row.id(), row));
+        }
+        List<Row> page = merged.values().stream()
+                .sorted(Comparator.comparing(Row::timestamp).thenComparingLong(Row::id).reversed())
+                .limit(limit + 1L)
+                .toList();
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("banking.transaction-search")
+                .description("Transaction search time per page, by index plan")
+                .tag("plan", plan)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+
+        boolean more = page.size() > limit;
+        List<Row> results = more ? page.subList(0, limit) : page;
+        Row last = more ? results.get(results.size() - 1) : null;
+        return TransactionSearchResponse.builder()
+                .transactions(results.stream().map(Row::toResponse).toList())
+                .nextCursor(last != null ? new Cursor(last.timestamp(), last.id()).encode() : null)
+                .plan(plan)
+                .indexScans(scans.size())
+                .rowsRead(rowsRead)
+                .queryMillis(elapsed / 1_000_000.0)
+                .build();
+    }
+
+    private void validate(TransactionSearchRequest request) {
+        if (request.getMinAmount() != null && request.getMaxAmount() != null
+                && request.getMinAmount().compareTo(request.getMaxAmount()) > 0) {
+            throw new InvalidSearchCriteriaException("minAmount must not exceed maxAmount");
+        }
+        if (request.getFrom() != null && request.getTo() != null && !request.getFrom().isBefore(request.getTo())) {
+            throw new InvalidSearchCriteriaException("from must be before to");
+        }
+        if ((request.getMinAmount() != null || request.getMaxAmount() != null)
+                && request.getAccountNumber() == null && request.getFrom() == null) {
+            throw new InvalidSearchCriteriaException("An amount range requires an accountNumber or a from date");
+        }
+    }
+
+    /** The local account ID, or null when the account is held on another shard (or does not exist) */
+    private Long resolveAccountId(String accountNumber) {
+        Long accountId = accountIndex.accountIdOf(accountNumber);
+        if (accountId != null) {
+            return accountId;
+        }
+        return accountRepository.findByAccountNumber(accountNumber).map(Account::getId).orElse(null);
+    }
+
+    /** Runs one index range scan: the scan's equality prefix, then the shared range and residual filters */
+    private List<Row> runScan(Scan scan, TransactionSearchRequest request, Cursor cursor, int rows) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL).append(scan.predicate());
+        List<Object> args = new ArrayList<>(scan.args());
+        if (request.getAccountNumber() != null && request.getType() != null) {
+            sql.append(" AND t.type = ?");
+            args.add(request.getType().name());
+        }
+        if (request.getAccountNumber() != null && request.getStatus() != null) {
+            sql.append(" AND ").append(statusPredicate(request.getStatus()));
+        }
+        if (request.getMinAmount() != null) {
+            sql.append(" AND t.amount >= ?");
+            args.add(request.getMinAmount());
+        }
+        if (request.getMaxAmount() != null) {
+            sql.append(" AND t.amount <= ?");
+            args.add(request.getMaxAmount());
+        }
+        if (request.getFrom() != null) {
+            sql.append(" AND t.`timestamp` >= ?");
+            args.add(Timestamp.valueOf(request.getFrom()));
+        }
+        if (request.getTo() != null) {
+            sql.append(" AND t.`timestamp` < ?");
+            args.add(Timestamp.valueOf(request.getTo()));
+        }
+        if (cursor != null) {
+            Timestamp after = Timestamp.valueOf(cursor.timestamp());
+            sql.append(" AND (t.`timestamp` < ? OR (t.`timestamp` = ? AND t.id < ?))");
+            args.add(after);
+            args.add(after);
+            args.add(cursor.id());
+        }
+        sql.append(ORDER_SQL);
+        args.add(rows);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    /** Predicate matching transactions reported with the given status */
+    private static String statusPredicate(TransactionStatus status) {
+        return switch (status) {
+            case SUCCESS -> "(t.status = 'SUCCESS' OR (t.status = 'PENDING' AND " + CYCLE_SETTLED + "))";
+            case PENDING -> "t.status = 'PENDING' AND " + CYCLE_UNSETTLED;
+            default -> "t.status = '" + status.name() + "'";
+        };
+    }
+
+    /** A netted transfer is stored as PENDING and reported as SUCCESS once its cycle has settled */
+    private static TransactionStatus reportedStatus(TransactionStatus stored, String cycleStatus) {
+        return stored == TransactionStatus.PENDING && "SETTLED".equals(cycleStatus) ? TransactionStatus.SUCCESS : stored;
+    }
+
+    /** An equality prefix on one of the search indexes */
+    private record Scan(String predicate, List<Object> args) {
+    }
+
+    private record Row(long id, String fromAccountNumber, String toAccountNumber, BigDecimal amount,
+                       TransactionType type, TransactionStatus status, String failureReason,
+                       LocalDateTime timestamp, BigDecimal creditedAmount, BigDecimal fxRate,
+                       Long fxRateVersion) {
+
+        TransactionResponse toResponse() {
+            return TransactionResponse.builder()
+                    .id(id)
+                    .fromAccountNumber(fromAccountNumber)
+                    .toAccountNumber(toAccountNumber)
+                    .amount(amount)
+                    .creditedAmount(creditedAmount)
+                    .fxRate(fxRate)
+                    .fxRateVersion(fxRateVersion)
+                    .type(type)
+                    .status(status)
+                    .failureReason(failureReason)
+                    .timestamp(timestamp)
+                    .build();
+        }
+    }
+
+    /** Position after the last row of a page: its timestamp and ID, as opaque URL-safe text */
+    private record Cursor(LocalDateTime timestamp, long id) {
+
+        String encode() {
+            String text = timestamp + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String value) {
+            try {
+                String text = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int separator = text.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(text.substring(0, separator)),
+                        Long.parseLong(text.substring(separator + 1)));
+            } catch (RuntimeException ex) {
+                throw new InvalidSearchCriteriaException("Malformed cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.banking.system.service.shard;
+
+import com.banking.system.config.ShardProperties;
+import com.banking.system.dto.ShardCreditRequest;
+import com.banking.system.dto.TransferRequest;
+import com.banking.system.entity.*;
+import com.banking.system.exception.AccountNotFoundException;
+import com.banking.system.exception.UnsupportedCurrencyException;
+import com.banking.system.repository.AccountRepository;
+import com.banking.system.repository.CrossShardTransferRepository;
+import com.banking.system.repository.InboundShardCreditRepository;
+import com.banking.system.repository.TransactionRepository;
+import com.banking.system.service.events.OutboxService;
+import com.banking.system.service.fx.FxRateSnapshot;
+import com.banking.system.service.fx.FxRateStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cross-shard transfer protocol.
+ * <ol>
+ *   <li>Reserve: the source shard debits the account and records a RESERVED transaction
+ *       and a {@link CrossShardTransfer} in the same local transaction.</li>
+ *   <li>Credit: after commit, the destination shard is asked to credit the account,
+ *       converting the amount if the account is in another currency; the credit is
+ *       idempotent on the transfer ID.</li>
+ *   <li>Confirm or compensate: an applied credit marks the transfer CONFIRMED and the
+ *       transaction SUCCESS; a rejected credit reverses the debit with a separate
+ *       reversal entry and marks the original REVERSED.</li>
+ * </ol>
+ * Transfers whose credit outcome is unknown stay RESERVED and are retried by the
+ * recovery job until the destination gives a definitive answer.
+ */
+@Slf4j
+@Service
+public class CrossShardTransferService {
+
+    private final CrossShardTransferRepository transferRepository;
+    private final InboundShardCreditRepository inboundCreditRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final OutboxService outboxService;
+    private final FxRateStore fxRateStore;
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
+    private final ShardProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService settlementExecutor = Executors.newFixedThreadPool(4);
+
+    public CrossShardTransferService(CrossShardTransferRepository transferRepository,
+                                     InboundShardCreditRepository inboundCreditRepository,
+                                     AccountRepository accountRepository,
+                                     TransactionRepository transactionRepository,
+                                     OutboxService outboxService,
+                                     FxRateStore fxRateStore,
+                                     ShardRouter shardRouter,
+                                     ShardClient shardClient,
+                                     ShardProperties properties,
+                                     TransactionTemplate transactionTemplate) {
+        this.transferRepository = transferRepository;
+        this.inboundCreditRepository = inboundCreditRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.outboxService = outboxService;
+        this.fxRateStore = fxRateStore;
+        this.shardRouter = shardRouter;
+        this.shardClient = shardClient;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // ==================== Source Shard ====================
+
+    /**
+     * Registers a reserved outbound transfer in the caller's transaction and schedules
+     * the remote credit for after commit.
+     *
+     * @param reserved the RESERVED debit transaction
+     * @param request  the original transfer request
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void register(Transaction reserved, TransferRequest request) {
+        CrossShardTransfer transfer = transferRepository.save(CrossShardTransfer.builder()
+                .transferId(UUID.randomUUID().toString())
+                .transactionId(reserved.getId())
+                .fromAccountNumber(request.getFromAccountNumber())
+                .toAccountNumber(request.getToAccountNumber())
+                .targetNode(shardRouter.ownerOf(request.getToAccountNumber()))
+                .amount(request.getAmount())
+                .currency(reserved.getFromAccount().getCurrency())
+                .state(CrossShardTransferState.RESERVED)
+                .build());
+
+        String transferId = transfer.getTransferId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                settlementExecutor.execute(() -> settle(transferId));
+            }
+        });
+    }
+
+    /** Delivers the credit for a reserved transfer and confirms or compensates it */
+    public void settle(String transferId) {
+        CrossShardTransfer transfer = transferRepository.findById(transferId).orElse(null);
+        if (transfer == null || transfer.getState() != CrossShardTransferState.RESERVED) {
+            return;
+        }
+        ShardClient.CreditResult result = shardClient.credit(transfer.getTargetNode(), ShardCreditRequest.builder()
+                .transferId(transfer.getTransferId())
+                .fromAccountNumber(transfer.getFromAccountNumber())
+                .toAccountNumber(transfer.getToAccountNumber())
+                .amount(transfer.getAmount())
+                .currency(transfer.getCurrency())
+                .build());
+
+        switch (result.outcome()) {
+            case APPLIED -> transactionTemplate.executeWithoutResult(status -> confirm(transferId));
+            case REJECTED -> transactionTemplate.executeWithoutResult(status -> compensate(transferId, result.message()));
+            case UNKNOWN -> transactionTemplate.executeWithoutResult(status -> {
+                CrossShardTransfer current = transferRepository.findById(transferId).orElseThrow();
+                current.setAttempts(current.getAttempts() + 1);
+                current.setLastError(truncate(result.message()));
+                log.warn("Cross-shard transfer {} credit outcome unknown (attempt {}): {}",
+                        transferId, current.getAttempts(), result.message());
+            });
+        }
+    }
+
+    private void confirm(String transferId) {
+        CrossShardTransfer transfer = transferRepository.findForUpdate(transferId);
+        if (transfer.getState() != CrossShardTransferState.RESERVED) {
+            return;
+        }
+        transfer.setState(CrossShardTransferState.CONFIRMED);
+        Transaction debit = transactionRepository.findById(transfer.getTransactionId()).orElseThrow();
+        debit.setStatus(TransactionStatus.SUCCESS);
+        outboxService.recordTransaction(debit);
+    }
+
+    private void compensate(String transferId, String reason) {
+        CrossShardTransfer transfer = transferRepository.findForUpdate(transferId);
+        if (transfer.getState() != CrossShardTransferState.RESERVED) {
+            return;
+        }
+        transfer.setState(CrossShardTransferState.COMPENSATED);
+        transfer.setLastError(truncate(reason));
+
+        Account account = accountRepository.findIdByAccountNumber(transfer.getFromAccountNumber())
+                .flatMap(accountRepository::findForUpdate)
+                .orElseThrow();
+        account.setBalance(account.getBalance().add(transfer.getAmount()));
+
+        Transaction debit = transactionRepository.findById(transfer.getTransactionId()).orElseThrow();
+        debit.setStatus(TransactionStatus.REVERSED);
+        debit.setFailureReason(truncate("Rejected by destination shard: " + reason));
+        outboxService.recordTransaction(debit);
+
+        Transaction reversal = transactionRepository.save(Transaction.builder()
+                .toAccount(account)
+                .counterpartyAccountNumber(transfer.getToAccountNumber())
+                .amount(transfer.getAmount())
+                .type(TransactionType.TRANSFER)
+                .status(TransactionStatus.SUCCESS)
+                .failureReason("Reversal of cross-shard transfer " + transferId)
+                .build());
+        outboxService.recordTransaction(reversal);
+    }
+
+    /** Retries reserved transfers whose credit outcome is still unknown */
+    @Scheduled(fixedDelayString = "${banking.shard.recovery-interval-millis:10000}")
+    public void recoverReservedTransfers() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<CrossShardTransfer> stuck = transferRepository.findByStateAndUpdatedAtBeforeOrderByUpdatedAtAsc(
+                CrossShardTransferState.RESERVED,
+                LocalDateTime.now().minusSeconds(properties.getRecoveryAfterSeconds()),
+                PageRequest.of(0, 100));
+        for (CrossShardTransfer transfer : stuck) {
+            settle(transfer.getTransferId());
+        }
+    }
+
+    // ==================== Destination Shard ====================
+
+    /**
+     * Applies the credit side of a cross-shard transfer. Repeated calls with the same
+     * transfer ID are acknowledged without crediting again.
+     *
+     * @param request the credit request from the source shard
+     * @throws AccountNotFoundException     if the destination account is not held on this node
+     * @throws UnsupportedCurrencyException if the amount cannot be converted to the account's currency
+     */
+    @Transactional
+    public void applyInboundCredit(ShardCreditRequest request) {
+        if (inboundCreditRepository.existsById(request.getTransferId())) {
+            return;
+        }
+        Account account = accountRepository.findIdByAccountNumber(request.getToAccountNumber())
+                .flatMap(accountRepository::findForUpdate)
+                .orElseThrow(() -> new AccountNotFoundException("accountNumber", request.getToAccountNumber()));
+        // Requests without a currency come from nodes that predate multi-currency accounts
+        FxRateSnapshot rates = null;
+        BigDecimal fxRate = null;
+        BigDecimal credited = request.getAmount();
+        if (request.getCurrency() != null && !request.getCurrency().equals(account.getCurrency())) {
+            rates = fxRateStore.current();
+            fxRate = rates.rate(request.getCurrency(), account.getCurrency());
+            credited = FxRateSnapshot.convert(request.getAmount(), fxRate, account.getCurrency());
+        }
+        account.setBalance(account.getBalance().add(credited));
+
+        Transaction credit = transactionRepository.save(Transaction.builder()
+                .toAccount(account)
+                .counterpartyAccountNumber(request.getFromAccountNumber())
+                .amount(request.getAmount())
+                .creditedAmount(rates != null ? credited : null)
+                .fxRate(fxRate)
+                .fxRateVersion(rates != null ? rates.version() : null)
+                .type(TransactionType.TRANSFER)
+                .status(TransactionStatus.SUCCESS)
+                .build());
+        outboxService.recordTransaction(credit);
+
+        inboundCreditRepository.save(InboundShardCredit.builder()
+                .transferId(request.getTransferId())
+                .transactionId(credit.getId())
+                .build());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        settlementExecutor.shutdown();
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 255 ? message.substring(0, 255) : message;
+    }
+}
@@ -0,0 +1,113 @@
+package com.banking.system.service.shard;
+
+import com.banking.system.config.ShardProperties;
+import com.banking.system.dto.ShardCreditRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * HTTP client for node-to-node calls: forwarding client requests to the owning
+ * shard and delivering cross-shard credits.
+ */
+@Component
+public class ShardClient {
+
+    /** Header carrying the shared internal token */
+    public static final String TOKEN_HEADER = "X-Shard-Token";
+
+    /** Header marking a request already forwarded once, to prevent routing loops */
+    public static final String FORWARDED_HEADER = "X-Shard-Forwarded";
+
+    private final ShardProperties properties;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public ShardClient(ShardProperties properties, ShardRouter shardRouter, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(properties.getRequestTimeoutMillis()))
+                .build();
+    }
+
+    /**
+     * Outcome of a remote credit.
+     * REJECTED is definitive (the remote node refused it); UNKNOWN means the call failed
+     * and the credit may or may not have been applied.
+     */
+    public enum CreditOutcome {
+        APPLIED,
+        REJECTED,
+        UNKNOWN
+    }
+
+    /** Result of a remote credit with the remote error message, if any */
+    public record CreditResult(CreditOutcome outcome, String message) {
+    }
+
+    /** Delivers a cross-shard credit to the node owning the destination account */
+    public CreditResult credit(String nodeId, ShardCreditRequest request) {
+        try {
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
+                            .uri(URI.create(shardRouter.baseUrlOf(nodeId) + "/internal/shard/credit"))
+                            .timeout(Duration.ofMillis(properties.getRequestTimeoutMillis()))
+                            .header("Content-Type", "application/json")
+                            .header(TOKEN_HEADER, properties.getInternalToken())
+                            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(request)))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            if (status >= 200 && status < 300) {
+                return new CreditResult(CreditOutcome.APPLIED, null);
+            }
+            if (status >= 400 && status < 500 && status != 403 && status != 429) {
+                return new CreditResult(CreditOutcome.REJECTED, response.body());
+            }
+            return new CreditResult(CreditOutcome.UNKNOWN, "HTTP " + status + ": " + response.body());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize shard credit", ex);
+        } catch (IOException ex) {
+            return new CreditResult(CreditOutcome.UNKNOWN, ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new CreditResult(CreditOutcome.UNKNOWN, "Interrupted");
+        }
+    }
+
+    /**
+     * Forwards a client request unchanged to another node.
+     *
+     * @param nodeId       the owning node
+     * @param method       HTTP method
+     * @param pathAndQuery request path including any query string
+     * @param contentType  request content type, may be null
+     * @param headers      client headers to pass through, such as the client ID
+     * @param body         request body
+     * @return the remote response
+     */
+    public HttpResponse<byte[]> forward(String nodeId, String method, String pathAndQuery, String contentType,
+                                        Map<String, String> headers, byte[] body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(shardRouter.baseUrlOf(nodeId) + pathAndQuery))
+                .timeout(Duration.ofMillis(properties.getRequestTimeoutMillis()))
+                .header(FORWARDED_HEADER, properties.getNodeId())
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(body));
+        if (contentType != null) {
+            builder.header("Content-Type", contentType);
+        }
+        headers.forEach(builder::header);
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
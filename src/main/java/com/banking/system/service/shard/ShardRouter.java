@@ -0,0 +1,72 @@
+package com.banking.system.service.shard;
+
+import com.banking.system.config.ShardProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring mapping account numbers to the node that owns them.
+ * Each node is placed on the ring at {@code virtualNodes} points so that adding
+ * or removing a node moves only about 1/N of the accounts.
+ */
+@Component
+public class ShardRouter {
+
+    private final ShardProperties properties;
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public ShardRouter(ShardProperties properties) {
+        this.properties = properties;
+        if (properties.isEnabled()) {
+            if (!properties.getNodes().containsKey(properties.getNodeId())) {
+                throw new IllegalStateException("banking.shard.node-id '" + properties.getNodeId()
+                        + "' is not listed in banking.shard.nodes");
+            }
+            if (ShardProperties.DEFAULT_INTERNAL_TOKEN.equals(properties.getInternalToken())) {
+                throw new IllegalStateException(
+                        "banking.shard.internal-token must be changed from its default when sharding is enabled");
+            }
+            for (String nodeId : properties.getNodes().keySet()) {
+                for (int i = 0; i < properties.getVirtualNodes(); i++) {
+                    ring.put(hash(nodeId + "#" + i), nodeId);
+                }
+            }
+        }
+    }
+
+    /** Node ID owning the given account number */
+    public String ownerOf(String accountNumber) {
+        if (!properties.isEnabled()) {
+            return properties.getNodeId();
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(accountNumber));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /** True if this node owns the given account number */
+    public boolean isLocal(String accountNumber) {
+        return !properties.isEnabled() || properties.getNodeId().equals(ownerOf(accountNumber));
+    }
+
+    /** Base URL of the given node */
+    public String baseUrlOf(String nodeId) {
+        return properties.getNodes().get(nodeId);
+    }
+
+    /** 64-bit FNV-1a with a final avalanche step */
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
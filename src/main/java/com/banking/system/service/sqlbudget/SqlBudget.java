@@ -0,0 +1,24 @@
+package com.banking.system.service.sqlbudget;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many SQL statements and database round trips a service operation may
+ * cost, including its commit and everything it calls. Checked by the tests under the
+ * {@code sql-budget} profile, which count the statements each operation executes.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    /** Most SQL statements executed, each batched statement counting once */
+    int statements();
+
+    /** Most round trips: statement and batch executions plus commits and rollbacks */
+    int roundTrips();
+}
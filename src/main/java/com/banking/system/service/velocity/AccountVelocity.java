@@ -0,0 +1,61 @@
+package com.banking.system.service.velocity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory velocity state for a single account: rolling minute and day debit
+ * windows, a rolling hour of first-time counterparties and a bounded, least recently
+ * used memory of counterparties already paid. Guarded by its own monitor; an entry
+ * evicted while idle is retired, and a caller that raced with the eviction retries on
+ * a fresh entry.
+ */
+final class AccountVelocity {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    /** 60 one-second buckets */
+    final SlidingWindowCounter perMinute = new SlidingWindowCounter(MINUTE, 60);
+
+    /** 96 fifteen-minute buckets */
+    final SlidingWindowCounter perDay = new SlidingWindowCounter(DAY, 96);
+
+    /** 60 one-minute buckets */
+    final SlidingWindowCounter newCounterparties = new SlidingWindowCounter(HOUR, 60);
+
+    private final Map<String, Boolean> knownCounterparties;
+
+    long lastSeenMillis;
+
+    boolean retired;
+
+    AccountVelocity(int counterpartyMemory, long nowMillis) {
+        this.knownCounterparties = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > counterpartyMemory;
+            }
+        };
+        this.lastSeenMillis = nowMillis;
+    }
+
+    boolean isKnownCounterparty(String accountNumber) {
+        return knownCounterparties.containsKey(accountNumber);
+    }
+
+    /**
+     * Remembers a counterparty, evicting the least recently paid one when the memory is
+     * full; returns true if it had not been seen before
+     */
+    boolean rememberCounterparty(String accountNumber) {
+        return knownCounterparties.put(accountNumber, Boolean.TRUE) == null;
+    }
+
+    /** Forgets a counterparty remembered by a debit that was released */
+    void forgetCounterparty(String accountNumber) {
+        knownCounterparties.remove(accountNumber);
+    }
+}
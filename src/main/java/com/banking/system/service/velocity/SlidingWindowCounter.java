@@ -0,0 +1,76 @@
+package com.banking.system.service.velocity;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free sliding-window counter backed by a ring buffer of time buckets.
+ * Each bucket keeps an event count and an amount sum (minor units) tagged with
+ * the absolute bucket number it belongs to; stale buckets are reset lazily on
+ * the next write that lands on them.
+ *
+ * <p>Reads and writes are O(bucket count) and never block. Writers are serialized
+ * by the owning account's monitor, so totals are exact.
+ */
+final class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final AtomicLongArray epochs;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray sums;
+
+    SlidingWindowCounter(long windowMillis, int bucketCount) {
+        this.bucketMillis = windowMillis / bucketCount;
+        this.bucketCount = bucketCount;
+        this.epochs = new AtomicLongArray(bucketCount);
+        this.counts = new AtomicLongArray(bucketCount);
+        this.sums = new AtomicLongArray(bucketCount);
+    }
+
+    /** Records one event of the given amount at the given time */
+    void add(long nowMillis, long amount) {
+        long epoch = nowMillis / bucketMillis;
+        int index = (int) (epoch % bucketCount);
+        long current = epochs.get(index);
+        if (current != epoch && epochs.compareAndSet(index, current, epoch)) {
+            counts.set(index, 0);
+            sums.set(index, 0);
+        }
+        counts.incrementAndGet(index);
+        sums.addAndGet(index, amount);
+    }
+
+    /** Takes back one event recorded at the given time; a no-op once its bucket has been reused */
+    void remove(long atMillis, long amount) {
+        long epoch = atMillis / bucketMillis;
+        int index = (int) (epoch % bucketCount);
+        if (epochs.get(index) == epoch) {
+            counts.decrementAndGet(index);
+            sums.addAndGet(index, -amount);
+        }
+    }
+
+    /** Number of events inside the window ending at the given time */
+    long count(long nowMillis) {
+        long oldest = nowMillis / bucketMillis - bucketCount;
+        long total = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            if (epochs.get(i) > oldest) {
+                total += counts.get(i);
+            }
+        }
+        return total;
+    }
+
+    /** Sum of amounts inside the window ending at the given time */
+    long sum(long nowMillis) {
+        long oldest = nowMillis / bucketMillis - bucketCount;
+        long total = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            if (epochs.get(i) > oldest) {
+                total += sums.get(i);
+            }
+        }
+        return total;
+    }
+}
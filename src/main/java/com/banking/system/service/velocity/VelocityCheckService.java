@@ -0,0 +1,179 @@
+package com.banking.system.service.velocity;
+
+import com.banking.system.config.VelocityProperties;
+import com.banking.system.util.MoneyUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory velocity rule engine for debits (withdrawals, transfers and authorizations).
+ * Keeps per-account sliding-window counters in a concurrent map so that limit
+ * checks never query the transactions table.
+ *
+ * <p>A debit reserves its slot before it is applied: the limits are checked and the
+ * debit counted in one step while holding that account's monitor, so concurrent debits
+ * cannot all pass the same check. Debits of different accounts never contend; debits
+ * of the same account, their releases and idle eviction take turns on its monitor.
+ * The reservation is taken back if the database transaction rolls back, or explicitly
+ * if the debit is declined for another reason.
+ */
+@Service
+@RequiredArgsConstructor
+public class VelocityCheckService {
+
+    private final VelocityProperties properties;
+    private final ConcurrentMap<String, AccountVelocity> accounts = new ConcurrentHashMap<>();
+
+    /**
+     * Checks the velocity rules for a debit and, if it is within all limits, counts it
+     * against the account's windows. Inside a database transaction, the reservation is
+     * released automatically if the transaction does not commit.
+     *
+     * @param accountNumber the debited account
+     * @param counterparty  the credited account, or null for withdrawals and authorizations
+     * @param amount        the debit amount
+     * @return the reservation; {@link Reservation#isRejected()} if a limit would be exceeded
+     */
+    public Reservation reserve(String accountNumber, String counterparty, BigDecimal amount) {
+        if (!properties.isEnabled()) {
+            return Reservation.NONE;
+        }
+        long now = System.currentTimeMillis();
+        long minorUnits = MoneyUtils.toMinorUnits(amount);
+
+        Reservation reservation;
+        while (true) {
+            AccountVelocity velocity = accounts.computeIfAbsent(accountNumber,
+                    key -> new AccountVelocity(properties.getCounterpartyMemory(), now));
+            synchronized (velocity) {
+                if (velocity.retired) {
+                    continue;
+                }
+                String rejection = evaluate(velocity, counterparty, minorUnits, now);
+                if (rejection != null) {
+                    return new Reservation(rejection, null, now, minorUnits, null);
+                }
+                velocity.perMinute.add(now, minorUnits);
+                velocity.perDay.add(now, minorUnits);
+                boolean newCounterparty = counterparty != null && velocity.rememberCounterparty(counterparty);
+                if (newCounterparty) {
+                    velocity.newCounterparties.add(now, minorUnits);
+                }
+                velocity.lastSeenMillis = now;
+                reservation = new Reservation(null, velocity, now, minorUnits, newCounterparty ? counterparty : null);
+                break;
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Reservation accepted = reservation;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(accepted);
+                    }
+                }
+            });
+        }
+        return reservation;
+    }
+
+    /**
+     * Takes back an accepted reservation whose debit was not applied. Releasing a
+     * rejected or already released reservation is a no-op.
+     *
+     * @param reservation the reservation returned by {@link #reserve}
+     */
+    public void release(Reservation reservation) {
+        AccountVelocity velocity = reservation.velocity;
+        if (velocity == null || !reservation.released.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (velocity) {
+            velocity.perMinute.remove(reservation.atMillis, reservation.minorUnits);
+            velocity.perDay.remove(reservation.atMillis, reservation.minorUnits);
+            if (reservation.newCounterparty != null) {
+                velocity.newCounterparties.remove(reservation.atMillis, reservation.minorUnits);
+                velocity.forgetCounterparty(reservation.newCounterparty);
+            }
+        }
+    }
+
+    /** Drops accounts that have been idle longer than the configured eviction window */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleAccounts() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(properties.getIdleEvictionMinutes());
+        accounts.forEach((accountNumber, velocity) -> {
+            synchronized (velocity) {
+                if (velocity.lastSeenMillis < cutoff && !velocity.retired) {
+                    velocity.retired = true;
+                    accounts.remove(accountNumber, velocity);
+                }
+            }
+        });
+    }
+
+    /** Returns the rejection reason, or null if the debit is within all limits; caller holds the monitor */
+    private String evaluate(AccountVelocity velocity, String counterparty, long minorUnits, long now) {
+        if (velocity.perMinute.count(now) + 1 > properties.getMaxCountPerMinute()) {
+            return "Velocity limit exceeded: more than " + properties.getMaxCountPerMinute() + " debits per minute";
+        }
+        if (velocity.perMinute.sum(now) + minorUnits > MoneyUtils.toMinorUnits(properties.getMaxAmountPerMinute())) {
+            return "Velocity limit exceeded: more than " + properties.getMaxAmountPerMinute() + " debited per minute";
+        }
+        if (velocity.perDay.count(now) + 1 > properties.getMaxCountPerDay()) {
+            return "Velocity limit exceeded: more than " + properties.getMaxCountPerDay() + " debits per day";
+        }
+        if (velocity.perDay.sum(now) + minorUnits > MoneyUtils.toMinorUnits(properties.getMaxAmountPerDay())) {
+            return "Velocity limit exceeded: more than " + properties.getMaxAmountPerDay() + " debited per day";
+        }
+        if (counterparty != null && !velocity.isKnownCounterparty(counterparty)
+                && velocity.newCounterparties.count(now) + 1 > properties.getMaxNewCounterpartiesPerHour()) {
+            return "Velocity limit exceeded: more than " + properties.getMaxNewCounterpartiesPerHour()
+                    + " new counterparties per hour";
+        }
+        return null;
+    }
+
+    /** A debit counted against an account's velocity windows, or the reason it was rejected */
+    public static final class Reservation {
+
+        private static final Reservation NONE = new Reservation(null, null, 0, 0, null);
+
+        private final String rejection;
+        private final AccountVelocity velocity;
+        private final long atMillis;
+        private final long minorUnits;
+        private final String newCounterparty;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Reservation(String rejection, AccountVelocity velocity, long atMillis, long minorUnits,
+                            String newCounterparty) {
+            this.rejection = rejection;
+            this.velocity = velocity;
+            this.atMillis = atMillis;
+            this.minorUnits = minorUnits;
+            this.newCounterparty = newCounterparty;
+        }
+
+        /** True if a velocity limit would have been exceeded; nothing was counted */
+        public boolean isRejected() {
+            return rejection != null;
+        }
+
+        /** The rejection reason, or null if the debit was accepted */
+        public String getRejection() {
+            return rejection;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.banking.system.tools;
+
+import com.banking.system.service.recording.RecordedEntry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Replays a traffic recording against a fresh instance and compares the outcome.
+ *
+ * <p>First opens one account per recorded alias, in its recorded currency and funded
+ * with the balance the alias had when first recorded, under a single replay user. Then re-sends every recorded
+ * request at its recorded offset divided by {@code --speed}, or as fast as
+ * {@code --concurrency} allows with {@code --speed=max}. Reports throughput, latency
+ * percentiles next to the recorded ones, and every request whose outcome
+ * (transaction status, else HTTP status) differs from the recording.
+ *
+ * <pre>
+ * java -cp banking-system-1.0.0.jar -Dloader.main=com.banking.system.tools.TrafficReplayer \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher \
+ *      --file=traffic-recording.jsonl.gz --target=http://localhost:8080 --speed=1
+ * </pre>
+ */
+public final class TrafficReplayer {
+
+    private static final Pattern ALIAS_TOKEN = Pattern.compile("\\{(number|id):([^}]+)}");
+    private static final List<String> ACCOUNT_NUMBER_FIELDS = List.of(
+            "accountNumber", "fromAccountNumber", "toAccountNumber");
+    private static final String UNKNOWN_ACCOUNT_NUMBER = "0";
+    private static final String UNKNOWN_ACCOUNT_ID = "0";
+    private static final int MAX_LISTED_DIVERGENCES = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String target;
+    private final double speed;
+    private final int concurrency;
+    private final String clientHeader;
+    private final Map<String, ReplayAccount> accounts = new HashMap<>();
+    private long replayUserId;
+
+    private TrafficReplayer(String target, double speed, int concurrency, String clientHeader) {
+        this.target = target.endsWith("/") ? target.substring(0, target.length() - 1) : target;
+        this.speed = speed;
+        this.concurrency = concurrency;
+        this.clientHeader = clientHeader;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        if (!options.containsKey("file")) {
+            System.err.println("Usage: TrafficReplayer --file=<recording> [--target=http://localhost:8080] "
+                    + "[--speed=1|<factor>|max] [--concurrency=64] [--client-header=X-Client-Id] [--report=<file>]");
+            System.exit(2);
+        }
+        String speedOption = options.getOrDefault("speed", "1");
+        double speed = "max".equalsIgnoreCase(speedOption) ? Double.POSITIVE_INFINITY : Double.parseDouble(speedOption);
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("--speed must be positive or 'max'");
+        }
+        TrafficReplayer replayer = new TrafficReplayer(
+                options.getOrDefault("target", "http://localhost:8080"),
+                speed,
+                Integer.parseInt(options.getOrDefault("concurrency", "64")),
+                options.getOrDefault("client-header", "X-Client-Id"));
+
+        Recording recording = load(Path.of(options.get("file")), replayer.objectMapper);
+        replayer.openAccounts(recording.accounts);
+        String report = replayer.replay(recording.requests).format(speedOption);
+        System.out.println(report);
+        if (options.containsKey("report")) {
+            Files.writeString(Path.of(options.get("report")), report);
+        }
+    }
+
+    // ==================== Loading ====================
+
+    private record Recording(List<RecordedEntry> accounts, List<RecordedEntry> requests) {
+    }
+
+    private static Recording load(Path file, ObjectMapper objectMapper) throws IOException {
+        List<RecordedEntry> accounts = new ArrayList<>();
+        List<RecordedEntry> requests = new ArrayList<>();
+        try (InputStream raw = Files.newInputStream(file);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(
+                     file.toString().endsWith(".gz") ? new GZIPInputStream(raw) : raw, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                RecordedEntry entry = objectMapper.readValue(line, RecordedEntry.class);
+                (RecordedEntry.ACCOUNT.equals(entry.type()) ? accounts : requests).add(entry);
+            }
+        } catch (EOFException ex) {
+            // A recording copied while the node was still writing ends mid-stream; use what is complete
+        }
+        // Written in completion order; replay in arrival order
+        requests.sort(Comparator.comparingLong(RecordedEntry::offsetMicros));
+        return new Recording(accounts, requests);
+    }
+
+    // ==================== Setup ====================
+
+    private record ReplayAccount(String accountNumber, long id) {
+    }
+
+    /** Opens and funds one account per alias that existed in the recording, under a replay user */
+    private void openAccounts(List<RecordedEntry> recorded) throws IOException, InterruptedException {
+        JsonNode user = send("POST", "/api/users", objectMapper.createObjectNode()
+                .put("name", "Traffic Replay")
+                .put("email", "replay-" + System.currentTimeMillis() + "@example.com"), 201);
+        long userId = user.get("id").asLong();
+        for (RecordedEntry entry : recorded) {
+            if (entry.openingBalance() == null) {
+                // Did not exist when recorded; requests for it should fail here too
+                continue;
+            }
+            ObjectNode accountRequest = objectMapper.createObjectNode().put("userId", userId);
+            if (entry.currency() != null) {
+                accountRequest.put("currency", entry.currency());
+            }
+            JsonNode account = send("POST", "/api/accounts", accountRequest, 201);
+            String accountNumber = account.get("accountNumber").asText();
+            accounts.put(entry.alias(), new ReplayAccount(accountNumber, account.get("id").asLong()));
+            if (entry.openingBalance().signum() > 0) {
+                send("POST", "/api/accounts/deposit", objectMapper.createObjectNode()
+                        .put("accountNumber", accountNumber)
+                        .put("amount", entry.openingBalance()), 200);
+            }
+        }
+        replayUserId = userId;
+        System.out.printf("Opened %d accounts for replay user %d%n", accounts.size(), userId);
+    }
+
+    /** Sends a setup request, waiting out rate limiting, and returns the response body */
+    private JsonNode send(String method, String path, ObjectNode body, int expectedStatus)
+            throws IOException, InterruptedException {
+        while (true) {
+            HttpResponse<String> response = client.send(request(method, path, body.toString(), "replay-setup"),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 429 || response.statusCode() == 503) {
+                long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                Thread.sleep(TimeUnit.SECONDS.toMillis(Math.max(1, retryAfter)));
+                continue;
+            }
+            if (response.statusCode() != expectedStatus) {
+                throw new IllegalStateException(method + " " + path + " returned " + response.statusCode()
+                        + ": " + response.body());
+            }
+            return objectMapper.readTree(response.body());
+        }
+    }
+
+    // ==================== Replay ====================
+
+    private Results replay(List<RecordedEntry> requests) throws InterruptedException {
+        Results results = new Results(requests);
+        Semaphore permits = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests.size());
+        long firstOffset = requests.isEmpty() ? 0 : requests.get(0).offsetMicros();
+        long start = System.nanoTime();
+        for (int i = 0; i < requests.size(); i++) {
+            RecordedEntry entry = requests.get(i);
+            if (speed != Double.POSITIVE_INFINITY) {
+                long due = start + (long) (TimeUnit.MICROSECONDS.toNanos(entry.offsetMicros() - firstOffset) / speed);
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                permits.acquire();
+                results.recordLag(System.nanoTime() - due);
+            } else {
+                permits.acquire();
+            }
+            int index = i;
+            long sent = System.nanoTime();
+            client.sendAsync(request(entry.method(), substitutePath(entry.path()), substituteBody(entry.path(), entry.body()),
+                            entry.client()), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        long latency = System.nanoTime() - sent;
+                        permits.release();
+                        results.complete(index, latency, response, error, objectMapper);
+                        done.countDown();
+                    });
+        }
+        done.await();
+        results.elapsedNanos = System.nanoTime() - start;
+        return results;
+    }
+
+    private HttpRequest request(String method, String path, String body, String clientAlias) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target + path))
+                .timeout(Duration.ofSeconds(30))
+                .header(clientHeader, clientAlias);
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        return builder.method(method, body != null
+                ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private String substitutePath(String path) {
+        Matcher matcher = ALIAS_TOKEN.matcher(path);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            ReplayAccount account = accounts.get(matcher.group(2));
+            String value = account == null
+                    ? ("id".equals(matcher.group(1)) ? UNKNOWN_ACCOUNT_ID : UNKNOWN_ACCOUNT_NUMBER)
+                    : ("id".equals(matcher.group(1)) ? String.valueOf(account.id()) : account.accountNumber());
+            matcher.appendReplacement(result, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private String substituteBody(String path, String body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            ObjectNode json = (ObjectNode) objectMapper.readTree(body);
+            for (String field : ACCOUNT_NUMBER_FIELDS) {
+                JsonNode alias = json.get(field);
+                if (alias != null && alias.isTextual()) {
+                    ReplayAccount account = accounts.get(alias.asText());
+                    json.put(field, account != null ? account.accountNumber() : UNKNOWN_ACCOUNT_NUMBER);
+                }
+            }
+            if ("/api/accounts".equals(path)) {
+                // The recorded user ID was dropped; replayed accounts belong to the replay user
+                json.put("userId", replayUserId);
+            }
+            return json.toString();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unreadable recorded body: " + body, ex);
+        }
+    }
+
+    // ==================== Results ====================
+
+    /** Per-request latencies and outcomes of a replay */
+    private static final class Results {
+
+        private final List<RecordedEntry> requests;
+        private final long[] latencies;
+        private final String[] outcomes;
+        private final AtomicLong errors = new AtomicLong();
+        private final Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+        private long maxLagNanos;
+        private long elapsedNanos;
+
+        Results(List<RecordedEntry> requests) {
+            this.requests = requests;
+            this.latencies = new long[requests.size()];
+            this.outcomes = new String[requests.size()];
+        }
+
+        void recordLag(long lagNanos) {
+            maxLagNanos = Math.max(maxLagNanos, lagNanos);
+        }
+
+        void complete(int index, long latencyNanos, HttpResponse<String> response, Throwable error,
+                      ObjectMapper objectMapper) {
+            latencies[index] = latencyNanos;
+            if (error != null) {
+                errors.incrementAndGet();
+                failures.computeIfAbsent(error.getClass().getSimpleName(), key -> new AtomicLong()).incrementAndGet();
+                outcomes[index] = "ERROR";
+                return;
+            }
+            String outcome = "HTTP_" + response.statusCode();
+            if (response.statusCode() < 300) {
+                try {
+                    JsonNode json = objectMapper.readTree(response.body());
+                    if (json != null && json.path("status").isTextual()) {
+                        outcome = json.get("status").asText();
+                    }
+                } catch (IOException ex) {
+                    // Not JSON: keep the HTTP status
+                }
+            }
+            outcomes[index] = outcome;
+        }
+
+        String format(String speedOption) {
+            int count = requests.size();
+            long[] recorded = requests.stream()
+                    .mapToLong(entry -> TimeUnit.MICROSECONDS.toNanos(entry.latencyMicros()))
+                    .toArray();
+            long recordedSpan = count == 0 ? 0 : TimeUnit.MICROSECONDS.toNanos(
+                    requests.get(count - 1).offsetMicros() - requests.get(0).offsetMicros());
+
+            Map<String, Integer> divergences = new TreeMap<>();
+            List<String> examples = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                RecordedEntry entry = requests.get(i);
+                if (!entry.outcome().equals(outcomes[i])) {
+                    divergences.merge(entry.outcome() + " -> " + outcomes[i], 1, Integer::sum);
+                    if (examples.size() < MAX_LISTED_DIVERGENCES) {
+                        examples.add(String.format("  +%.3fs %s %s: %s -> %s", entry.offsetMicros() / 1e6,
+                                entry.method(), entry.path(), entry.outcome(), outcomes[i]));
+                    }
+                }
+            }
+
+            StringBuilder out = new StringBuilder();
+            out.append(String.format("Replayed %d requests at speed %s in %.2fs (recorded span %.2fs)%n",
+                    count, speedOption, elapsedNanos / 1e9, recordedSpan / 1e9));
+            out.append(String.format("Throughput: %.1f req/s (recorded %.1f req/s)%n",
+                    rate(count, elapsedNanos), rate(count, recordedSpan)));
+            out.append(String.format("Latency ms      %8s %8s %8s %8s %8s%n", "p50", "p90", "p99", "p99.9", "max"));
+            out.append(percentiles("  replayed  ", latencies));
+            out.append(percentiles("  recorded  ", recorded));
+            if (!"max".equalsIgnoreCase(speedOption)) {
+                out.append(String.format("Max send lag behind schedule: %.1f ms%n", maxLagNanos / 1e6));
+            }
+            out.append(String.format("Transport errors: %d %s%n", errors.get(), failures.isEmpty() ? "" : failures));
+            int diverged = divergences.values().stream().mapToInt(Integer::intValue).sum();
+            out.append(String.format("Outcome divergences: %d of %d%n", diverged, count));
+            divergences.forEach((change, n) -> out.append(String.format("  %-40s %d%n", change, n)));
+            if (!examples.isEmpty()) {
+                out.append("First divergent requests:").append(System.lineSeparator());
+                examples.forEach(line -> out.append(line).append(System.lineSeparator()));
+            }
+            return out.toString();
+        }
+
+        private static double rate(int count, long nanos) {
+            return nanos == 0 ? 0 : count / (nanos / 1e9);
+        }
+
+        private static String percentiles(String label, long[] values) {
+            long[] sorted = values.clone();
+            Arrays.sort(sorted);
+            return String.format("%s%8.2f %8.2f %8.2f %8.2f %8.2f%n", label,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,55 @@
+package com.banking.system.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Conversions between BigDecimal amounts and long minor units (cents).
+ * Used by the in-memory engines that keep monetary counters as primitives.
+ *
+ * <p>{@link #SCALE} is the storage scale of every monetary column and of these counters,
+ * whatever the currency. A currency with fewer decimal places, such as JPY, is stored at
+ * the same scale; {@link #scaleOf} gives the places its amounts may actually use.
+ */
+public final class MoneyUtils {
+
+    /** Number of decimal places stored for every monetary column */
+    public static final int SCALE = 2;
+
+    private MoneyUtils() {
+    }
+
+    /** Converts an amount to minor units, rounding half-up to two decimal places */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /** Converts minor units back to a two-decimal BigDecimal amount */
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Decimal places of a currency's minor unit, at most {@link #SCALE}: 0 for JPY, 2 for
+     * USD. Codes unknown to ISO 4217 use {@link #SCALE}.
+     */
+    public static int scaleOf(String currency) {
+        try {
+            int digits = Currency.getInstance(currency).getDefaultFractionDigits();
+            return digits < 0 ? SCALE : Math.min(digits, SCALE);
+        } catch (IllegalArgumentException ex) {
+            return SCALE;
+        }
+    }
+
+    /** Rounds an amount to the minor unit of its currency */
+    public static BigDecimal round(BigDecimal amount, String currency, RoundingMode roundingMode) {
+        return amount.setScale(scaleOf(currency), roundingMode);
+    }
+
+    /** True if the amount has no more decimal places than its currency's minor unit */
+    public static boolean fitsMinorUnit(BigDecimal amount, String currency) {
+        return amount.stripTrailingZeros().scale() <= scaleOf(currency);
+    }
+}
@@ -0,0 +1,221 @@
+package com.banking.system.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Fixed-capacity off-heap table mapping non-negative long keys (numeric account numbers)
+ * to dense slots, with slot-indexed account IDs, currency codes, balances (minor units)
+ * and versions.
+ *
+ * <p>Everything lives in direct buffers, so millions of entries cost no heap objects
+ * and nothing for the garbage collector to trace: about 52 bytes per account at the
+ * default load factor. The key table uses open addressing with linear probing and
+ * never deletes, so lookups are lock-free; inserts are serialized and publish the key
+ * last with release semantics.
+ *
+ * <p>Each slot's balance is guarded by a sequence lock: its raw sequence is odd while a
+ * write is in progress and advances by two per write, so a reader retries until it
+ * sees the same even sequence before and after reading the balance. The public
+ * version is the sequence divided by two.
+ */
+public final class OffHeapAccountTable {
+
+    /** Balance value of a slot whose balance is not cached */
+    public static final long UNKNOWN_BALANCE = Long.MIN_VALUE;
+
+    private static final long EMPTY = -1L;
+    private static final double LOAD_FACTOR = 0.5;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INTS =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final int capacity;
+    private final int mask;
+    private final ByteBuffer keys;
+    private final ByteBuffer slotRefs;
+    private final ByteBuffer accountIds;
+    private final ByteBuffer currencies;
+    private final ByteBuffer balances;
+    private final ByteBuffer sequences;
+    private final long offHeapBytes;
+    private volatile int size;
+
+    /**
+     * @param capacity maximum number of accounts; the table never grows beyond it
+     */
+    public OffHeapAccountTable(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int tableSize = Integer.highestOneBit(Math.max(16, (int) Math.ceil(capacity / LOAD_FACTOR)) - 1) << 1;
+        this.capacity = capacity;
+        this.mask = tableSize - 1;
+        this.keys = allocate((long) tableSize * Long.BYTES);
+        this.slotRefs = allocate((long) tableSize * Integer.BYTES);
+        this.accountIds = allocate((long) capacity * Long.BYTES);
+        this.currencies = allocate((long) capacity * Integer.BYTES);
+        this.balances = allocate((long) capacity * Long.BYTES);
+        this.sequences = allocate((long) capacity * Long.BYTES);
+        this.offHeapBytes = (long) tableSize * (Long.BYTES + Integer.BYTES) + (long) capacity * (3 * Long.BYTES + Integer.BYTES);
+        for (int i = 0; i < tableSize; i++) {
+            LONGS.set(keys, i * Long.BYTES, EMPTY);
+        }
+    }
+
+    /** Slot of the key, or -1 if it is not in the table. Lock-free. */
+    public int slotOf(long key) {
+        int index = mix(key) & mask;
+        while (true) {
+            long current = (long) LONGS.getAcquire(keys, index * Long.BYTES);
+            if (current == key) {
+                return (int) INTS.get(slotRefs, index * Integer.BYTES);
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Adds a key with an unknown balance, or returns its existing slot.
+     *
+     * @param currency the account's currency, as an opaque code
+     * @return the key's slot, or -1 if the table is full
+     */
+    public synchronized int insert(long key, long accountId, int currency) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Keys must be non-negative");
+        }
+        int index = mix(key) & mask;
+        while (true) {
+            long current = (long) LONGS.get(keys, index * Long.BYTES);
+            if (current == key) {
+                return (int) INTS.get(slotRefs, index * Integer.BYTES);
+            }
+            if (current == EMPTY) {
+                break;
+            }
+            index = (index + 1) & mask;
+        }
+        if (size == capacity) {
+            return -1;
+        }
+        int slot = size;
+        LONGS.set(accountIds, slot * Long.BYTES, accountId);
+        INTS.set(currencies, slot * Integer.BYTES, currency);
+        LONGS.set(balances, slot * Long.BYTES, UNKNOWN_BALANCE);
+        LONGS.set(sequences, slot * Long.BYTES, 0L);
+        INTS.set(slotRefs, index * Integer.BYTES, slot);
+        LONGS.setRelease(keys, index * Long.BYTES, key);
+        size = slot + 1;
+        return slot;
+    }
+
+    public long accountId(int slot) {
+        return (long) LONGS.get(accountIds, slot * Long.BYTES);
+    }
+
+    public int currency(int slot) {
+        return (int) INTS.get(currencies, slot * Integer.BYTES);
+    }
+
+    /** Current version of the slot's balance; waits out a write in progress */
+    public long version(int slot) {
+        while (true) {
+            long sequence = (long) LONGS.getVolatile(sequences, slot * Long.BYTES);
+            if ((sequence & 1) == 0) {
+                return sequence >>> 1;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Reads the balance and its version consistently.
+     *
+     * @param versionOut receives the version at index 0
+     * @return the balance in minor units, or {@link #UNKNOWN_BALANCE}
+     */
+    public long balance(int slot, long[] versionOut) {
+        int offset = slot * Long.BYTES;
+        while (true) {
+            long before = (long) LONGS.getVolatile(sequences, offset);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long balance = (long) LONGS.getVolatile(balances, offset);
+            long after = (long) LONGS.getVolatile(sequences, offset);
+            if (before == after) {
+                versionOut[0] = before >>> 1;
+                return balance;
+            }
+        }
+    }
+
+    /**
+     * Stores a balance if the slot is still at the expected version.
+     *
+     * @param onlyIfUnknown if true, also require that no balance is cached
+     * @return true if stored (the version advances), false if the slot changed meanwhile
+     */
+    public boolean compareAndSetBalance(int slot, long expectedVersion, long balance, boolean onlyIfUnknown) {
+        int offset = slot * Long.BYTES;
+        long sequence = expectedVersion << 1;
+        if (onlyIfUnknown && (long) LONGS.getVolatile(balances, offset) != UNKNOWN_BALANCE) {
+            return false;
+        }
+        if (!LONGS.compareAndSet(sequences, offset, sequence, sequence + 1)) {
+            return false;
+        }
+        LONGS.setVolatile(balances, offset, balance);
+        LONGS.setVolatile(sequences, offset, sequence + 2);
+        return true;
+    }
+
+    /** Forgets the slot's balance, advancing its version */
+    public void invalidate(int slot) {
+        int offset = slot * Long.BYTES;
+        while (true) {
+            long sequence = (long) LONGS.getVolatile(sequences, offset);
+            if ((sequence & 1) == 0 && LONGS.compareAndSet(sequences, offset, sequence, sequence + 1)) {
+                LONGS.setVolatile(balances, offset, UNKNOWN_BALANCE);
+                LONGS.setVolatile(sequences, offset, sequence + 2);
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Direct memory held by the table, fixed at construction */
+    public long offHeapBytes() {
+        return offHeapBytes;
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+        if (bytes > Integer.MAX_VALUE - Long.BYTES) {
+            throw new IllegalArgumentException("Capacity too large for a single buffer");
+        }
+        // Aligned so the atomic access modes of the view handles are permitted
+        return ByteBuffer.allocateDirect((int) bytes + Long.BYTES).alignedSlice(Long.BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
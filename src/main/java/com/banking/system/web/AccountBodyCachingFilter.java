@@ -0,0 +1,52 @@
+package com.banking.system.web;
+
+import com.banking.system.config.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Reads the body of money-movement requests ahead of the interceptors, so
+ * {@link RateLimitInterceptor} can apply the per-account limit to the account number in
+ * the body before {@link ConcurrencyLimitInterceptor} hands out a slot.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@RequiredArgsConstructor
+public class AccountBodyCachingFilter extends OncePerRequestFilter {
+
+    /** Request attribute holding the raw request body for the rate-limit interceptor */
+    static final String BODY_ATTRIBUTE = AccountBodyCachingFilter.class.getName() + ".body";
+
+    /** Body field holding the debited (or, for deposits, credited) account number, per path */
+    static final Map<String, String> ACCOUNT_NUMBER_FIELDS = Map.of(
+            "/api/accounts/deposit", "accountNumber",
+            "/api/accounts/withdraw", "accountNumber",
+            "/api/accounts/transfer", "fromAccountNumber");
+
+    private final RateLimitProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || !ACCOUNT_NUMBER_FIELDS.containsKey(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        request.setAttribute(BODY_ATTRIBUTE, body);
+        chain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+}
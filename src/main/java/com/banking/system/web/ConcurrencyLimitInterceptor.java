@@ -0,0 +1,63 @@
+package com.banking.system.web;
+
+import com.banking.system.exception.ServiceOverloadedException;
+import com.banking.system.service.concurrency.ConcurrencyLimiterService;
+import com.banking.system.service.concurrency.GradientConcurrencyLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Sheds load with 503 once the adaptive concurrency limit of the request's budget
+ * (GET = read, everything else = write) is reached, and feeds observed latency back
+ * into the limiter. Connection-pool and query timeouts count as overload signals.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String LIMITER_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".limiter";
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private final ConcurrencyLimiterService limiterService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!limiterService.isEnabled()) {
+            return true;
+        }
+        boolean write = !"GET".equals(request.getMethod());
+        GradientConcurrencyLimiter limiter = limiterService.tryAcquire(write);
+        if (limiter == null) {
+            throw new ServiceOverloadedException(write ? "write" : "read");
+        }
+        request.setAttribute(LIMITER_ATTRIBUTE, limiter);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        GradientConcurrencyLimiter limiter = (GradientConcurrencyLimiter) request.getAttribute(LIMITER_ATTRIBUTE);
+        if (limiter == null) {
+            return;
+        }
+        request.removeAttribute(LIMITER_ATTRIBUTE);
+        long rtt = System.nanoTime() - (Long) request.getAttribute(START_ATTRIBUTE);
+        // Exceptions resolved by GlobalExceptionHandler are not passed in, only exposed as a request attribute
+        Object failure = ex != null ? ex : request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE);
+        limiter.release(rtt, isOverloadSignal(failure));
+    }
+
+    private static boolean isOverloadSignal(Object ex) {
+        return ex instanceof CannotCreateTransactionException
+                || ex instanceof QueryTimeoutException
+                || ex instanceof TransientDataAccessException;
+    }
+}
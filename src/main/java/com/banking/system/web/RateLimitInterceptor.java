@@ -0,0 +1,73 @@
+package com.banking.system.web;
+
+import com.banking.system.config.RateLimitProperties;
+import com.banking.system.service.ratelimit.RateLimiterService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Applies the per-client limit to every rate-limited endpoint, plus the per-account
+ * limit for endpoints that carry the account ID in the path or, for money movements,
+ * the account number in the body cached by {@link AccountBodyCachingFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiterService rateLimiterService;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        String endpoint = handlerMethod.getMethod().getName();
+
+        String clientId = request.getHeader(properties.getClientIdHeader());
+        if (clientId == null || clientId.isBlank()) {
+            clientId = request.getRemoteAddr();
+        }
+        rateLimiterService.acquireForClient(endpoint, clientId);
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables != null && pathVariables.containsKey("accountId")) {
+            rateLimiterService.acquireForAccount(endpoint, "id:" + pathVariables.get("accountId"));
+        }
+
+        String accountNumber = bodyAccountNumber(request);
+        if (accountNumber != null) {
+            rateLimiterService.acquireForAccount(endpoint, accountNumber);
+        }
+        return true;
+    }
+
+    /** The account number in a cached money-movement body; unreadable bodies are left to the controller */
+    private String bodyAccountNumber(HttpServletRequest request) {
+        byte[] body = (byte[]) request.getAttribute(AccountBodyCachingFilter.BODY_ATTRIBUTE);
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        JsonNode value;
+        try {
+            value = objectMapper.readTree(body)
+                    .path(AccountBodyCachingFilter.ACCOUNT_NUMBER_FIELDS.get(request.getRequestURI()));
+        } catch (IOException ex) {
+            return null;
+        }
+        return value.isTextual() ? value.asText() : null;
+    }
+}
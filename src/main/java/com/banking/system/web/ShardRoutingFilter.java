@@ -0,0 +1,128 @@
+package com.banking.system.web;
+
+import com.banking.system.config.RateLimitProperties;
+import com.banking.system.config.ShardProperties;
+import com.banking.system.exception.ErrorResponse;
+import com.banking.system.service.shard.ShardClient;
+import com.banking.system.service.shard.ShardRouter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Routes money-movement requests to the node owning the debited (or, for deposits,
+ * credited) account. Requests for local accounts continue down the filter chain with
+ * their body replayed; others are forwarded once and the owner's response is relayed.
+ * The client ID and Last-Event-ID headers are passed through, so the owner applies the
+ * client's own rate limits rather than the forwarding node's.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+    private static final Set<String> ROUTED_PATHS = Set.of(
+            "/api/accounts/deposit",
+            "/api/accounts/withdraw",
+            "/api/accounts/transfer",
+            "/api/scheduled-payments",
+            "/api/holds");
+
+    private final ShardProperties properties;
+    private final RateLimitProperties rateLimitProperties;
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || !ROUTED_PATHS.contains(request.getRequestURI())
+                || request.getHeader(ShardClient.FORWARDED_HEADER) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        String accountNumber = routingKey(body);
+        if (accountNumber == null || shardRouter.isLocal(accountNumber)) {
+            chain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+
+        String owner = shardRouter.ownerOf(accountNumber);
+        String pathAndQuery = request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        try {
+            HttpResponse<byte[]> forwarded = shardClient.forward(owner, request.getMethod(), pathAndQuery,
+                    request.getContentType(), passThroughHeaders(request), body);
+            response.setStatus(forwarded.statusCode());
+            forwarded.headers().firstValue("Content-Type").ifPresent(response::setContentType);
+            forwarded.headers().firstValue("Retry-After").ifPresent(value -> response.setHeader("Retry-After", value));
+            response.getOutputStream().write(forwarded.body());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            writeUnavailable(response, owner);
+        } catch (IOException ex) {
+            writeUnavailable(response, owner);
+        }
+    }
+
+    /** Client headers the owning node needs to treat the request as the client's own */
+    private Map<String, String> passThroughHeaders(HttpServletRequest request) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : List.of(rateLimitProperties.getClientIdHeader(), "Last-Event-ID")) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return headers;
+    }
+
+    /** Account number that decides ownership: the source of a transfer, else the single account */
+    private String routingKey(byte[] body) {
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            if (json == null) {
+                return null;
+            }
+            JsonNode key = json.hasNonNull("fromAccountNumber") ? json.get("fromAccountNumber") : json.get("accountNumber");
+            return key != null && key.isTextual() ? key.asText() : null;
+        } catch (IOException ex) {
+            // Malformed JSON: let the local controller produce the usual 400
+            return null;
+        }
+    }
+
+    private void writeUnavailable(HttpServletResponse response, String owner) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message("Owning shard '" + owner + "' is unavailable")
+                .timestamp(LocalDateTime.now())
+                .build();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,97 @@
+package com.banking.system.web;
+
+import com.banking.system.service.recording.RecordedEntry;
+import com.banking.system.service.recording.TrafficRecorder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Records requests to the account and transaction APIs, as the client saw them, when
+ * {@code banking.traffic-recording.enabled} is set. The filter captures the request and
+ * response bodies; {@link TrafficRecordingInterceptor} aliases the request after the
+ * rate limiter (per-client and per-account) and the concurrency limiter have admitted
+ * it. A request is recorded only if it got that far, so requests rejected by a limiter
+ * are not recorded, and a request forwarded to its owning shard is recorded once, by
+ * the node that executes it. An account opening whose account entry could not be
+ * queued is not recorded.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TrafficRecordingFilter extends OncePerRequestFilter {
+
+    /** Request attribute holding the raw request body for the interceptor */
+    static final String BODY_ATTRIBUTE = TrafficRecordingFilter.class.getName() + ".body";
+
+    private final TrafficRecorder recorder;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !recorder.isEnabled()
+                // Support searches are not customer traffic
+                || path.equals("/api/transactions/search")
+                || !(path.startsWith("/api/accounts") || path.startsWith("/api/transactions"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long arrived = System.nanoTime();
+        byte[] body = request.getInputStream().readAllBytes();
+        request.setAttribute(BODY_ATTRIBUTE, body);
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+        } finally {
+            long latency = System.nanoTime() - arrived;
+            byte[] responseBody = cachingResponse.getContentAsByteArray();
+            cachingResponse.copyBodyToResponse();
+            TrafficRecordingInterceptor.AliasedRequest aliased = (TrafficRecordingInterceptor.AliasedRequest)
+                    request.getAttribute(TrafficRecordingInterceptor.RECORDING_ATTRIBUTE);
+            if (aliased != null) {
+                int status = cachingResponse.getStatus();
+                JsonNode json = readJson(responseBody);
+                boolean opened = status == HttpStatus.CREATED.value() && "/api/accounts".equals(request.getRequestURI())
+                        && json != null && json.hasNonNull("accountNumber");
+                if (!opened || recorder.aliasForCreatedAccount(json.get("accountNumber").asText(),
+                        json.path("currency").textValue()) != null) {
+                    recorder.record(RecordedEntry.request(recorder.offsetMicros(arrived), aliased.client(),
+                            request.getMethod(), aliased.path(), aliased.body(), status, outcomeOf(status, json),
+                            latency / 1000));
+                }
+            }
+        }
+    }
+
+    /** The transaction status in a successful response, otherwise the HTTP status */
+    private static String outcomeOf(int status, JsonNode json) {
+        if (status < 300 && json != null && json.path("status").isTextual()) {
+            return json.get("status").asText();
+        }
+        return "HTTP_" + status;
+    }
+
+    private JsonNode readJson(byte[] bytes) {
+        try {
+            return bytes.length == 0 ? null : objectMapper.readTree(bytes);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.banking.system.web;
+
+import com.banking.system.config.RateLimitProperties;
+import com.banking.system.service.recording.TrafficRecorder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Prepares the recorded form of a request captured by {@link TrafficRecordingFilter}:
+ * path, body and client with account numbers, account IDs and client IDs replaced by
+ * aliases. Registered after the rate limiter (per-client and per-account) and the
+ * concurrency limiter, so requests they reject are neither aliased (no account lookups)
+ * nor recorded. A request referring to an account whose entry the recorder could not
+ * queue is not recorded either.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrafficRecordingInterceptor implements HandlerInterceptor {
+
+    /** Request attribute holding the aliased request, read back by the filter */
+    static final String RECORDING_ATTRIBUTE = TrafficRecordingInterceptor.class.getName() + ".recording";
+
+    private static final List<String> ACCOUNT_NUMBER_FIELDS = List.of(
+            "accountNumber", "fromAccountNumber", "toAccountNumber");
+
+    private static final Pattern BALANCE_PATH = Pattern.compile("^/api/accounts/([^/]+)/balance$");
+    private static final Pattern TRANSACTIONS_PATH = Pattern.compile("^/api/transactions/(\\d+)$");
+
+    private final TrafficRecorder recorder;
+    private final RateLimitProperties rateLimitProperties;
+    private final ObjectMapper objectMapper;
+
+    /** A request as it will be recorded, once its response is known */
+    record AliasedRequest(String path, String body, String client) {
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        byte[] body = (byte[]) request.getAttribute(TrafficRecordingFilter.BODY_ATTRIBUTE);
+        if (body == null) {
+            return true;
+        }
+        // Aliased before the request runs, so first-seen balances are the ones it started from
+        String path = aliasPath(request.getRequestURI());
+        ObjectNode json = readBody(body);
+        if (path == null || (json != null && !aliasBody(json))) {
+            return true;
+        }
+        if (request.getQueryString() != null) {
+            path += "?" + request.getQueryString();
+        }
+        String clientId = request.getHeader(rateLimitProperties.getClientIdHeader());
+        String client = recorder.aliasForClient(clientId != null ? clientId : request.getRemoteAddr());
+        request.setAttribute(RECORDING_ATTRIBUTE,
+                new AliasedRequest(path, json != null ? json.toString() : null, client));
+        return true;
+    }
+
+    /** The path with its account aliased, or null if the account could not be recorded */
+    private String aliasPath(String path) {
+        Matcher balance = BALANCE_PATH.matcher(path);
+        if (balance.matches()) {
+            String alias = recorder.aliasForAccountNumber(balance.group(1));
+            return alias != null ? "/api/accounts/{number:" + alias + "}/balance" : null;
+        }
+        Matcher transactions = TRANSACTIONS_PATH.matcher(path);
+        if (transactions.matches()) {
+            String alias = recorder.aliasForAccountId(Long.parseLong(transactions.group(1)));
+            return alias != null ? "/api/transactions/{id:" + alias + "}" : null;
+        }
+        return path;
+    }
+
+    /** The body as a JSON object; unreadable bodies are not recorded */
+    private ObjectNode readBody(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(body) instanceof ObjectNode object ? object : null;
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /** Replaces account numbers with aliases and drops the user ID; false if an account could not be recorded */
+    private boolean aliasBody(ObjectNode object) {
+        for (String field : ACCOUNT_NUMBER_FIELDS) {
+            JsonNode value = object.get(field);
+            if (value != null && value.isTextual()) {
+                String alias = recorder.aliasForAccountNumber(value.asText());
+                if (alias == null) {
+                    return false;
+                }
+                object.put(field, alias);
+            }
+        }
+        object.remove("userId");
+        return true;
+    }
+}
@@ -0,0 +1,141 @@
+-- Baseline schema: every table as of the introduction of versioned migrations.
+-- Enum columns are VARCHAR rather than MySQL ENUM so new constants need no migration.
+-- Written to also run on H2 in MySQL mode (shard-local and build-time measurement runs).
+
+CREATE TABLE users (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    created_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE accounts (
+    id                BIGINT         NOT NULL AUTO_INCREMENT,
+    account_number    VARCHAR(255)   NOT NULL,
+    balance           DECIMAL(19, 2) NOT NULL,
+    netting_enrolled  BIT            NOT NULL DEFAULT 0,
+    user_id           BIGINT         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_accounts_account_number UNIQUE (account_number),
+    CONSTRAINT fk_accounts_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE transactions (
+    id                           BIGINT         NOT NULL AUTO_INCREMENT,
+    from_account_id              BIGINT,
+    to_account_id                BIGINT,
+    counterparty_account_number  VARCHAR(255),
+    amount                       DECIMAL(19, 2) NOT NULL,
+    type                         VARCHAR(32)    NOT NULL,
+    status                       VARCHAR(32)    NOT NULL,
+    failure_reason               VARCHAR(255),
+    settlement_cycle_id          BIGINT,
+    `timestamp`                  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_from_account FOREIGN KEY (from_account_id) REFERENCES accounts (id),
+    CONSTRAINT fk_transactions_to_account FOREIGN KEY (to_account_id) REFERENCES accounts (id)
+);
+CREATE INDEX idx_tx_settlement_cycle ON transactions (settlement_cycle_id, status);
+
+CREATE TABLE payment_mandates (
+    id                   BIGINT         NOT NULL AUTO_INCREMENT,
+    from_account_number  VARCHAR(255)   NOT NULL,
+    to_account_number    VARCHAR(255)   NOT NULL,
+    amount               DECIMAL(19, 2) NOT NULL,
+    frequency            VARCHAR(32)    NOT NULL,
+    status               VARCHAR(32)    NOT NULL,
+    start_at             DATETIME(6)    NOT NULL,
+    end_at               DATETIME(6),
+    next_execution_at    DATETIME(6),
+    occurrence_index     INT            NOT NULL,
+    attempts             INT            NOT NULL,
+    last_error           VARCHAR(255),
+    created_at           DATETIME(6),
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_mandates_status_id ON payment_mandates (status, id);
+
+CREATE TABLE outbox_events (
+    id               BIGINT      NOT NULL AUTO_INCREMENT,
+    event_type       VARCHAR(64) NOT NULL,
+    transaction_id   BIGINT,
+    from_account_id  BIGINT,
+    to_account_id    BIGINT,
+    payload          TEXT        NOT NULL,
+    created_at       DATETIME(6),
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_outbox_from_account ON outbox_events (from_account_id, id);
+CREATE INDEX idx_outbox_to_account ON outbox_events (to_account_id, id);
+CREATE INDEX idx_outbox_created_at ON outbox_events (created_at);
+
+CREATE TABLE account_ledger_totals (
+    account_id       BIGINT NOT NULL,
+    net_minor_units  BIGINT NOT NULL,
+    PRIMARY KEY (account_id)
+);
+
+CREATE TABLE reconciliation_checkpoints (
+    id                      BIGINT      NOT NULL AUTO_INCREMENT,
+    last_transaction_id     BIGINT      NOT NULL,
+    transactions_processed  BIGINT      NOT NULL,
+    accounts_checked        BIGINT      NOT NULL,
+    mismatch_count          BIGINT      NOT NULL,
+    full_run                BIT         NOT NULL,
+    started_at              DATETIME(6) NOT NULL,
+    completed_at            DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE cross_shard_transfers (
+    transfer_id          VARCHAR(36)    NOT NULL,
+    transaction_id       BIGINT         NOT NULL,
+    from_account_number  VARCHAR(255)   NOT NULL,
+    to_account_number    VARCHAR(255)   NOT NULL,
+    target_node          VARCHAR(255)   NOT NULL,
+    amount               DECIMAL(19, 2) NOT NULL,
+    state                VARCHAR(32)    NOT NULL,
+    attempts             INT            NOT NULL,
+    last_error           VARCHAR(255),
+    created_at           DATETIME(6),
+    updated_at           DATETIME(6),
+    PRIMARY KEY (transfer_id)
+);
+CREATE INDEX idx_cross_shard_state_updated ON cross_shard_transfers (state, updated_at);
+
+CREATE TABLE inbound_shard_credits (
+    transfer_id     VARCHAR(36) NOT NULL,
+    transaction_id  BIGINT      NOT NULL,
+    created_at      DATETIME(6),
+    PRIMARY KEY (transfer_id)
+);
+
+CREATE TABLE authorization_holds (
+    id               BIGINT         NOT NULL AUTO_INCREMENT,
+    account_id       BIGINT         NOT NULL,
+    amount           DECIMAL(19, 2) NOT NULL,
+    captured_amount  DECIMAL(19, 2),
+    status           VARCHAR(32)    NOT NULL,
+    reference        VARCHAR(255),
+    transaction_id   BIGINT,
+    expires_at       DATETIME(6)    NOT NULL,
+    created_at       DATETIME(6),
+    updated_at       DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_holds_account FOREIGN KEY (account_id) REFERENCES accounts (id)
+);
+CREATE INDEX idx_hold_status ON authorization_holds (status);
+
+CREATE TABLE settlement_cycles (
+    id                 BIGINT         NOT NULL AUTO_INCREMENT,
+    status             VARCHAR(32)    NOT NULL,
+    transfer_count     INT            NOT NULL,
+    participant_count  INT            NOT NULL,
+    gross_amount       DECIMAL(19, 2) NOT NULL,
+    net_amount         DECIMAL(19, 2) NOT NULL,
+    opened_at          DATETIME(6),
+    settled_at         DATETIME(6),
+    PRIMARY KEY (id)
+);
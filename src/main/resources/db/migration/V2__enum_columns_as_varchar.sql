@@ -0,0 +1,10 @@
+-- Schemas created by ddl-auto before V1 use MySQL ENUM columns, which reject constants
+-- added later (e.g. PENDING, CAPTURE). Widen them to VARCHAR; a no-op on a V1 schema.
+
+ALTER TABLE transactions MODIFY COLUMN type VARCHAR(32) NOT NULL;
+ALTER TABLE transactions MODIFY COLUMN status VARCHAR(32) NOT NULL;
+ALTER TABLE payment_mandates MODIFY COLUMN frequency VARCHAR(32) NOT NULL;
+ALTER TABLE payment_mandates MODIFY COLUMN status VARCHAR(32) NOT NULL;
+ALTER TABLE cross_shard_transfers MODIFY COLUMN state VARCHAR(32) NOT NULL;
+ALTER TABLE authorization_holds MODIFY COLUMN status VARCHAR(32) NOT NULL;
+ALTER TABLE settlement_cycles MODIFY COLUMN status VARCHAR(32) NOT NULL;
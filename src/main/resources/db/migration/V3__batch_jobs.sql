@@ -0,0 +1,32 @@
+-- Interest accrual and maintenance fee batch jobs: one row per run key, one checkpoint per applied chunk.
+
+CREATE TABLE batch_job_runs (
+    id                    BIGINT         NOT NULL AUTO_INCREMENT,
+    job_type              VARCHAR(32)    NOT NULL,
+    run_key               VARCHAR(32)    NOT NULL,
+    status                VARCHAR(32)    NOT NULL,
+    max_account_id        BIGINT         NOT NULL,
+    chunk_size            BIGINT         NOT NULL,
+    chunks_total          BIGINT         NOT NULL,
+    chunks_failed         BIGINT         NOT NULL,
+    accounts_processed    BIGINT         NOT NULL,
+    transactions_created  BIGINT         NOT NULL,
+    total_amount          DECIMAL(19, 2) NOT NULL,
+    started_at            DATETIME(6)    NOT NULL,
+    completed_at          DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_batch_job_run UNIQUE (job_type, run_key)
+);
+
+CREATE TABLE batch_job_chunks (
+    id                    BIGINT         NOT NULL AUTO_INCREMENT,
+    run_id                BIGINT         NOT NULL,
+    chunk_start_id        BIGINT         NOT NULL,
+    chunk_end_id          BIGINT         NOT NULL,
+    accounts_processed    BIGINT         NOT NULL,
+    transactions_created  BIGINT         NOT NULL,
+    amount                DECIMAL(19, 2) NOT NULL,
+    completed_at          DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_batch_job_chunk UNIQUE (run_id, chunk_start_id)
+);
@@ -0,0 +1,8 @@
+-- Composite indexes for transaction search. Each starts with the equality filter of one
+-- search plan and ends with the (timestamp, id) keyset order, so a page is one index seek.
+
+CREATE INDEX idx_tx_from_account_time ON transactions (from_account_id, `timestamp`, id);
+CREATE INDEX idx_tx_to_account_time ON transactions (to_account_id, `timestamp`, id);
+CREATE INDEX idx_tx_counterparty_time ON transactions (counterparty_account_number, `timestamp`, id);
+CREATE INDEX idx_tx_type_status_time ON transactions (type, status, `timestamp`, id);
+CREATE INDEX idx_tx_time ON transactions (`timestamp`, id);
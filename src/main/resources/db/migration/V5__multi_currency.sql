@@ -0,0 +1,17 @@
+-- Multi-currency accounts. Existing accounts keep their balances in USD; transfers that
+-- convert between currencies record the credited amount, the rate and its snapshot version.
+
+ALTER TABLE accounts ADD COLUMN currency VARCHAR(3) NOT NULL DEFAULT 'USD';
+
+ALTER TABLE transactions ADD COLUMN credited_amount DECIMAL(19, 2);
+ALTER TABLE transactions ADD COLUMN fx_rate DECIMAL(24, 10);
+ALTER TABLE transactions ADD COLUMN fx_rate_version BIGINT;
+
+ALTER TABLE cross_shard_transfers ADD COLUMN currency VARCHAR(3);
+
+CREATE TABLE fx_rates (
+    currency  VARCHAR(3)      NOT NULL,
+    rate      DECIMAL(24, 10) NOT NULL,
+    version   BIGINT          NOT NULL,
+    PRIMARY KEY (currency)
+);
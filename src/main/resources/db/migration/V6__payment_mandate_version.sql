@@ -0,0 +1,4 @@
+-- Optimistic lock on payment mandates, so a scheduler batch holding a stale copy cannot
+-- overwrite a cancel or a newer occurrence.
+
+ALTER TABLE payment_mandates ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
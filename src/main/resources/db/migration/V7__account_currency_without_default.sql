@@ -0,0 +1,5 @@
+-- The account currency is set from banking.fx.default-currency when an account is
+-- opened. Without a column default, an insert that omits it fails instead of silently
+-- opening a USD account.
+
+ALTER TABLE accounts ALTER COLUMN currency DROP DEFAULT;
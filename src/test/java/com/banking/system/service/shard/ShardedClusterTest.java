@@ -0,0 +1,250 @@
+package com.banking.system.service.shard;
+
+import com.banking.system.BankingSystemApplication;
+import com.banking.system.config.ShardProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs three shard nodes in one JVM, each with its own embedded H2 database, and drives
+ * them over HTTP: request forwarding, cross-shard transfers, compensation of a rejected
+ * credit and idempotent credit retries.
+ */
+class ShardedClusterTest {
+
+    private static final String TOKEN = "sharded-cluster-test-token";
+    private static final int NODE_COUNT = 3;
+
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final List<ConfigurableApplicationContext> NODES = new ArrayList<>();
+    private static final Map<String, String> NODE_URLS = new LinkedHashMap<>();
+
+    @BeforeAll
+    static void startCluster() throws IOException {
+        for (int n = 1; n <= NODE_COUNT; n++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                NODE_URLS.put("node-" + n, "http://localhost:" + socket.getLocalPort());
+            }
+        }
+        for (Map.Entry<String, String> node : NODE_URLS.entrySet()) {
+            List<String> args = new ArrayList<>(List.of(
+                    "--server.port=" + URI.create(node.getValue()).getPort(),
+                    "--spring.datasource.url=jdbc:h2:mem:sharded-cluster-" + node.getKey() + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "--spring.jpa.show-sql=false",
+                    "--banking.shard.enabled=true",
+                    "--banking.shard.node-id=" + node.getKey(),
+                    "--banking.shard.internal-token=" + TOKEN,
+                    "--banking.rate-limit.endpoints.deposit.client-per-second=0.01",
+                    "--banking.rate-limit.endpoints.deposit.client-burst=3"));
+            NODE_URLS.forEach((id, url) -> args.add("--banking.shard.nodes." + id + "=" + url));
+            NODES.add(new SpringApplicationBuilder(BankingSystemApplication.class).run(args.toArray(String[]::new)));
+        }
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        NODES.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void forwardsRequestsToTheOwningNodeWithTheClientId() throws Exception {
+        JsonNode account = createAccount("node-2");
+        String accountNumber = account.get("accountNumber").asText();
+
+        HttpResponse<String> deposit = post("node-1", "/api/accounts/deposit",
+                Map.of("accountNumber", accountNumber, "amount", 10), "client-a");
+        assertEquals(200, deposit.statusCode(), deposit.body());
+        assertBalance("node-2", accountNumber, "10.00");
+
+        // client-a exhausts its own deposit bucket on the owner; client-b, sent through the same node, does not
+        int limited = 0;
+        for (int i = 0; i < 4; i++) {
+            if (post("node-1", "/api/accounts/deposit", Map.of("accountNumber", accountNumber, "amount", 1),
+                    "client-a").statusCode() == 429) {
+                limited++;
+            }
+        }
+        assertTrue(limited > 0, "client-a should be rate limited on the owning node");
+        assertEquals(200, post("node-1", "/api/accounts/deposit",
+                Map.of("accountNumber", accountNumber, "amount", 1), "client-b").statusCode());
+    }
+
+    @Test
+    void crossShardTransferIsCreditedOnTheDestinationNode() throws Exception {
+        JsonNode source = createAccount("node-1");
+        JsonNode destination = createAccount("node-2");
+        deposit("node-1", source, 100);
+
+        HttpResponse<String> transfer = post("node-3", "/api/accounts/transfer", Map.of(
+                "fromAccountNumber", source.get("accountNumber").asText(),
+                "toAccountNumber", destination.get("accountNumber").asText(),
+                "amount", 40), "transfer-client");
+        assertEquals(200, transfer.statusCode(), transfer.body());
+        assertEquals("RESERVED", JSON.readTree(transfer.body()).get("status").asText());
+
+        await(() -> "SUCCESS".equals(transactionStatus("node-1", source, 40)));
+        assertBalance("node-1", source.get("accountNumber").asText(), "60.00");
+        assertBalance("node-2", destination.get("accountNumber").asText(), "40.00");
+    }
+
+    @Test
+    void rejectedCreditIsCompensatedOnTheSourceNode() throws Exception {
+        JsonNode source = createAccount("node-1");
+        deposit("node-1", source, 100);
+        String missing = unusedAccountNumberOwnedBy("node-2");
+
+        HttpResponse<String> transfer = post("node-1", "/api/accounts/transfer", Map.of(
+                "fromAccountNumber", source.get("accountNumber").asText(),
+                "toAccountNumber", missing,
+                "amount", 25), "compensation-client");
+        assertEquals(200, transfer.statusCode(), transfer.body());
+
+        await(() -> "REVERSED".equals(transactionStatus("node-1", source, 25)));
+        assertBalance("node-1", source.get("accountNumber").asText(), "100.00");
+    }
+
+    @Test
+    void repeatedInboundCreditIsAppliedOnce() throws Exception {
+        JsonNode destination = createAccount("node-2");
+        Map<String, Object> credit = Map.of(
+                "transferId", UUID.randomUUID().toString(),
+                "fromAccountNumber", "0000000000",
+                "toAccountNumber", destination.get("accountNumber").asText(),
+                "amount", 15,
+                "currency", "USD");
+
+        assertEquals(200, internalCredit(credit, TOKEN).statusCode());
+        assertEquals(200, internalCredit(credit, TOKEN).statusCode());
+        assertBalance("node-2", destination.get("accountNumber").asText(), "15.00");
+
+        assertEquals(403, internalCredit(credit, "wrong-token").statusCode());
+        assertEquals(403, internalCredit(credit, null).statusCode());
+    }
+
+    @Test
+    void refusesToStartShardedWithTheDefaultToken() {
+        ShardProperties properties = new ShardProperties();
+        properties.setEnabled(true);
+        properties.setNodes(Map.of("node-1", "http://localhost:8081"));
+
+        assertThrows(IllegalStateException.class, () -> new ShardRouter(properties));
+    }
+
+    // ==================== Helpers ====================
+
+    private static JsonNode createAccount(String nodeId) throws Exception {
+        String email = UUID.randomUUID() + "@example.com";
+        JsonNode user = JSON.readTree(post(nodeId, "/api/users", Map.of("name", "Test", "email", email), null).body());
+        HttpResponse<String> account = post(nodeId, "/api/accounts", Map.of("userId", user.get("id").asLong()), null);
+        assertEquals(201, account.statusCode(), account.body());
+        return JSON.readTree(account.body());
+    }
+
+    private static void deposit(String nodeId, JsonNode account, int amount) throws Exception {
+        HttpResponse<String> response = post(nodeId, "/api/accounts/deposit",
+                Map.of("accountNumber", account.get("accountNumber").asText(), "amount", amount), null);
+        assertEquals(200, response.statusCode(), response.body());
+    }
+
+    private static void assertBalance(String nodeId, String accountNumber, String expected) throws Exception {
+        HttpResponse<String> response = HTTP.send(HttpRequest.newBuilder(
+                        URI.create(NODE_URLS.get(nodeId) + "/api/accounts/" + accountNumber + "/balance")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        BigDecimal balance = JSON.readTree(response.body()).get("balance").decimalValue();
+        assertEquals(0, new BigDecimal(expected).compareTo(balance), "balance " + balance + ", expected " + expected);
+    }
+
+    /** Status of the account's transfer debit of the given amount, or null if there is none */
+    private static String transactionStatus(String nodeId, JsonNode account, int amount) {
+        try {
+            HttpResponse<String> response = HTTP.send(HttpRequest.newBuilder(URI.create(
+                            NODE_URLS.get(nodeId) + "/api/transactions/" + account.get("id").asLong())).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            for (JsonNode transaction : JSON.readTree(response.body())) {
+                if ("TRANSFER".equals(transaction.get("type").asText())
+                        && account.get("accountNumber").asText().equals(transaction.get("fromAccountNumber").asText())
+                        && transaction.get("amount").decimalValue().compareTo(BigDecimal.valueOf(amount)) == 0) {
+                    return transaction.get("status").asText();
+                }
+            }
+            return null;
+        } catch (IOException | InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String unusedAccountNumberOwnedBy(String nodeId) {
+        ShardProperties properties = new ShardProperties();
+        properties.setEnabled(true);
+        properties.setNodeId(nodeId);
+        properties.setInternalToken(TOKEN);
+        properties.setNodes(NODE_URLS);
+        ShardRouter router = new ShardRouter(properties);
+        while (true) {
+            String candidate = String.format("9%09d", ThreadLocalRandom.current().nextInt(1_000_000_000));
+            if (router.isLocal(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static HttpResponse<String> internalCredit(Map<String, Object> credit, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(NODE_URLS.get("node-2") + "/internal/shard/credit"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(credit)));
+        if (token != null) {
+            request.header(ShardClient.TOKEN_HEADER, token);
+        }
+        return HTTP.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> post(String nodeId, String path, Map<String, Object> body, String clientId)
+            throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(NODE_URLS.get(nodeId) + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)));
+        if (clientId != null) {
+            request.header("X-Client-Id", clientId);
+        }
+        return HTTP.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 15 seconds");
+            Thread.sleep(100);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.banking.system.service.sqlbudget;
+
+import com.banking.system.dto.AccountRequest;
+import com.banking.system.dto.AccountResponse;
+import com.banking.system.dto.DepositRequest;
+import com.banking.system.dto.TransactionResult;
+import com.banking.system.dto.TransactionResult.DeclineReason;
+import com.banking.system.dto.TransferRequest;
+import com.banking.system.dto.UserRequest;
+import com.banking.system.dto.UserResponse;
+import com.banking.system.dto.WithdrawRequest;
+import com.banking.system.entity.TransactionStatus;
+import com.banking.system.service.AccountService;
+import com.banking.system.service.TransactionService;
+import com.banking.system.service.UserService;
+import com.banking.system.service.fx.FxRateStore;
+import com.banking.system.service.netting.NettingService;
+import com.banking.system.service.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every budgeted AccountService, UserService and TransactionService operation
+ * against H2 with statement counting on, through each branch that reaches the database
+ * differently. Any operation over its {@link SqlBudget} fails with
+ * {@link SqlBudgetExceededException}. Subclasses choose whether accounts are served
+ * from the account index.
+ *
+ * <p>Sharding is on with a second node that never answers, so a transfer to one of its
+ * account numbers takes the cross-shard branch.
+ */
+@SpringBootTest(properties = {
+        "banking.shard.enabled=true",
+        "banking.shard.node-id=node-1",
+        "banking.shard.internal-token=sql-budget-test-token",
+        "banking.shard.nodes.node-1=http://localhost:1",
+        "banking.shard.nodes.node-2=http://localhost:2",
+        "banking.netting.enabled=true",
+        "banking.netting.cycle-millis=600000",
+        "banking.velocity.max-amount-per-minute=10000.00"
+})
+@ActiveProfiles("sql-budget")
+abstract class AbstractSqlBudgetTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private NettingService nettingService;
+
+    @Autowired
+    private FxRateStore fxRateStore;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlBudgetInterceptor sqlBudgetInterceptor;
+
+    @BeforeEach
+    void loadRates() {
+        if (!fxRateStore.current().supports("EUR")) {
+            jdbcTemplate.update("INSERT INTO fx_rates (currency, rate, version) VALUES ('USD', 1, 1), ('EUR', 0.9, 1)");
+            fxRateStore.reload();
+        }
+    }
+
+    @Test
+    void userOperationsStayWithinBudget() {
+        UserResponse user = measured("UserService.createUser", () -> userService.createUser(newUserRequest()));
+        measured("UserService.getUserById", () -> userService.getUserById(user.getId()));
+    }
+
+    @Test
+    void depositsAndWithdrawalsStayWithinBudget() {
+        AccountResponse depositTo = newAccount("USD", "0.00");
+        measured("AccountService.deposit", () -> accountService.deposit(deposit(depositTo, "500.00")));
+
+        AccountResponse funded = newAccount("USD", "500.00");
+        TransactionResult withdrawn = measured("AccountService.withdraw",
+                () -> accountService.withdraw(withdraw(funded, "100.00")));
+        assertFalse(withdrawn.isDeclined());
+
+        AccountResponse poor = newAccount("USD", "50.00");
+        TransactionResult insufficient = measured("AccountService.withdraw",
+                () -> accountService.withdraw(withdraw(poor, "100.00")));
+        assertEquals(DeclineReason.INSUFFICIENT_BALANCE, insufficient.getDeclineReason());
+
+        AccountResponse limited = newAccount("USD", "50.00");
+        TransactionResult velocity = measured("AccountService.withdraw",
+                () -> accountService.withdraw(withdraw(limited, "20000.00")));
+        assertEquals(DeclineReason.VELOCITY_LIMIT, velocity.getDeclineReason());
+    }
+
+    @Test
+    void localTransfersStayWithinBudget() {
+        AccountResponse from = newAccount("USD", "500.00");
+        AccountResponse to = newAccount("USD", "0.00");
+        TransactionResult transferred = measured("AccountService.transfer",
+                () -> accountService.transfer(transfer(from, to, "100.00")));
+        assertEquals(TransactionStatus.SUCCESS, transferred.getTransaction().getStatus());
+
+        // Lock order reversed: the destination has the lower ID
+        AccountResponse lowerTo = newAccount("USD", "0.00");
+        AccountResponse higherFrom = newAccount("USD", "500.00");
+        TransactionResult reversed = measured("AccountService.transfer",
+                () -> accountService.transfer(transfer(higherFrom, lowerTo, "100.00")));
+        assertEquals(TransactionStatus.SUCCESS, reversed.getTransaction().getStatus());
+
+        AccountResponse usd = newAccount("USD", "500.00");
+        AccountResponse eur = newAccount("EUR", "0.00");
+        TransactionResult converted = measured("AccountService.transfer",
+                () -> accountService.transfer(transfer(usd, eur, "100.00")));
+        assertNotNull(converted.getTransaction().getFxRate());
+
+        AccountResponse poor = newAccount("USD", "50.00");
+        AccountResponse payee = newAccount("USD", "0.00");
+        TransactionResult insufficient = measured("AccountService.transfer",
+                () -> accountService.transfer(transfer(poor, payee, "100.00")));
+        assertEquals(DeclineReason.INSUFFICIENT_BALANCE, insufficient.getDeclineReason());
+
+        AccountResponse limited = newAccount("USD", "50.00");
+        TransactionResult velocity = measured("AccountService.transfer",
+                () -> accountService.transfer(transfer(limited, payee, "20000.00")));
+        assertEquals(DeclineReason.VELOCITY_LIMIT, velocity.getDeclineReason());
+    }
+
+    @Test
+    void nettedTransfersStayWithinBudget() {
+        AccountResponse payer = newNettedAccount("500.00");
+        AccountResponse payee = newNettedAccount("0.00");
+        TransactionResult accepted = measured("AccountService.transfer",
+                () -> accountService.transfer(transfer(payer, payee, "100.00")));
+        assertEquals(TransactionStatus.PENDING, accepted.getTransaction().getStatus());
+
+        AccountResponse poor = newNettedAccount("50.00");
+        AccountResponse otherPayee = newNettedAccount("0.00");
+        TransactionResult declined = measured("AccountService.transfer",
+                () -> accountService.transfer(transfer(poor, otherPayee, "100.00")));
+        assertEquals(DeclineReason.INSUFFICIENT_BALANCE, declined.getDeclineReason());
+    }
+
+    @Test
+    void crossShardTransfersStayWithinBudget() {
+        String remote = remoteAccountNumber();
+
+        AccountResponse funded = newAccount("USD", "500.00");
+        TransactionResult reserved = measured("AccountService.transfer", () -> accountService.transfer(
+                new TransferRequest(funded.getAccountNumber(), remote, new BigDecimal("100.00"))));
+        assertEquals(TransactionStatus.RESERVED, reserved.getTransaction().getStatus());
+
+        AccountResponse poor = newAccount("USD", "50.00");
+        TransactionResult insufficient = measured("AccountService.transfer", () -> accountService.transfer(
+                new TransferRequest(poor.getAccountNumber(), remote, new BigDecimal("100.00"))));
+        assertEquals(DeclineReason.INSUFFICIENT_BALANCE, insufficient.getDeclineReason());
+    }
+
+    @Test
+    void balanceAndHistoryReadsStayWithinBudget() {
+        AccountResponse account = newAccount("USD", "500.00");
+        String number = account.getAccountNumber();
+
+        // With the account index: an entry without a balance, then the filled cache
+        for (int read = 0; read < 3; read++) {
+            assertEquals(0, new BigDecimal("500.00").compareTo(
+                    measured("AccountService.getBalance", () -> accountService.getBalance(number)).getBalance()));
+        }
+
+        accountService.deposit(deposit(account, "100.00"));
+        accountService.withdraw(withdraw(account, "50.00"));
+        List<?> history = measured("TransactionService.getTransactionsByAccountId",
+                () -> transactionService.getTransactionsByAccountId(account.getId()));
+        assertEquals(2, history.size());
+    }
+
+    // ==================== Helpers ====================
+
+    /** Runs the call and checks the budgeted operation was counted */
+    private <T> T measured(String operation, Supplier<T> call) {
+        sqlBudgetInterceptor.reset();
+        T result = call.get();
+        assertTrue(sqlBudgetInterceptor.checked().stream().anyMatch(scope -> scope.getOperation().equals(operation)),
+                operation + " was not counted");
+        return result;
+    }
+
+    /** Opens an account and sets its balance directly, leaving its cached balance unfilled */
+    private AccountResponse newAccount(String currency, String balance) {
+        UserResponse user = userService.createUser(newUserRequest());
+        AccountResponse account = measured("AccountService.createAccount",
+                () -> accountService.createAccount(new AccountRequest(user.getId(), currency)));
+        jdbcTemplate.update("UPDATE accounts SET balance = ? WHERE id = ?", new BigDecimal(balance), account.getId());
+        return account;
+    }
+
+    private AccountResponse newNettedAccount(String balance) {
+        AccountResponse account = newAccount("USD", balance);
+        nettingService.setEnrolled(account.getAccountNumber(), true);
+        return account;
+    }
+
+    private static UserRequest newUserRequest() {
+        String name = "budget-" + UUID.randomUUID();
+        return new UserRequest(name, name + "@example.com");
+    }
+
+    private static DepositRequest deposit(AccountResponse account, String amount) {
+        return new DepositRequest(account.getAccountNumber(), new BigDecimal(amount));
+    }
+
+    private static WithdrawRequest withdraw(AccountResponse account, String amount) {
+        return new WithdrawRequest(account.getAccountNumber(), new BigDecimal(amount));
+    }
+
+    private static TransferRequest transfer(AccountResponse from, AccountResponse to, String amount) {
+        return new TransferRequest(from.getAccountNumber(), to.getAccountNumber(), new BigDecimal(amount));
+    }
+
+    /** An account number owned by node-2 */
+    private String remoteAccountNumber() {
+        while (true) {
+            String candidate = String.valueOf(ThreadLocalRandom.current().nextLong(1_000_000_000L, 10_000_000_000L));
+            if (!shardRouter.isLocal(candidate)) {
+                return candidate;
+            }
+        }
+    }
+}
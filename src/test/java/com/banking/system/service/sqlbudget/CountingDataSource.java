@@ -0,0 +1,86 @@
+package com.banking.system.service.sqlbudget;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource wrapper that reports every statement execution, batch execution, commit
+ * and rollback to {@link SqlStatementRecorder}. Installed under the {@code sql-budget}
+ * profile; covers JPA and JdbcTemplate access alike.
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    public CountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "commit", "rollback" -> SqlStatementRecorder.roundTrip(method.getName().toUpperCase());
+                        default -> {
+                        }
+                    }
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "prepareStatement" -> wrapStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                        case "prepareCall" -> wrapStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+                        case "createStatement" -> wrapStatement(Statement.class, (Statement) result, null);
+                        default -> result;
+                    };
+                });
+    }
+
+    private static Statement wrapStatement(Class<? extends Statement> type, Statement statement, String preparedSql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                SqlStatementRecorder.statement(sqlOf(preparedSql, args), false);
+            } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                SqlStatementRecorder.roundTrip("BATCH");
+            } else if (name.startsWith("execute")) {
+                SqlStatementRecorder.statement(sqlOf(preparedSql, args), true);
+            }
+            return invoke(statement, method, args);
+        };
+        return (Statement) Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler);
+    }
+
+    /** The prepared SQL, or the SQL passed to a plain Statement's execute or addBatch */
+    private static String sqlOf(String preparedSql, Object[] args) {
+        if (preparedSql != null) {
+            return preparedSql;
+        }
+        return args != null && args.length > 0 && args[0] instanceof String sql ? sql : "?";
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
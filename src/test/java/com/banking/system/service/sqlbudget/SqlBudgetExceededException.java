@@ -0,0 +1,25 @@
+package com.banking.system.service.sqlbudget;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Thrown when an operation executed more statements or round trips than its
+ * {@code @SqlBudget} allows. The message lists the statements.
+ */
+@Getter
+public class SqlBudgetExceededException extends RuntimeException {
+
+    private final String operation;
+    private final List<String> statements;
+
+    public SqlBudgetExceededException(String operation, int statements, int statementBudget,
+                                      int roundTrips, int roundTripBudget, List<String> sql) {
+        super(String.format("%s exceeded its SQL budget: %d statements (budget %d), %d round trips (budget %d):%n  %s",
+                operation, statements, statementBudget, roundTrips, roundTripBudget,
+                String.join(System.lineSeparator() + "  ", sql)));
+        this.operation = operation;
+        this.statements = sql;
+    }
+}
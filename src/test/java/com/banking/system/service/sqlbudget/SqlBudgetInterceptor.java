@@ -0,0 +1,70 @@
+package com.banking.system.service.sqlbudget;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Charges the SQL executed during a {@link SqlBudget} method, including its commit,
+ * to that method and fails the call with {@link SqlBudgetExceededException} if it is
+ * over budget. Runs outside the transaction interceptor so flush-time statements and
+ * the commit are counted. An operation that throws is checked as well; its own
+ * exception is attached as suppressed.
+ */
+public class SqlBudgetInterceptor implements MethodInterceptor {
+
+    /** Statements listed in a budget failure */
+    private static final int MAX_REPORTED_STATEMENTS = 50;
+
+    private final List<SqlStatementRecorder.Scope> checked = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        SqlBudget budget = invocation.getMethod().getAnnotation(SqlBudget.class);
+        if (budget == null) {
+            return invocation.proceed();
+        }
+
+        String operation = invocation.getMethod().getDeclaringClass().getSimpleName()
+                + "." + invocation.getMethod().getName();
+        SqlStatementRecorder.Scope scope = SqlStatementRecorder.open(operation, MAX_REPORTED_STATEMENTS);
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable ex) {
+            SqlStatementRecorder.close(scope);
+            SqlBudgetExceededException exceeded = check(scope, budget);
+            if (exceeded != null) {
+                exceeded.addSuppressed(ex);
+                throw exceeded;
+            }
+            throw ex;
+        }
+        SqlStatementRecorder.close(scope);
+        SqlBudgetExceededException exceeded = check(scope, budget);
+        if (exceeded != null) {
+            throw exceeded;
+        }
+        return result;
+    }
+
+    /** Scopes checked since the last {@link #reset()}, outermost operations last */
+    public List<SqlStatementRecorder.Scope> checked() {
+        return checked;
+    }
+
+    public void reset() {
+        checked.clear();
+    }
+
+    private SqlBudgetExceededException check(SqlStatementRecorder.Scope scope, SqlBudget budget) {
+        checked.add(scope);
+        if (scope.getStatements() <= budget.statements() && scope.getRoundTrips() <= budget.roundTrips()) {
+            return null;
+        }
+        return new SqlBudgetExceededException(scope.getOperation(), scope.getStatements(), budget.statements(),
+                scope.getRoundTrips(), budget.roundTrips(), scope.getSql());
+    }
+}
@@ -0,0 +1,8 @@
+package com.banking.system.service.sqlbudget;
+
+/**
+ * SQL budgets with the account index on, as in production: account numbers resolve
+ * from memory and balance reads are served from the cache once filled.
+ */
+class SqlBudgetTest extends AbstractSqlBudgetTest {
+}
@@ -0,0 +1,12 @@
+package com.banking.system.service.sqlbudget;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * SQL budgets with the account index off, the most expensive path: every account
+ * number costs an ID query before the locking read, as it does for accounts that do
+ * not fit in a full index.
+ */
+@TestPropertySource(properties = "banking.account-index.enabled=false")
+class SqlBudgetWithoutAccountIndexTest extends AbstractSqlBudgetTest {
+}
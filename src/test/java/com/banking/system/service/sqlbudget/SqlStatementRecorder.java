@@ -0,0 +1,100 @@
+package com.banking.system.service.sqlbudget;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Per-thread stack of open budget scopes. Every statement and round trip reported by
+ * {@link CountingDataSource} is charged to all scopes open on the calling thread, so an
+ * operation's count includes the operations it calls.
+ */
+public final class SqlStatementRecorder {
+
+    private static final ThreadLocal<Deque<Scope>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private SqlStatementRecorder() {
+    }
+
+    /** Statements and round trips charged to one operation */
+    public static final class Scope {
+
+        private final String operation;
+        private final int maxRecorded;
+        private final List<String> sql = new ArrayList<>();
+        private int statements;
+        private int roundTrips;
+
+        private Scope(String operation, int maxRecorded) {
+            this.operation = operation;
+            this.maxRecorded = maxRecorded;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public int getRoundTrips() {
+            return roundTrips;
+        }
+
+        /** The first statements executed, in order; commits and rollbacks appear as such */
+        public List<String> getSql() {
+            return sql;
+        }
+
+        private void record(String entry) {
+            if (sql.size() < maxRecorded) {
+                sql.add(entry);
+            }
+        }
+    }
+
+    public static Scope open(String operation, int maxRecorded) {
+        Scope scope = new Scope(operation, maxRecorded);
+        SCOPES.get().push(scope);
+        return scope;
+    }
+
+    public static void close(Scope scope) {
+        Deque<Scope> scopes = SCOPES.get();
+        scopes.remove(scope);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    /** A statement executed on its own, or added to a batch (executed later as one round trip) */
+    static void statement(String sql, boolean roundTrip) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+            return;
+        }
+        for (Scope scope : scopes) {
+            scope.statements++;
+            if (roundTrip) {
+                scope.roundTrips++;
+            }
+            scope.record(sql);
+        }
+    }
+
+    /** A round trip that is not a statement of its own: a batch execution, commit or rollback */
+    static void roundTrip(String description) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+            return;
+        }
+        for (Scope scope : scopes) {
+            scope.roundTrips++;
+            scope.record(description);
+        }
+    }
+}